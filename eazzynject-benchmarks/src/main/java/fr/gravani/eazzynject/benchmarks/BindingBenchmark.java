@@ -0,0 +1,62 @@
+package fr.gravani.eazzynject.benchmarks;
+
+import fr.gravani.eazzynject.Container;
+import fr.gravani.eazzynject.benchmarks.model.TaggedOperators;
+import fr.gravani.eazzynject.benchmarks.model.TaggedOperators.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The tagged operators created through reflection, next to the same operators bound to lambda factories with
+ * {@link Container#bind(Class)}. The calculator they are injected into is created through reflection in both cases.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BindingBenchmark {
+
+    /**
+     * A container where the operators are bound to lambda factories
+     */
+    @State(Scope.Benchmark)
+    public static class BoundState {
+        Container container;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            container = new Container();
+            container.registerMapping(TaggedOperators.Calculator.class, TaggedOperators.Calculator.class);
+            container.bind(Operator.class).tagged("add").toFactory(c -> new AddOperator());
+            container.bind(Operator.class).tagged("subtract").toFactory(c -> new SubtractOperator());
+            container.bind(Operator.class).tagged("multiply").toFactory(c -> new MultiplyOperator());
+            container.bind(Operator.class).tagged("divide").toFactory(c -> new DivideOperator());
+            container.bind(Operator.class).tagged("modulo").toFactory(c -> new ModuloOperator());
+            container.bind(Operator.class).tagged("min").toFactory(c -> new MinOperator());
+            container.bind(Operator.class).tagged("max").toFactory(c -> new MaxOperator());
+            container.bind(Operator.class).tagged("xor").toFactory(c -> new XorOperator());
+        }
+    }
+
+    @Benchmark
+    public Object reflectiveOperators(ContainerState state) throws Exception {
+        return state.container.instantiate(TaggedOperators.Calculator.class);
+    }
+
+    @Benchmark
+    public Object boundOperators(BoundState state) throws Exception {
+        return state.container.instantiate(TaggedOperators.Calculator.class);
+    }
+
+    @Benchmark
+    public Object reflectiveOperator(ContainerState state) throws Exception {
+        return state.container.instantiate(TaggedOperators.Operator.class, "add");
+    }
+
+    @Benchmark
+    public Object boundOperator(BoundState state) throws Exception {
+        return state.container.instantiate(TaggedOperators.Operator.class, "add");
+    }
+}
@@ -0,0 +1,73 @@
+package fr.gravani.eazzynject.benchmarks;
+
+import fr.gravani.eazzynject.Container;
+import fr.gravani.eazzynject.benchmarks.model.*;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A container filled with all the types of the benchmark model, shared by the benchmark threads
+ */
+@State(Scope.Benchmark)
+public class ContainerState {
+    /**
+     * The package containing the benchmark model
+     */
+    public static final String MODEL_PACKAGE = DeepChain.class.getPackageName();
+
+    /**
+     * The injectable types of the benchmark model
+     */
+    static final Class<?>[] MODEL_TYPES = {
+            DeepChain.Level0.class, DeepChain.Level1.class, DeepChain.Level2.class, DeepChain.Level3.class,
+            DeepChain.Level4.class, DeepChain.Level5.class, DeepChain.Level6.class, DeepChain.Level7.class,
+            DeepChain.Level8.class, DeepChain.Level9.class, DeepChain.Level10.class, DeepChain.Level11.class,
+            WideFanOut.Root.class, WideFanOut.Leaf0.class, WideFanOut.Leaf1.class, WideFanOut.Leaf2.class,
+            WideFanOut.Leaf3.class, WideFanOut.Leaf4.class, WideFanOut.Leaf5.class, WideFanOut.Leaf6.class,
+            WideFanOut.Leaf7.class, WideFanOut.Leaf8.class, WideFanOut.Leaf9.class, WideFanOut.Leaf10.class,
+            WideFanOut.Leaf11.class,
+            Diamond.Top.class, Diamond.Left.class, Diamond.Right.class, Diamond.LowerLeft.class,
+            Diamond.LowerRight.class, Diamond.Middle.class, Diamond.Bottom.class,
+            SharedDiamond.Top.class, SharedDiamond.Left.class, SharedDiamond.Right.class,
+            SharedDiamond.LowerLeft.class, SharedDiamond.LowerRight.class, SharedDiamond.Middle.class,
+            SharedDiamond.Bottom.class,
+            TaggedOperators.Calculator.class, TaggedOperators.OperatorRegistry.class,
+            Singletons.Configuration.class, Singletons.ConnectionPool.class, Singletons.Cache.class,
+            Singletons.Clock.class, Singletons.Client.class
+    };
+
+    /**
+     * The tagged implementations of {@link TaggedOperators.Operator}
+     */
+    static final Class<?>[] OPERATOR_TYPES = {
+            TaggedOperators.AddOperator.class, TaggedOperators.SubtractOperator.class,
+            TaggedOperators.MultiplyOperator.class, TaggedOperators.DivideOperator.class,
+            TaggedOperators.ModuloOperator.class, TaggedOperators.MinOperator.class,
+            TaggedOperators.MaxOperator.class, TaggedOperators.XorOperator.class
+    };
+
+    Container container;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        container = createContainer();
+    }
+
+    /**
+     * Creates a container with all the types of the benchmark model
+     * @return The container
+     * @throws Exception If a type cannot be registered
+     */
+    static Container createContainer() throws Exception {
+        var container = new Container();
+        for (var type : MODEL_TYPES) {
+            container.registerMapping(type, type);
+        }
+        for (var type : OPERATOR_TYPES) {
+            container.registerMapping(type, TaggedOperators.Operator.class);
+        }
+        return container;
+    }
+}
@@ -0,0 +1,105 @@
+package fr.gravani.eazzynject.benchmarks;
+
+import fr.gravani.eazzynject.Dependencies;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registrations and lookups in {@link Dependencies} with a growing number of registered base types
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class DependenciesBenchmark {
+    private static final String[] TAGS = { "t0", "t1", "t2", "t3", "t4", "t5", "t6", "t7" };
+
+    @Param({ "10", "100", "1000" })
+    int registeredTypes;
+
+    Class<?>[] baseTypes;
+
+    Dependencies untagged;
+
+    Dependencies tagged;
+
+    int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        baseTypes = loadBaseTypes(registeredTypes);
+        untagged = registerUntagged();
+        tagged = registerTagged();
+    }
+
+    @Benchmark
+    public Dependencies registerUntagged() throws Exception {
+        var dependencies = new Dependencies();
+        for (var baseType : baseTypes) {
+            dependencies.put(baseType, Object.class, null);
+        }
+        return dependencies;
+    }
+
+    @Benchmark
+    public Dependencies registerTagged() throws Exception {
+        var dependencies = new Dependencies();
+        for (var baseType : baseTypes) {
+            for (var tag : TAGS) {
+                dependencies.put(baseType, Object.class, tag);
+            }
+        }
+        return dependencies;
+    }
+
+    @Benchmark
+    public Class<?> findUntagged() throws Exception {
+        var baseType = baseTypes[next++ % baseTypes.length];
+        return untagged.findImplementationFromBaseClass(baseType, null);
+    }
+
+    @Benchmark
+    public Class<?> findTagged() throws Exception {
+        int index = next++;
+        var baseType = baseTypes[index % baseTypes.length];
+        return tagged.findImplementationFromBaseClass(baseType, TAGS[index % TAGS.length]);
+    }
+
+    /**
+     * Loads distinct classes of the <code>java.base</code> module to use them as registered base types
+     * @param count The number of classes
+     * @return The classes
+     * @throws IOException If the runtime image cannot be read
+     */
+    private static Class<?>[] loadBaseTypes(int count) throws IOException {
+        var runtimeImage = FileSystems.getFileSystem(URI.create("jrt:/"));
+        var root = runtimeImage.getPath("/modules/java.base");
+        try (var files = Files.walk(root.resolve("java/util"))) {
+            return files
+                    .map(root::relativize)
+                    .map(Path::toString)
+                    .filter(name -> name.endsWith(".class") && !name.contains("-"))
+                    .map(name -> name.substring(0, name.length() - 6).replace('/', '.'))
+                    .sorted()
+                    .limit(count)
+                    .map(DependenciesBenchmark::loadClass)
+                    .toArray(Class<?>[]::new);
+        }
+    }
+
+    private static Class<?> loadClass(String name) {
+        try {
+            return Class.forName(name, false, ClassLoader.getSystemClassLoader());
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
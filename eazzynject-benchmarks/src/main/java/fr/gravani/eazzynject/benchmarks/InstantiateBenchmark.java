@@ -0,0 +1,83 @@
+package fr.gravani.eazzynject.benchmarks;
+
+import fr.gravani.eazzynject.benchmarks.model.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolution of several graph shapes through {@link fr.gravani.eazzynject.Container#instantiate(Class)},
+ * next to the same graphs built by hand with <code>new</code>.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class InstantiateBenchmark {
+
+    @Benchmark
+    public Object deepChain(ContainerState state) throws Exception {
+        return state.container.instantiate(DeepChain.Level0.class);
+    }
+
+    @Benchmark
+    public Object deepChainHandWired() {
+        return DeepChain.handWired();
+    }
+
+    @Benchmark
+    public Object wideFanOut(ContainerState state) throws Exception {
+        return state.container.instantiate(WideFanOut.Root.class);
+    }
+
+    @Benchmark
+    public Object wideFanOutHandWired() {
+        return WideFanOut.handWired();
+    }
+
+    @Benchmark
+    public Object diamond(ContainerState state) throws Exception {
+        return state.container.instantiate(Diamond.Top.class);
+    }
+
+    @Benchmark
+    public Object diamondHandWired() {
+        return Diamond.handWired();
+    }
+
+    @Benchmark
+    public Object sharedDiamond(ContainerState state) throws Exception {
+        return state.container.instantiate(SharedDiamond.Top.class);
+    }
+
+    @Benchmark
+    public Object sharedDiamondHandWired() {
+        return SharedDiamond.handWired();
+    }
+
+    @Benchmark
+    public Object tagged(ContainerState state) throws Exception {
+        return state.container.instantiate(TaggedOperators.Calculator.class);
+    }
+
+    @Benchmark
+    public Object taggedHandWired() {
+        return TaggedOperators.handWired();
+    }
+
+    @Benchmark
+    public int multibindingDispatch(ContainerState state) throws Exception {
+        return state.container.instantiate(TaggedOperators.OperatorRegistry.class).dispatch("multiply", 6, 7);
+    }
+
+    @Benchmark
+    public Object singletonHits(ContainerState state) throws Exception {
+        return state.container.instantiate(Singletons.Client.class);
+    }
+
+    @Benchmark
+    public Object singletonHitsHandWired() {
+        return Singletons.handWired();
+    }
+}
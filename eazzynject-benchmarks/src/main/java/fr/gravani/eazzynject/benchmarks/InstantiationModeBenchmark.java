@@ -0,0 +1,59 @@
+package fr.gravani.eazzynject.benchmarks;
+
+import fr.gravani.eazzynject.Container;
+import fr.gravani.eazzynject.InstantiationMode;
+import fr.gravani.eazzynject.benchmarks.model.DeepChain;
+import fr.gravani.eazzynject.benchmarks.model.PrivateMembers;
+import fr.gravani.eazzynject.benchmarks.model.WideFanOut;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creation of the types of the benchmark model through reflection, through factories generated at runtime
+ * as hidden classes and through method handles once the types are promoted, next to the same types built by hand
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class InstantiationModeBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class InstantiationState {
+        @Param({"REFLECTION", "HIDDEN_CLASS", "TIERED"})
+        public InstantiationMode mode;
+
+        Container container;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            container = ContainerState.createContainer();
+            container.setInstantiationMode(mode);
+            for (var type : PrivateMembers.TYPES) {
+                container.registerMapping(type, type);
+            }
+        }
+    }
+
+    @Benchmark
+    public Object deepChain(InstantiationState state) throws Exception {
+        return state.container.instantiate(DeepChain.Level0.class);
+    }
+
+    @Benchmark
+    public Object wideFanOut(InstantiationState state) throws Exception {
+        return state.container.instantiate(WideFanOut.Root.class);
+    }
+
+    @Benchmark
+    public Object privateMembers(InstantiationState state) throws Exception {
+        return state.container.instantiate(PrivateMembers.Service.class);
+    }
+
+    @Benchmark
+    public Object privateMembersHandWired() {
+        return PrivateMembers.handWired();
+    }
+}
@@ -0,0 +1,52 @@
+package fr.gravani.eazzynject.benchmarks;
+
+import fr.gravani.eazzynject.Container;
+import fr.gravani.eazzynject.InjectionMetrics;
+import fr.gravani.eazzynject.benchmarks.model.DeepChain;
+import fr.gravani.eazzynject.benchmarks.model.Singletons;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the {@link InjectionMetrics} listener, compared to a container without any listener
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ListenerBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class ListenerState {
+        @Param({"false", "true"})
+        public boolean metrics;
+
+        Container container;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            container = ContainerState.createContainer();
+            if (metrics) {
+                container.addInjectionListener(new InjectionMetrics());
+            }
+        }
+    }
+
+    @Benchmark
+    public Object deepChain(ListenerState state) throws Exception {
+        return state.container.instantiate(DeepChain.Level0.class);
+    }
+
+    @Benchmark
+    public Object singletonHits(ListenerState state) throws Exception {
+        return state.container.instantiate(Singletons.Client.class);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object deepChainContended(ListenerState state) throws Exception {
+        return state.container.instantiate(DeepChain.Level0.class);
+    }
+}
@@ -0,0 +1,56 @@
+package fr.gravani.eazzynject.benchmarks;
+
+import fr.gravani.eazzynject.Container;
+import fr.gravani.eazzynject.ResolverMode;
+import fr.gravani.eazzynject.benchmarks.model.DeepChain;
+import fr.gravani.eazzynject.benchmarks.model.Diamond;
+import fr.gravani.eazzynject.benchmarks.model.Singletons;
+import fr.gravani.eazzynject.benchmarks.model.WideFanOut;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolution of several graph shapes with the recursive and the iterative resolver modes
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ResolverBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class ResolverState {
+        @Param({"RECURSIVE", "ITERATIVE"})
+        public ResolverMode mode;
+
+        Container container;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            container = ContainerState.createContainer();
+            container.setResolverMode(mode);
+        }
+    }
+
+    @Benchmark
+    public Object deepChain(ResolverState state) throws Exception {
+        return state.container.instantiate(DeepChain.Level0.class);
+    }
+
+    @Benchmark
+    public Object wideFanOut(ResolverState state) throws Exception {
+        return state.container.instantiate(WideFanOut.Root.class);
+    }
+
+    @Benchmark
+    public Object diamond(ResolverState state) throws Exception {
+        return state.container.instantiate(Diamond.Top.class);
+    }
+
+    @Benchmark
+    public Object singletonHits(ResolverState state) throws Exception {
+        return state.container.instantiate(Singletons.Client.class);
+    }
+}
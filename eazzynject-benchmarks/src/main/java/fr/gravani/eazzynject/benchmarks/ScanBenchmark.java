@@ -0,0 +1,25 @@
+package fr.gravani.eazzynject.benchmarks;
+
+import fr.gravani.eazzynject.Container;
+import fr.gravani.eazzynject.Eazzynject;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Package scanning of the benchmark model through {@link Eazzynject#initContainer(Container, String)}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ScanBenchmark {
+
+    @Benchmark
+    public Container initContainer() throws Exception {
+        var container = new Container();
+        Eazzynject.initContainer(container, ContainerState.MODEL_PACKAGE);
+        return container;
+    }
+}
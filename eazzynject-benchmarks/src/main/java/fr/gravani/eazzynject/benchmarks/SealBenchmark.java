@@ -0,0 +1,63 @@
+package fr.gravani.eazzynject.benchmarks;
+
+import fr.gravani.eazzynject.Container;
+import fr.gravani.eazzynject.benchmarks.model.DeepChain;
+import fr.gravani.eazzynject.benchmarks.model.Diamond;
+import fr.gravani.eazzynject.benchmarks.model.Singletons;
+import fr.gravani.eazzynject.benchmarks.model.TaggedOperators;
+import fr.gravani.eazzynject.benchmarks.model.WideFanOut;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolution of several graph shapes before and after {@link Container#seal()}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SealBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class SealState {
+        @Param({"false", "true"})
+        public boolean sealed;
+
+        Container container;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            container = ContainerState.createContainer();
+            if (sealed) {
+                container.seal();
+            }
+        }
+    }
+
+    @Benchmark
+    public Object deepChain(SealState state) throws Exception {
+        return state.container.instantiate(DeepChain.Level0.class);
+    }
+
+    @Benchmark
+    public Object wideFanOut(SealState state) throws Exception {
+        return state.container.instantiate(WideFanOut.Root.class);
+    }
+
+    @Benchmark
+    public Object diamond(SealState state) throws Exception {
+        return state.container.instantiate(Diamond.Top.class);
+    }
+
+    @Benchmark
+    public Object tagged(SealState state) throws Exception {
+        return state.container.instantiate(TaggedOperators.Calculator.class);
+    }
+
+    @Benchmark
+    public Object singletonHits(SealState state) throws Exception {
+        return state.container.instantiate(Singletons.Client.class);
+    }
+}
@@ -0,0 +1,134 @@
+package fr.gravani.eazzynject.benchmarks.model;
+
+import fr.gravani.eazzynject.annotations.Inject;
+import fr.gravani.eazzynject.annotations.Injectable;
+
+/**
+ * A chain of 12 types, each one injected into the previous one through its constructor
+ */
+public final class DeepChain {
+    private DeepChain() {
+    }
+
+    @Injectable
+    public static class Level0 {
+        private final Level1 next;
+
+        @Inject
+        public Level0(Level1 next) {
+            this.next = next;
+        }
+    }
+
+    @Injectable
+    public static class Level1 {
+        private final Level2 next;
+
+        @Inject
+        public Level1(Level2 next) {
+            this.next = next;
+        }
+    }
+
+    @Injectable
+    public static class Level2 {
+        private final Level3 next;
+
+        @Inject
+        public Level2(Level3 next) {
+            this.next = next;
+        }
+    }
+
+    @Injectable
+    public static class Level3 {
+        private final Level4 next;
+
+        @Inject
+        public Level3(Level4 next) {
+            this.next = next;
+        }
+    }
+
+    @Injectable
+    public static class Level4 {
+        private final Level5 next;
+
+        @Inject
+        public Level4(Level5 next) {
+            this.next = next;
+        }
+    }
+
+    @Injectable
+    public static class Level5 {
+        private final Level6 next;
+
+        @Inject
+        public Level5(Level6 next) {
+            this.next = next;
+        }
+    }
+
+    @Injectable
+    public static class Level6 {
+        private final Level7 next;
+
+        @Inject
+        public Level6(Level7 next) {
+            this.next = next;
+        }
+    }
+
+    @Injectable
+    public static class Level7 {
+        private final Level8 next;
+
+        @Inject
+        public Level7(Level8 next) {
+            this.next = next;
+        }
+    }
+
+    @Injectable
+    public static class Level8 {
+        private final Level9 next;
+
+        @Inject
+        public Level8(Level9 next) {
+            this.next = next;
+        }
+    }
+
+    @Injectable
+    public static class Level9 {
+        private final Level10 next;
+
+        @Inject
+        public Level9(Level10 next) {
+            this.next = next;
+        }
+    }
+
+    @Injectable
+    public static class Level10 {
+        private final Level11 next;
+
+        @Inject
+        public Level10(Level11 next) {
+            this.next = next;
+        }
+    }
+
+    @Injectable
+    public static class Level11 {
+    }
+
+    /**
+     * Builds the chain without the container
+     * @return The root of the chain
+     */
+    public static Level0 handWired() {
+        return new Level0(new Level1(new Level2(new Level3(new Level4(new Level5(new Level6(new Level7(new Level8(new Level9(new Level10(new Level11())))))))))));
+    }
+}
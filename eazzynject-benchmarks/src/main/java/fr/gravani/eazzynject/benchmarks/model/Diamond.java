@@ -0,0 +1,92 @@
+package fr.gravani.eazzynject.benchmarks.model;
+
+import fr.gravani.eazzynject.annotations.Inject;
+import fr.gravani.eazzynject.annotations.Injectable;
+
+/**
+ * Two stacked diamonds: the top depends on a left and a right type which share the same dependencies
+ */
+public final class Diamond {
+    private Diamond() {
+    }
+
+    @Injectable
+    public static class Bottom {
+    }
+
+    @Injectable
+    public static class Middle {
+        private final Bottom bottom;
+
+        @Inject
+        public Middle(Bottom bottom) {
+            this.bottom = bottom;
+        }
+    }
+
+    @Injectable
+    public static class LowerLeft {
+        private final Middle middle;
+
+        @Inject
+        public LowerLeft(Middle middle) {
+            this.middle = middle;
+        }
+    }
+
+    @Injectable
+    public static class LowerRight {
+        private final Middle middle;
+
+        @Inject
+        public LowerRight(Middle middle) {
+            this.middle = middle;
+        }
+    }
+
+    @Injectable
+    public static class Left {
+        private final LowerLeft lowerLeft;
+        private final LowerRight lowerRight;
+
+        @Inject
+        public Left(LowerLeft lowerLeft, LowerRight lowerRight) {
+            this.lowerLeft = lowerLeft;
+            this.lowerRight = lowerRight;
+        }
+    }
+
+    @Injectable
+    public static class Right {
+        private final LowerLeft lowerLeft;
+        private final LowerRight lowerRight;
+
+        @Inject
+        public Right(LowerLeft lowerLeft, LowerRight lowerRight) {
+            this.lowerLeft = lowerLeft;
+            this.lowerRight = lowerRight;
+        }
+    }
+
+    @Injectable
+    public static class Top {
+        private final Left left;
+        private final Right right;
+
+        @Inject
+        public Top(Left left, Right right) {
+            this.left = left;
+            this.right = right;
+        }
+    }
+
+    /**
+     * Builds the graph without the container, each shared dependency being created again like the container does
+     * @return The top of the graph
+     */
+    public static Top handWired() {
+        return new Top(
+                new Left(new LowerLeft(new Middle(new Bottom())), new LowerRight(new Middle(new Bottom()))),
+                new Right(new LowerLeft(new Middle(new Bottom())), new LowerRight(new Middle(new Bottom()))));
+    }
+}
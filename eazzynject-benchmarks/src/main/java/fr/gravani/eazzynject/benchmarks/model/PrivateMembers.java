@@ -0,0 +1,71 @@
+package fr.gravani.eazzynject.benchmarks.model;
+
+import fr.gravani.eazzynject.annotations.Inject;
+import fr.gravani.eazzynject.annotations.Injectable;
+
+/**
+ * A service injected through a private constructor, private fields and a private setter, which a factory generated
+ * at compile time cannot use
+ */
+public final class PrivateMembers {
+    private PrivateMembers() {
+    }
+
+    @Injectable
+    public static class Repository {
+    }
+
+    @Injectable
+    public static class Mapper {
+    }
+
+    @Injectable
+    public static class Validator {
+    }
+
+    @Injectable
+    public static class Clock {
+    }
+
+    @Injectable
+    public static class Service {
+        private final Repository repository;
+
+        @Inject
+        private Mapper mapper;
+
+        @Inject
+        private Validator validator;
+
+        private Clock clock;
+
+        @Inject
+        private Service(Repository repository) {
+            this.repository = repository;
+        }
+
+        @Inject
+        private void setClock(Clock clock) {
+            this.clock = clock;
+        }
+    }
+
+    /**
+     * The types of the model, each one registered as its own base type
+     */
+    public static final Class<?>[] TYPES = {
+            Repository.class, Mapper.class, Validator.class, Clock.class, Service.class
+    };
+
+    /**
+     * Builds the service without the container
+     * @return A new service
+     */
+    public static Service handWired() {
+        var service = new Service(new Repository());
+        service.mapper = new Mapper();
+        service.validator = new Validator();
+        service.setClock(new Clock());
+        return service;
+    }
+}
@@ -0,0 +1,98 @@
+package fr.gravani.eazzynject.benchmarks.model;
+
+import fr.gravani.eazzynject.annotations.Inject;
+import fr.gravani.eazzynject.annotations.Injectable;
+import fr.gravani.eazzynject.annotations.PerGraph;
+
+/**
+ * The same two stacked diamonds as {@link Diamond}, but the shared dependencies are annotated with {@link PerGraph}:
+ * they are created once per graph instead of once per injection
+ */
+public final class SharedDiamond {
+    private SharedDiamond() {
+    }
+
+    @Injectable
+    public static class Bottom {
+    }
+
+    @Injectable
+    @PerGraph
+    public static class Middle {
+        private final Bottom bottom;
+
+        @Inject
+        public Middle(Bottom bottom) {
+            this.bottom = bottom;
+        }
+    }
+
+    @Injectable
+    @PerGraph
+    public static class LowerLeft {
+        private final Middle middle;
+
+        @Inject
+        public LowerLeft(Middle middle) {
+            this.middle = middle;
+        }
+    }
+
+    @Injectable
+    @PerGraph
+    public static class LowerRight {
+        private final Middle middle;
+
+        @Inject
+        public LowerRight(Middle middle) {
+            this.middle = middle;
+        }
+    }
+
+    @Injectable
+    public static class Left {
+        private final LowerLeft lowerLeft;
+        private final LowerRight lowerRight;
+
+        @Inject
+        public Left(LowerLeft lowerLeft, LowerRight lowerRight) {
+            this.lowerLeft = lowerLeft;
+            this.lowerRight = lowerRight;
+        }
+    }
+
+    @Injectable
+    public static class Right {
+        private final LowerLeft lowerLeft;
+        private final LowerRight lowerRight;
+
+        @Inject
+        public Right(LowerLeft lowerLeft, LowerRight lowerRight) {
+            this.lowerLeft = lowerLeft;
+            this.lowerRight = lowerRight;
+        }
+    }
+
+    @Injectable
+    public static class Top {
+        private final Left left;
+        private final Right right;
+
+        @Inject
+        public Top(Left left, Right right) {
+            this.left = left;
+            this.right = right;
+        }
+    }
+
+    /**
+     * Builds the graph without the container, each shared dependency being created once like the container does
+     * @return The top of the graph
+     */
+    public static Top handWired() {
+        var middle = new Middle(new Bottom());
+        var lowerLeft = new LowerLeft(middle);
+        var lowerRight = new LowerRight(middle);
+        return new Top(new Left(lowerLeft, lowerRight), new Right(lowerLeft, lowerRight));
+    }
+}
@@ -0,0 +1,75 @@
+package fr.gravani.eazzynject.benchmarks.model;
+
+import fr.gravani.eazzynject.annotations.Inject;
+import fr.gravani.eazzynject.annotations.Injectable;
+import fr.gravani.eazzynject.annotations.Singleton;
+
+/**
+ * A prototype-scoped client depending on singletons, so that each resolution only hits the singleton cache
+ */
+public final class Singletons {
+    private Singletons() {
+    }
+
+    @Injectable
+    @Singleton
+    public static class Configuration {
+    }
+
+    @Injectable
+    @Singleton
+    public static class ConnectionPool {
+        private final Configuration configuration;
+
+        @Inject
+        public ConnectionPool(Configuration configuration) {
+            this.configuration = configuration;
+        }
+    }
+
+    @Injectable
+    @Singleton
+    public static class Cache {
+        private final Configuration configuration;
+
+        @Inject
+        public Cache(Configuration configuration) {
+            this.configuration = configuration;
+        }
+    }
+
+    @Injectable
+    @Singleton
+    public static class Clock {
+    }
+
+    @Injectable
+    public static class Client {
+        private final ConnectionPool pool;
+        private final Cache cache;
+        private final Clock clock;
+
+        @Inject
+        public Client(ConnectionPool pool, Cache cache, Clock clock) {
+            this.pool = pool;
+            this.cache = cache;
+            this.clock = clock;
+        }
+    }
+
+    private static final Configuration CONFIGURATION = new Configuration();
+
+    private static final ConnectionPool POOL = new ConnectionPool(CONFIGURATION);
+
+    private static final Cache CACHE = new Cache(CONFIGURATION);
+
+    private static final Clock CLOCK = new Clock();
+
+    /**
+     * Builds the client without the container, reusing the same singletons
+     * @return A new client
+     */
+    public static Client handWired() {
+        return new Client(POOL, CACHE, CLOCK);
+    }
+}
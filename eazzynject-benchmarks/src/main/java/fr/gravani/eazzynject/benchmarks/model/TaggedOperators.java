@@ -0,0 +1,154 @@
+package fr.gravani.eazzynject.benchmarks.model;
+
+import fr.gravani.eazzynject.annotations.Inject;
+import fr.gravani.eazzynject.annotations.Injectable;
+import fr.gravani.eazzynject.annotations.Tag;
+
+import java.util.Map;
+
+/**
+ * 8 tagged implementations of the same interface, all injected into a calculator
+ */
+public final class TaggedOperators {
+    private TaggedOperators() {
+    }
+
+    public interface Operator {
+        int act(int a, int b);
+    }
+
+    @Injectable
+    @Tag("add")
+    public static class AddOperator implements Operator {
+        @Override
+        public int act(int a, int b) {
+            return a + b;
+        }
+    }
+
+    @Injectable
+    @Tag("subtract")
+    public static class SubtractOperator implements Operator {
+        @Override
+        public int act(int a, int b) {
+            return a - b;
+        }
+    }
+
+    @Injectable
+    @Tag("multiply")
+    public static class MultiplyOperator implements Operator {
+        @Override
+        public int act(int a, int b) {
+            return a * b;
+        }
+    }
+
+    @Injectable
+    @Tag("divide")
+    public static class DivideOperator implements Operator {
+        @Override
+        public int act(int a, int b) {
+            return a / b;
+        }
+    }
+
+    @Injectable
+    @Tag("modulo")
+    public static class ModuloOperator implements Operator {
+        @Override
+        public int act(int a, int b) {
+            return a % b;
+        }
+    }
+
+    @Injectable
+    @Tag("min")
+    public static class MinOperator implements Operator {
+        @Override
+        public int act(int a, int b) {
+            return Math.min(a, b);
+        }
+    }
+
+    @Injectable
+    @Tag("max")
+    public static class MaxOperator implements Operator {
+        @Override
+        public int act(int a, int b) {
+            return Math.max(a, b);
+        }
+    }
+
+    @Injectable
+    @Tag("xor")
+    public static class XorOperator implements Operator {
+        @Override
+        public int act(int a, int b) {
+            return a ^ b;
+        }
+    }
+
+    @Injectable
+    public static class Calculator {
+        private final Operator add;
+        private final Operator subtract;
+        private final Operator multiply;
+        private final Operator divide;
+        private final Operator modulo;
+        private final Operator min;
+        private final Operator max;
+        private final Operator xor;
+
+        @Inject
+        public Calculator(@Tag("add") Operator add,
+                          @Tag("subtract") Operator subtract,
+                          @Tag("multiply") Operator multiply,
+                          @Tag("divide") Operator divide,
+                          @Tag("modulo") Operator modulo,
+                          @Tag("min") Operator min,
+                          @Tag("max") Operator max,
+                          @Tag("xor") Operator xor) {
+            this.add = add;
+            this.subtract = subtract;
+            this.multiply = multiply;
+            this.divide = divide;
+            this.modulo = modulo;
+            this.min = min;
+            this.max = max;
+            this.xor = xor;
+        }
+    }
+
+    /**
+     * All the operators injected at once, keyed by tag, to dispatch a computation to one of them
+     */
+    @Injectable
+    public static class OperatorRegistry {
+        private final Map<String, Operator> operators;
+
+        @Inject
+        public OperatorRegistry(Map<String, Operator> operators) {
+            this.operators = operators;
+        }
+
+        /**
+         * Applies one of the operators
+         * @param tag The tag of the operator
+         * @param a The first operand
+         * @param b The second operand
+         * @return The result of the operator
+         */
+        public int dispatch(String tag, int a, int b) {
+            return operators.get(tag).act(a, b);
+        }
+    }
+
+    /**
+     * Builds the calculator without the container
+     * @return The calculator with all its operators
+     */
+    public static Calculator handWired() {
+        return new Calculator(new AddOperator(), new SubtractOperator(), new MultiplyOperator(), new DivideOperator(), new ModuloOperator(), new MinOperator(), new MaxOperator(), new XorOperator());
+    }
+}
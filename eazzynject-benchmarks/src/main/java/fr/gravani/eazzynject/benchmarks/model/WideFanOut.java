@@ -0,0 +1,157 @@
+package fr.gravani.eazzynject.benchmarks.model;
+
+import fr.gravani.eazzynject.annotations.Inject;
+import fr.gravani.eazzynject.annotations.Injectable;
+
+/**
+ * A root type with 12 independent dependencies injected through its setters
+ */
+public final class WideFanOut {
+    private WideFanOut() {
+    }
+
+    @Injectable
+    public static class Leaf0 {
+    }
+
+    @Injectable
+    public static class Leaf1 {
+    }
+
+    @Injectable
+    public static class Leaf2 {
+    }
+
+    @Injectable
+    public static class Leaf3 {
+    }
+
+    @Injectable
+    public static class Leaf4 {
+    }
+
+    @Injectable
+    public static class Leaf5 {
+    }
+
+    @Injectable
+    public static class Leaf6 {
+    }
+
+    @Injectable
+    public static class Leaf7 {
+    }
+
+    @Injectable
+    public static class Leaf8 {
+    }
+
+    @Injectable
+    public static class Leaf9 {
+    }
+
+    @Injectable
+    public static class Leaf10 {
+    }
+
+    @Injectable
+    public static class Leaf11 {
+    }
+
+    @Injectable
+    public static class Root {
+        private Leaf0 leaf0;
+        private Leaf1 leaf1;
+        private Leaf2 leaf2;
+        private Leaf3 leaf3;
+        private Leaf4 leaf4;
+        private Leaf5 leaf5;
+        private Leaf6 leaf6;
+        private Leaf7 leaf7;
+        private Leaf8 leaf8;
+        private Leaf9 leaf9;
+        private Leaf10 leaf10;
+        private Leaf11 leaf11;
+
+        @Inject
+        public void setLeaf0(Leaf0 leaf0) {
+            this.leaf0 = leaf0;
+        }
+
+        @Inject
+        public void setLeaf1(Leaf1 leaf1) {
+            this.leaf1 = leaf1;
+        }
+
+        @Inject
+        public void setLeaf2(Leaf2 leaf2) {
+            this.leaf2 = leaf2;
+        }
+
+        @Inject
+        public void setLeaf3(Leaf3 leaf3) {
+            this.leaf3 = leaf3;
+        }
+
+        @Inject
+        public void setLeaf4(Leaf4 leaf4) {
+            this.leaf4 = leaf4;
+        }
+
+        @Inject
+        public void setLeaf5(Leaf5 leaf5) {
+            this.leaf5 = leaf5;
+        }
+
+        @Inject
+        public void setLeaf6(Leaf6 leaf6) {
+            this.leaf6 = leaf6;
+        }
+
+        @Inject
+        public void setLeaf7(Leaf7 leaf7) {
+            this.leaf7 = leaf7;
+        }
+
+        @Inject
+        public void setLeaf8(Leaf8 leaf8) {
+            this.leaf8 = leaf8;
+        }
+
+        @Inject
+        public void setLeaf9(Leaf9 leaf9) {
+            this.leaf9 = leaf9;
+        }
+
+        @Inject
+        public void setLeaf10(Leaf10 leaf10) {
+            this.leaf10 = leaf10;
+        }
+
+        @Inject
+        public void setLeaf11(Leaf11 leaf11) {
+            this.leaf11 = leaf11;
+        }
+    }
+
+    /**
+     * Builds the root without the container
+     * @return The root with all its leaves
+     */
+    public static Root handWired() {
+        var root = new Root();
+        root.setLeaf0(new Leaf0());
+        root.setLeaf1(new Leaf1());
+        root.setLeaf2(new Leaf2());
+        root.setLeaf3(new Leaf3());
+        root.setLeaf4(new Leaf4());
+        root.setLeaf5(new Leaf5());
+        root.setLeaf6(new Leaf6());
+        root.setLeaf7(new Leaf7());
+        root.setLeaf8(new Leaf8());
+        root.setLeaf9(new Leaf9());
+        root.setLeaf10(new Leaf10());
+        root.setLeaf11(new Leaf11());
+        return root;
+    }
+}
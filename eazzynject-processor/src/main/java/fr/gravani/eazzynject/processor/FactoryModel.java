@@ -0,0 +1,113 @@
+package fr.gravani.eazzynject.processor;
+
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Everything needed to write the factory of an injectable type
+ */
+final class FactoryModel {
+    private final TypeElement type;
+    private final PackageElement packageElement;
+    private final String binaryName;
+    private final boolean singleton;
+    private final List<Dependency> dependencies = new ArrayList<>();
+    private final List<String> fields = new ArrayList<>();
+    private final List<MethodCall> methods = new ArrayList<>();
+
+    FactoryModel(TypeElement type, PackageElement packageElement, String binaryName, boolean singleton) {
+        this.type = type;
+        this.packageElement = packageElement;
+        this.binaryName = binaryName;
+        this.singleton = singleton;
+    }
+
+    TypeElement getType() {
+        return type;
+    }
+
+    PackageElement getPackageElement() {
+        return packageElement;
+    }
+
+    String getBinaryName() {
+        return binaryName;
+    }
+
+    boolean isSingleton() {
+        return singleton;
+    }
+
+    /**
+     * The dependencies, in the order they are passed to the factory
+     */
+    List<Dependency> getDependencies() {
+        return dependencies;
+    }
+
+    /**
+     * The names of the injectable fields
+     */
+    List<String> getFields() {
+        return fields;
+    }
+
+    /**
+     * The injectable methods
+     */
+    List<MethodCall> getMethods() {
+        return methods;
+    }
+
+    /**
+     * Number of dependencies passed to the constructor
+     */
+    int getConstructorArity() {
+        return dependencies.size() - fields.size()
+                - methods.stream().mapToInt(MethodCall::getArity).sum();
+    }
+
+    /**
+     * A dependency of the injectable type
+     */
+    static final class Dependency {
+        private final String typeName;
+        private final String tag;
+
+        Dependency(String typeName, String tag) {
+            this.typeName = typeName;
+            this.tag = tag;
+        }
+
+        String getTypeName() {
+            return typeName;
+        }
+
+        String getTag() {
+            return tag;
+        }
+    }
+
+    /**
+     * An injectable method
+     */
+    static final class MethodCall {
+        private final String name;
+        private final int arity;
+
+        MethodCall(String name, int arity) {
+            this.name = name;
+            this.arity = arity;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        int getArity() {
+            return arity;
+        }
+    }
+}
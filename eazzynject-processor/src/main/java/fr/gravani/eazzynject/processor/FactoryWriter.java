@@ -0,0 +1,135 @@
+package fr.gravani.eazzynject.processor;
+
+import fr.gravani.eazzynject.InjectionFactory;
+
+import javax.annotation.processing.Filer;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.stream.Collectors;
+
+/**
+ * Writes the source code of the generated {@link InjectionFactory} of an injectable type
+ */
+final class FactoryWriter {
+    private final Filer filer;
+
+    FactoryWriter(Filer filer) {
+        this.filer = filer;
+    }
+
+    /**
+     * Writes the factory of an injectable type into the generated sources
+     * @param factory The description of the factory
+     * @throws IOException If the source file cannot be written
+     */
+    void write(FactoryModel factory) throws IOException {
+        var packageName = factory.getPackageElement().getQualifiedName().toString();
+        var factoryName = factory.getBinaryName().substring(packageName.isEmpty() ? 0 : packageName.length() + 1)
+                + InjectionFactory.GENERATED_FACTORY_SUFFIX;
+        var typeName = factory.getType().getQualifiedName().toString();
+        var file = filer.createSourceFile(factory.getBinaryName() + InjectionFactory.GENERATED_FACTORY_SUFFIX,
+                factory.getType());
+
+        try (var out = new PrintWriter(file.openWriter())) {
+            if (!packageName.isEmpty()) {
+                out.printf("package %s;%n%n", packageName);
+            }
+            out.printf("@javax.annotation.processing.Generated(\"%s\")%n", InjectableProcessor.class.getName());
+            out.printf("public final class %s implements %s<%s> {%n",
+                    factoryName, InjectionFactory.class.getName(), typeName);
+
+            out.printf("    private static final Class<?>[] DEPENDENCY_TYPES = { %s };%n%n",
+                    factory.getDependencies().stream()
+                            .map(d -> d.getTypeName() + ".class")
+                            .collect(Collectors.joining(", ")));
+            out.printf("    private static final String[] DEPENDENCY_TAGS = { %s };%n%n",
+                    factory.getDependencies().stream()
+                            .map(d -> toLiteral(d.getTag()))
+                            .collect(Collectors.joining(", ")));
+
+            out.printf("    @Override%n");
+            out.printf("    public boolean isSingleton() {%n");
+            out.printf("        return %s;%n", factory.isSingleton());
+            out.printf("    }%n%n");
+
+            out.printf("    @Override%n");
+            out.printf("    public Class<?>[] getDependencyTypes() {%n");
+            out.printf("        return DEPENDENCY_TYPES.clone();%n");
+            out.printf("    }%n%n");
+
+            out.printf("    @Override%n");
+            out.printf("    public String[] getDependencyTags() {%n");
+            out.printf("        return DEPENDENCY_TAGS.clone();%n");
+            out.printf("    }%n%n");
+
+            out.printf("    @Override%n");
+            out.printf("    @SuppressWarnings({ \"unchecked\", \"rawtypes\" })%n");
+            out.printf("    public %s create(Object[] arguments) throws Exception {%n", typeName);
+            int index = 0;
+            out.printf("        %s instance = new %s(%s);%n", typeName, typeName,
+                    arguments(factory, index, factory.getConstructorArity()));
+            index += factory.getConstructorArity();
+            for (var field : factory.getFields()) {
+                out.printf("        instance.%s = %s;%n", field, argument(factory, index++));
+            }
+            for (var method : factory.getMethods()) {
+                out.printf("        instance.%s(%s);%n", method.getName(), arguments(factory, index, method.getArity()));
+                index += method.getArity();
+            }
+            out.printf("        return instance;%n");
+            out.printf("    }%n");
+            out.printf("}%n");
+        }
+    }
+
+    /**
+     * Writes a list of casted arguments
+     * @param factory The description of the factory
+     * @param from The index of the first argument
+     * @param count The number of arguments
+     * @return The arguments separated by commas
+     */
+    private static String arguments(FactoryModel factory, int from, int count) {
+        var arguments = new StringBuilder();
+        for (int i = from; i < from + count; i++) {
+            if (i > from) {
+                arguments.append(", ");
+            }
+            arguments.append(argument(factory, i));
+        }
+        return arguments.toString();
+    }
+
+    /**
+     * Writes a casted argument
+     * @param factory The description of the factory
+     * @param index The index of the argument
+     * @return The argument casted to the type of the dependency
+     */
+    private static String argument(FactoryModel factory, int index) {
+        return String.format("(%s) arguments[%d]", factory.getDependencies().get(index).getTypeName(), index);
+    }
+
+    /**
+     * Writes a string literal
+     * @param value The string, can be <code>null</code>
+     * @return The literal
+     */
+    private static String toLiteral(String value) {
+        if (value == null) {
+            return "null";
+        }
+        var literal = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> literal.append("\\\"");
+                case '\\' -> literal.append("\\\\");
+                case '\n' -> literal.append("\\n");
+                case '\r' -> literal.append("\\r");
+                case '\t' -> literal.append("\\t");
+                default -> literal.append(c);
+            }
+        }
+        return literal.append('"').toString();
+    }
+}
@@ -0,0 +1,341 @@
+package fr.gravani.eazzynject.processor;
+
+import fr.gravani.eazzynject.Lazy;
+import fr.gravani.eazzynject.Provider;
+import fr.gravani.eazzynject.annotations.Inject;
+import fr.gravani.eazzynject.annotations.Injectable;
+import fr.gravani.eazzynject.annotations.Singleton;
+import fr.gravani.eazzynject.annotations.Tag;
+import fr.gravani.eazzynject.scanner.InjectableIndex;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Annotation processor generating an {@link fr.gravani.eazzynject.InjectionFactory} for each {@link Injectable} type.
+ * A factory is only generated when the constructor, fields and setters to inject can be accessed from the package
+ * of the type. Otherwise, a note is emitted and the container keeps using reflection for the type.
+ * <p>
+ * The processor also writes the {@link InjectableIndex} of the compiled types, read by the package scanner at startup.
+ */
+@SupportedAnnotationTypes("fr.gravani.eazzynject.annotations.Injectable")
+public class InjectableProcessor extends AbstractProcessor {
+    /**
+     * The types injected in place of their type argument, created by the container when they are used
+     */
+    private static final Set<String> DEFERRED_TYPES = Set.of(Provider.class.getName(), Lazy.class.getName(),
+            List.class.getName(), Map.class.getName(), CompletionStage.class.getName());
+
+    /**
+     * The entries of the index, mapped with the binary name of their type
+     */
+    private final Map<String, InjectableIndex.Entry> indexEntries = new LinkedHashMap<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeIndex();
+            return false;
+        }
+
+        for (var type : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(Injectable.class))) {
+            if (type.getKind() == ElementKind.CLASS && !type.getModifiers().contains(Modifier.ABSTRACT)) {
+                var entry = createIndexEntry(type);
+                indexEntries.put(entry.getClassName(), entry);
+            }
+            var factory = analyze(type);
+            if (factory == null) {
+                continue;
+            }
+            try {
+                new FactoryWriter(processingEnv.getFiler()).write(factory);
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Could not write the injection factory: " + e.getMessage(), type);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Describes an injectable type in the index, with all the super classes and interfaces it is registered with
+     * @param type The injectable type
+     * @return The entry of the index
+     */
+    private InjectableIndex.Entry createIndexEntry(TypeElement type) {
+        var superTypes = new LinkedHashSet<String>();
+        addSuperTypes(type, superTypes);
+        var tag = getTag(type);
+        return new InjectableIndex.Entry(getBinaryName(type), tag, new ArrayList<>(superTypes));
+    }
+
+    /**
+     * Adds the super classes and interfaces of a type, as the package scanner does at runtime
+     * @param type The type
+     * @param superTypes The binary names of the super types
+     */
+    private void addSuperTypes(TypeElement type, Set<String> superTypes) {
+        if (type.getSuperclass().getKind() == TypeKind.DECLARED) {
+            var superClass = (TypeElement) ((DeclaredType) type.getSuperclass()).asElement();
+            if (!superClass.getQualifiedName().contentEquals(Object.class.getName())) {
+                superTypes.add(getBinaryName(superClass));
+                addSuperTypes(superClass, superTypes);
+            }
+        }
+        for (var superInterface : type.getInterfaces()) {
+            var interfaceElement = (TypeElement) ((DeclaredType) superInterface).asElement();
+            superTypes.add(getBinaryName(interfaceElement));
+            addSuperTypes(interfaceElement, superTypes);
+        }
+    }
+
+    /**
+     * Writes the index of the injectable types, keeping the types of a previous compilation that still exist
+     */
+    private void writeIndex() {
+        if (indexEntries.isEmpty()) {
+            return;
+        }
+        var filer = processingEnv.getFiler();
+        var entries = new ArrayList<InjectableIndex.Entry>();
+        try {
+            var previousIndex = filer.getResource(StandardLocation.CLASS_OUTPUT, "", InjectableIndex.LOCATION);
+            try (var reader = previousIndex.openReader(true)) {
+                for (var entry : InjectableIndex.read(reader).getEntries()) {
+                    var type = processingEnv.getElementUtils().getTypeElement(entry.getClassName().replace('$', '.'));
+                    if (!indexEntries.containsKey(entry.getClassName())
+                            && type != null && type.getAnnotation(Injectable.class) != null) {
+                        entries.add(entry);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // No previous index
+        }
+        entries.addAll(indexEntries.values());
+
+        try {
+            var index = filer.createResource(StandardLocation.CLASS_OUTPUT, "", InjectableIndex.LOCATION);
+            try (var writer = index.openWriter()) {
+                new InjectableIndex(entries).write(writer);
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Could not write the index of the injectable types: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Gets the binary name of a type
+     * @param type The type
+     * @return The binary name, as returned by {@link Class#getName()}
+     */
+    private String getBinaryName(TypeElement type) {
+        return processingEnv.getElementUtils().getBinaryName(type).toString();
+    }
+
+    /**
+     * Analyzes an injectable type to find how to create it without reflection
+     * @param type The injectable type
+     * @return The description of the factory, <code>null</code> if no factory can be generated for the type
+     */
+    private FactoryModel analyze(TypeElement type) {
+        if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)) {
+            return null;
+        }
+        var packageElement = processingEnv.getElementUtils().getPackageOf(type);
+        if (!isAccessible(type, packageElement)) {
+            return skip(type, "the type is not accessible from its package");
+        }
+        if (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC)) {
+            return skip(type, "inner classes cannot be created without an enclosing instance");
+        }
+
+        var factory = new FactoryModel(type, packageElement,
+                getBinaryName(type),
+                type.getAnnotation(Singleton.class) != null);
+
+        var constructor = findConstructor(type);
+        if (constructor == null) {
+            // The container will report the missing constructor
+            return skip(type, "no single injectable constructor or default constructor");
+        }
+        if (constructor.getModifiers().contains(Modifier.PRIVATE)) {
+            return skip(type, "the constructor is private");
+        }
+        if (!addParameters(factory, constructor, packageElement)) {
+            return null;
+        }
+
+        for (var field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (field.getAnnotation(Inject.class) == null) {
+                continue;
+            }
+            if (field.getModifiers().contains(Modifier.PRIVATE) || field.getModifiers().contains(Modifier.FINAL)) {
+                return skip(type, "the field " + field.getSimpleName() + " is private or final");
+            }
+            if (!addDependency(factory, field.asType(), getTag(field), packageElement, field)) {
+                return null;
+            }
+            factory.getFields().add(field.getSimpleName().toString());
+        }
+
+        for (var method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (method.getAnnotation(Inject.class) == null) {
+                continue;
+            }
+            if (method.getModifiers().contains(Modifier.PRIVATE)) {
+                return skip(type, "the method " + method.getSimpleName() + " is private");
+            }
+            if (!addParameters(factory, method, packageElement)) {
+                return null;
+            }
+            factory.getMethods().add(new FactoryModel.MethodCall(
+                    method.getSimpleName().toString(), method.getParameters().size()));
+        }
+        return factory;
+    }
+
+    /**
+     * Finds the constructor used to create the instances, as the container does at runtime
+     * @param type The injectable type
+     * @return The only injectable constructor, otherwise the default constructor, <code>null</code> if none applies
+     */
+    private ExecutableElement findConstructor(TypeElement type) {
+        var constructors = ElementFilter.constructorsIn(type.getEnclosedElements());
+        var injectableConstructors = constructors.stream()
+                .filter(c -> c.getAnnotation(Inject.class) != null)
+                .toList();
+        if (injectableConstructors.size() > 1) {
+            return null;
+        }
+        if (injectableConstructors.size() == 1) {
+            return injectableConstructors.get(0);
+        }
+        return constructors.stream()
+                .filter(c -> c.getParameters().isEmpty())
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Adds the parameters of a constructor or a method to the dependencies of a factory
+     * @param factory The factory
+     * @param executable The constructor or the method
+     * @param packageElement The package of the factory
+     * @return <code>false</code> if a parameter cannot be used from the factory
+     */
+    private boolean addParameters(FactoryModel factory, ExecutableElement executable, PackageElement packageElement) {
+        var executableTag = getTag(executable);
+        for (var parameter : executable.getParameters()) {
+            // The constructor tag wins over the parameter tag
+            var tag = executableTag == null ? getTag(parameter) : executableTag;
+            if (!addDependency(factory, parameter.asType(), tag, packageElement, parameter)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds a dependency to a factory
+     * @param factory The factory
+     * @param type The type of the dependency
+     * @param tag The tag of the dependency
+     * @param packageElement The package of the factory
+     * @param element The element declaring the dependency
+     * @return <code>false</code> if the type of the dependency cannot be used from the factory
+     */
+    private boolean addDependency(FactoryModel factory, TypeMirror type, String tag,
+                                  PackageElement packageElement, Element element) {
+        var erasure = processingEnv.getTypeUtils().erasure(type);
+        var erasureName = erasure.toString();
+        if (DEFERRED_TYPES.contains(erasureName)) {
+            // The type argument cannot be described by the dependency types of a factory
+            skip(factory.getType(), "the dependency " + element.getSimpleName() + " is created when it is used");
+            return false;
+        }
+        if (!isAccessible(erasure, packageElement)) {
+            skip(factory.getType(), "the type " + erasure + " of " + element.getSimpleName() + " is not accessible");
+            return false;
+        }
+        factory.getDependencies().add(new FactoryModel.Dependency(erasure.toString(), tag));
+        return true;
+    }
+
+    /**
+     * Checks whether a type can be referenced from a package
+     * @param type The type
+     * @param packageElement The package
+     * @return <code>true</code> if the type can be referenced from the package
+     */
+    private boolean isAccessible(TypeMirror type, PackageElement packageElement) {
+        if (type.getKind() == TypeKind.ARRAY) {
+            return isAccessible(((ArrayType) type).getComponentType(), packageElement);
+        }
+        if (type.getKind() == TypeKind.DECLARED) {
+            return isAccessible((TypeElement) ((DeclaredType) type).asElement(), packageElement);
+        }
+        return type.getKind().isPrimitive();
+    }
+
+    /**
+     * Checks whether a type and all its enclosing types can be referenced from a package
+     * @param type The type
+     * @param packageElement The package
+     * @return <code>true</code> if the type can be referenced from the package
+     */
+    private boolean isAccessible(TypeElement type, PackageElement packageElement) {
+        var samePackage = processingEnv.getElementUtils().getPackageOf(type).equals(packageElement);
+        Element current = type;
+        while (current instanceof TypeElement) {
+            var modifiers = current.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE) || (!samePackage && !modifiers.contains(Modifier.PUBLIC))) {
+                return false;
+            }
+            current = current.getEnclosingElement();
+        }
+        return true;
+    }
+
+    /**
+     * Gets the tag of an element
+     * @param element The element
+     * @return The value of the tag if the annotation is present, <code>null</code> otherwise
+     */
+    private static String getTag(Element element) {
+        var tag = element.getAnnotation(Tag.class);
+        return tag == null ? null : tag.value();
+    }
+
+    /**
+     * Notes that no factory is generated for a type
+     * @param type The injectable type
+     * @param reason The reason why the factory cannot be generated
+     * @return <code>null</code>
+     */
+    private FactoryModel skip(TypeElement type, String reason) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                "No injection factory generated for " + type.getQualifiedName() + ", reflection will be used: "
+                        + reason, type);
+        return null;
+    }
+}
@@ -0,0 +1,139 @@
+package fr.gravani.eazzynject.processor;
+
+import fr.gravani.eazzynject.Container;
+import fr.gravani.eazzynject.InjectionFactory;
+import fr.gravani.eazzynject.Provider;
+import fr.gravani.eazzynject.annotations.Inject;
+import fr.gravani.eazzynject.annotations.Injectable;
+import fr.gravani.eazzynject.annotations.Singleton;
+import fr.gravani.eazzynject.annotations.Tag;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GeneratedFactoryTest {
+    Container container;
+
+    interface Operator {
+        int act(int a, int b);
+    }
+
+    @Injectable
+    @Tag("add")
+    static class AddOperator implements Operator {
+        @Override
+        public int act(int a, int b) {
+            return a + b;
+        }
+    }
+
+    @Injectable
+    @Singleton
+    static class Engine {
+    }
+
+    @Injectable
+    static class Wheel {
+    }
+
+    @Injectable
+    static class Car {
+        final Engine engine;
+
+        final String createdBy;
+
+        @Inject
+        Wheel wheel;
+
+        Operator operator;
+
+        @Inject
+        Car(Engine engine) {
+            this.engine = engine;
+            this.createdBy = new Throwable().getStackTrace()[1].getClassName();
+        }
+
+        @Inject
+        void setOperator(@Tag("add") Operator operator) {
+            this.operator = operator;
+        }
+    }
+
+    @Injectable
+    static class PrivateFieldCar {
+        @Inject
+        private Engine engine;
+    }
+
+    @Injectable
+    static class ProviderCar {
+        @Inject
+        Provider<Wheel> wheels;
+    }
+
+    @Injectable
+    static class SlowService {
+        @Inject
+        SlowService(Engine engine) throws InterruptedException {
+            Thread.sleep(1);
+        }
+    }
+
+    @BeforeEach
+    void setUpContainer() throws Exception {
+        container = new Container();
+        container.registerMapping(AddOperator.class, Operator.class);
+        container.registerMapping(Engine.class, Engine.class);
+        container.registerMapping(Wheel.class, Wheel.class);
+        container.registerMapping(Car.class, Car.class);
+        container.registerMapping(PrivateFieldCar.class, PrivateFieldCar.class);
+        container.registerMapping(SlowService.class, SlowService.class);
+        container.registerMapping(ProviderCar.class, ProviderCar.class);
+    }
+
+    @Test
+    void testFactoryGenerated() throws Exception {
+        var factory = (InjectionFactory<?>) Class.forName(Car.class.getName() + InjectionFactory.GENERATED_FACTORY_SUFFIX)
+                .getDeclaredConstructor()
+                .newInstance();
+        assertFalse(factory.isSingleton());
+        assertArrayEquals(new Class<?>[] { Engine.class, Wheel.class, Operator.class }, factory.getDependencyTypes());
+        assertArrayEquals(new String[] { null, null, "add" }, factory.getDependencyTags());
+
+        var engineFactory = (InjectionFactory<?>) Class.forName(
+                Engine.class.getName() + InjectionFactory.GENERATED_FACTORY_SUFFIX)
+                .getDeclaredConstructor()
+                .newInstance();
+        assertTrue(engineFactory.isSingleton());
+    }
+
+    @Test
+    void testContainerUsesFactory() throws Exception {
+        var car = container.instantiate(Car.class);
+        assertEquals(Car.class.getName() + InjectionFactory.GENERATED_FACTORY_SUFFIX, car.createdBy);
+        assertNotNull(car.wheel);
+        assertTrue(car.operator instanceof AddOperator);
+        assertSame(car.engine, container.instantiate(Car.class).engine);
+    }
+
+    @Test
+    void testCheckedExceptionConstructor() throws Exception {
+        Class.forName(SlowService.class.getName() + InjectionFactory.GENERATED_FACTORY_SUFFIX);
+        assertNotNull(container.instantiate(SlowService.class));
+    }
+
+    @Test
+    void testReflectionFallback() throws Exception {
+        assertThrows(ClassNotFoundException.class,
+                () -> Class.forName(PrivateFieldCar.class.getName() + InjectionFactory.GENERATED_FACTORY_SUFFIX));
+        assertNotNull(container.instantiate(PrivateFieldCar.class).engine);
+    }
+
+    @Test
+    void testProviderFallback() throws Exception {
+        assertThrows(ClassNotFoundException.class,
+                () -> Class.forName(ProviderCar.class.getName() + InjectionFactory.GENERATED_FACTORY_SUFFIX));
+        assertTrue(container.instantiate(ProviderCar.class).wheels.get() instanceof Wheel);
+    }
+}
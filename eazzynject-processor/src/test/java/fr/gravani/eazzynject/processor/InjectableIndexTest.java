@@ -0,0 +1,56 @@
+package fr.gravani.eazzynject.processor;
+
+import fr.gravani.eazzynject.Container;
+import fr.gravani.eazzynject.Eazzynject;
+import fr.gravani.eazzynject.processor.indexed.Repository;
+import fr.gravani.eazzynject.processor.indexed.Service;
+import fr.gravani.eazzynject.processor.indexed.SqlRepository;
+import fr.gravani.eazzynject.scanner.InjectableIndex;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InjectableIndexTest {
+    private static final String INDEXED_PACKAGE = "fr.gravani.eazzynject.processor.indexed";
+
+    @Test
+    void testIndexGenerated() throws Exception {
+        var resource = getClass().getClassLoader().getResource(InjectableIndex.LOCATION);
+        assertNotNull(resource);
+
+        InjectableIndex index;
+        try (var reader = new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8)) {
+            index = InjectableIndex.read(reader);
+        }
+        var repository = index.getEntries().stream()
+                .filter(e -> e.getClassName().equals(SqlRepository.class.getName()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals("sql", repository.getTag());
+        assertEquals(List.of(Repository.class.getName()), repository.getSuperTypes());
+
+        var service = index.getEntries().stream()
+                .filter(e -> e.getClassName().equals(Service.class.getName()))
+                .findFirst()
+                .orElseThrow();
+        assertNull(service.getTag());
+        assertTrue(service.getSuperTypes().isEmpty());
+    }
+
+    @Test
+    void testScanningUsesIndex() throws Exception {
+        var container = new Container();
+        Eazzynject.initContainer(container, INDEXED_PACKAGE);
+
+        var service = container.instantiate(Service.class);
+        assertEquals("sql", service.getRepository().getName());
+        assertTrue(container.instantiate(Repository.class, "sql") instanceof SqlRepository);
+
+        // The classes of the package have not been loaded one by one
+        assertNull(System.getProperty("eazzynject.test.notInjectable.initialized"));
+    }
+}
@@ -0,0 +1,9 @@
+package fr.gravani.eazzynject.processor.indexed;
+
+public class NotInjectable {
+    public static final String INITIALIZED_PROPERTY = "eazzynject.test.notInjectable.initialized";
+
+    static {
+        System.setProperty(INITIALIZED_PROPERTY, "true");
+    }
+}
@@ -0,0 +1,5 @@
+package fr.gravani.eazzynject.processor.indexed;
+
+public interface Repository {
+    String getName();
+}
@@ -0,0 +1,16 @@
+package fr.gravani.eazzynject.processor.indexed;
+
+import fr.gravani.eazzynject.annotations.Inject;
+import fr.gravani.eazzynject.annotations.Injectable;
+import fr.gravani.eazzynject.annotations.Tag;
+
+@Injectable
+public class Service {
+    @Inject
+    @Tag("sql")
+    Repository repository;
+
+    public Repository getRepository() {
+        return repository;
+    }
+}
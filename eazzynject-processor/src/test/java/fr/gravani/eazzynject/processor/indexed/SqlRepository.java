@@ -0,0 +1,13 @@
+package fr.gravani.eazzynject.processor.indexed;
+
+import fr.gravani.eazzynject.annotations.Injectable;
+import fr.gravani.eazzynject.annotations.Tag;
+
+@Injectable
+@Tag("sql")
+public class SqlRepository implements Repository {
+    @Override
+    public String getName() {
+        return "sql";
+    }
+}
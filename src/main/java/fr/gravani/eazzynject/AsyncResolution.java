@@ -0,0 +1,120 @@
+package fr.gravani.eazzynject;
+
+import fr.gravani.eazzynject.annotations.PerGraph;
+import fr.gravani.eazzynject.exceptions.ImplementationAmbiguityException;
+import fr.gravani.eazzynject.exceptions.ImplementationNotFoundException;
+import fr.gravani.eazzynject.exceptions.NoDefaultConstructorException;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * One asynchronous call to the container. Each type is created by the executor as soon as all its dependencies have
+ * been created, so the independent dependencies of a type are created in parallel and the call lasts as long as the
+ * longest chain of dependencies. The singletons being created are shared with the other calls through the container,
+ * and the {@link PerGraph} types are shared inside the call.
+ */
+final class AsyncResolution {
+    private final Container container;
+
+    private final Executor executor;
+
+    /**
+     * The {@link PerGraph} types of the call, created or being created
+     */
+    private final Map<InjectionPlan, CompletableFuture<Object>> perGraph = new ConcurrentHashMap<>();
+
+    AsyncResolution(Container container, Executor executor) {
+        this.container = container;
+        this.executor = executor;
+    }
+
+    /**
+     * Creates the dependency of an injection point in the background
+     * @param point The injection point
+     * @return A future completed with the dependency, or completed exceptionally with the exception thrown by the
+     * container
+     */
+    CompletableFuture<Object> resolve(InjectionPoint point) {
+        try {
+            return resolve(container.resolvePlan(point.getType(), point.getTag()));
+        } catch (ImplementationNotFoundException | ImplementationAmbiguityException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Creates a type in the background, or gets it if it is a singleton already created or being created
+     * @param plan The injection plan of the type
+     * @return A future completed with the instance
+     */
+    CompletableFuture<Object> resolve(InjectionPlan plan) {
+        if (plan.isSingleton()) {
+            return container.getSingletonAsync(plan, this::create);
+        }
+        if (!plan.isPerGraph()) {
+            return create(plan);
+        }
+        var future = new CompletableFuture<Object>();
+        var existing = perGraph.putIfAbsent(plan, future);
+        if (existing != null) {
+            return existing;
+        }
+        create(plan).whenComplete((instance, error) -> {
+            if (error != null) {
+                future.completeExceptionally(error);
+            } else {
+                future.complete(instance);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Creates a type once all its dependencies have been created
+     * @param plan The injection plan of the type
+     * @return A future completed with the new instance
+     */
+    private CompletableFuture<Object> create(InjectionPlan plan) {
+        try {
+            Container.checkInstantiable(plan);
+        } catch (NoDefaultConstructorException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        var points = plan.getPoints();
+        var arguments = new CompletableFuture<?>[points.length];
+        for (int i = 0; i < points.length; i++) {
+            arguments[i] = switch (points[i].getKind()) {
+                case INSTANCE -> resolveInstance(points[i]);
+                case COMPLETION_STAGE -> CompletableFuture.completedFuture(
+                        resolve(points[i]).minimalCompletionStage());
+                default -> CompletableFuture.completedFuture(container.createDeferred(points[i]));
+            };
+        }
+        return CompletableFuture.allOf(arguments).thenApplyAsync(ignored -> {
+            var values = new Object[arguments.length];
+            for (int i = 0; i < arguments.length; i++) {
+                values[i] = arguments[i].join();
+            }
+            return container.createFromArguments(plan, values);
+        }, executor);
+    }
+
+    /**
+     * Creates the instance injected into an injection point, or a proxy if it is a lazy singleton
+     * @param point The injection point
+     * @return A future completed with the instance or the proxy
+     */
+    private CompletableFuture<Object> resolveInstance(InjectionPoint point) {
+        InjectionPlan plan;
+        try {
+            plan = container.resolvePlan(point.getType(), point.getTag());
+        } catch (ImplementationNotFoundException | ImplementationAmbiguityException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        var proxy = container.createLazyProxyIfNotCreated(plan, point);
+        return proxy != null ? CompletableFuture.completedFuture(proxy) : resolve(plan);
+    }
+}
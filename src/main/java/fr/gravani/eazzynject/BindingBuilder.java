@@ -0,0 +1,89 @@
+package fr.gravani.eazzynject;
+
+import fr.gravani.eazzynject.annotations.Tag;
+import fr.gravani.eazzynject.exceptions.ImplementationAmbiguityException;
+
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Binds a base type to an implementation class, to a factory or to an instance, returned by
+ * {@link Container#bind(Class)}. The factories and the instances are stored next to the implementation classes
+ * and are injected like them, but the container never uses reflection to create them.
+ * <pre>
+ *     container.bind(Operator.class).tagged("add").toFactory(c -&gt; new AddOperator());
+ * </pre>
+ * @param <T> The base type
+ */
+public final class BindingBuilder<T> {
+    private final Container container;
+    private final Class<T> base;
+    private String tag;
+    private boolean tagged;
+
+    BindingBuilder(Container container, Class<T> base) {
+        this.container = container;
+        this.base = base;
+    }
+
+    /**
+     * Sets the tag of the binding, used to distinguish between the implementations of the base type
+     * @param tag The tag
+     * @return This builder
+     */
+    public BindingBuilder<T> tagged(String tag) {
+        this.tag = Objects.requireNonNull(tag);
+        this.tagged = true;
+        return this;
+    }
+
+    /**
+     * Binds the base type to an implementation class, created by the container like the annotated types.
+     * Without {@link #tagged(String)}, the {@link Tag} of the class is used.
+     * @param implementation The implementation type
+     * @throws ImplementationAmbiguityException Thrown when the tag is already used for the base type
+     */
+    public void to(Class<? extends T> implementation) throws ImplementationAmbiguityException {
+        if (tagged) {
+            container.registerMapping(implementation, base, tag);
+        } else {
+            container.registerMapping(implementation, base);
+        }
+    }
+
+    /**
+     * Binds the base type to a factory, called each time an instance is needed.
+     * The factory gets the container to resolve the dependencies it needs. These dependencies are not known before the
+     * factory is called: {@link Container#seal()} does not validate them, the warm-up of the singletons does not
+     * create them first, and a cycle closed through the factory is only reported, with a
+     * {@link fr.gravani.eazzynject.exceptions.CyclicDependenciesException}, once the factory asks for its own binding.
+     * @param factory The factory
+     * @throws ImplementationAmbiguityException Thrown when the tag is already used for the base type
+     */
+    public void toFactory(Function<Container, ? extends T> factory) throws ImplementationAmbiguityException {
+        container.registerBinding(base, tag, new BindingFactory<>(container, Objects.requireNonNull(factory)));
+    }
+
+    /**
+     * Binds the base type to a supplier, called each time an instance is needed. Like the dependencies of a
+     * {@link #toFactory(Function) factory}, the types the supplier gets from a container are not known before it is
+     * called.
+     * @param supplier The supplier
+     * @throws ImplementationAmbiguityException Thrown when the tag is already used for the base type
+     */
+    public void toSupplier(Supplier<? extends T> supplier) throws ImplementationAmbiguityException {
+        Objects.requireNonNull(supplier);
+        toFactory(container -> supplier.get());
+    }
+
+    /**
+     * Binds the base type to an instance, injected everywhere the base type is needed
+     * @param instance The instance
+     * @throws ImplementationAmbiguityException Thrown when the tag is already used for the base type
+     */
+    public void toInstance(T instance) throws ImplementationAmbiguityException {
+        Objects.requireNonNull(instance);
+        toFactory(container -> instance);
+    }
+}
@@ -0,0 +1,41 @@
+package fr.gravani.eazzynject;
+
+import java.util.function.Function;
+
+/**
+ * Factory of a binding registered through {@link Container#bind(Class)}. It calls the function given to the
+ * binding, which resolves the dependencies it needs itself, so the binding has no injection point.
+ * @param <T> The base type of the binding
+ */
+final class BindingFactory<T> implements InjectionFactory<T> {
+    private static final Class<?>[] NO_TYPES = new Class<?>[0];
+    private static final String[] NO_TAGS = new String[0];
+
+    private final Container container;
+    private final Function<Container, ? extends T> factory;
+
+    BindingFactory(Container container, Function<Container, ? extends T> factory) {
+        this.container = container;
+        this.factory = factory;
+    }
+
+    @Override
+    public boolean isSingleton() {
+        return false;
+    }
+
+    @Override
+    public Class<?>[] getDependencyTypes() {
+        return NO_TYPES;
+    }
+
+    @Override
+    public String[] getDependencyTags() {
+        return NO_TAGS;
+    }
+
+    @Override
+    public T create(Object[] arguments) {
+        return factory.apply(container);
+    }
+}
@@ -0,0 +1,210 @@
+package fr.gravani.eazzynject;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Finds the calls to the container which take too long, such as a singleton constructor waiting for a remote call
+ * while the other threads wait for the singleton. The threads creating instances only publish the types they are
+ * creating and when they started in a {@link Watch}; a background thread samples the watches and logs the slow calls
+ * with the stack of their thread, once per call and once per slow creation.
+ */
+final class ConstructionWatchdog {
+    private static final System.Logger LOGGER = System.getLogger(ConstructionWatchdog.class.getName());
+
+    /**
+     * Initial capacity of the path of a watch
+     */
+    private static final int INITIAL_PATH_CAPACITY = 8;
+
+    /**
+     * The types being created by one call to the container. Written by the thread of the call, read by the watchdog.
+     */
+    static final class Watch {
+        private final Thread thread;
+
+        private final Class<?> type;
+
+        private final String tag;
+
+        private final long start = System.nanoTime();
+
+        /**
+         * The types being created, from the requested type to the deepest dependency being created
+         */
+        private InjectionPlan[] path = new InjectionPlan[INITIAL_PATH_CAPACITY];
+
+        /**
+         * When the creation of each type of the path started
+         */
+        private long[] starts = new long[INITIAL_PATH_CAPACITY];
+
+        /**
+         * The length of the path, written last so that the watchdog sees the types and the times before it
+         */
+        private volatile int depth;
+
+        /**
+         * Whether the whole call has been reported, only used by the watchdog
+         */
+        private boolean reported;
+
+        /**
+         * The start of the last reported creation, only used by the watchdog
+         */
+        private long reportedStart;
+
+        private Watch(Thread thread, Class<?> type, String tag) {
+            this.thread = thread;
+            this.type = type;
+            this.tag = tag;
+        }
+
+        /**
+         * Publishes the start of the creation of a type, one level below the type being created
+         * @param plan The injection plan of the type
+         */
+        void push(InjectionPlan plan) {
+            int level = depth;
+            if (level == path.length) {
+                path = Arrays.copyOf(path, level * 2);
+                starts = Arrays.copyOf(starts, level * 2);
+            }
+            path[level] = plan;
+            starts[level] = System.nanoTime();
+            depth = level + 1;
+        }
+
+        /**
+         * Publishes the end of the creation of the deepest type being created
+         */
+        void pop() {
+            depth = depth - 1;
+        }
+    }
+
+    private final long thresholdNanos;
+
+    /**
+     * The calls in progress
+     */
+    private final Set<Watch> watches = ConcurrentHashMap.newKeySet();
+
+    private final Thread thread;
+
+    private volatile boolean stopped;
+
+    /**
+     * Starts a watchdog thread
+     * @param threshold The duration after which a call, or the creation of a type, is reported
+     */
+    ConstructionWatchdog(Duration threshold) {
+        thresholdNanos = threshold.toNanos();
+        // Sampling twice per threshold reports a slow call at most one and a half thresholds after its start
+        long periodMillis = Math.max(TimeUnit.NANOSECONDS.toMillis(thresholdNanos / 2), 1);
+        thread = new Thread(() -> sample(periodMillis), "eazzynject-watchdog");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Starts watching a call to the container from the current thread
+     * @param type The requested base type
+     * @param tag The requested tag, can be <code>null</code>
+     * @return The watch of the call, to be given back to {@link #done(Watch)}
+     */
+    Watch watch(Class<?> type, String tag) {
+        var watch = new Watch(Thread.currentThread(), type, tag);
+        watches.add(watch);
+        return watch;
+    }
+
+    /**
+     * Stops watching a call to the container
+     * @param watch The watch of the call
+     */
+    void done(Watch watch) {
+        watches.remove(watch);
+    }
+
+    /**
+     * Stops the watchdog thread
+     */
+    void stop() {
+        stopped = true;
+        thread.interrupt();
+    }
+
+    /**
+     * Samples the calls in progress until the watchdog is stopped
+     * @param periodMillis The time between two samples
+     */
+    private void sample(long periodMillis) {
+        while (!stopped) {
+            try {
+                Thread.sleep(periodMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+            long now = System.nanoTime();
+            for (var watch : watches) {
+                check(watch, now);
+            }
+        }
+    }
+
+    /**
+     * Reports a call if it, or the creation of one of its types, runs for longer than the threshold
+     * @param watch The watch of the call
+     * @param now The time of the sample
+     */
+    private void check(Watch watch, long now) {
+        int depth = watch.depth;
+        var path = watch.path;
+        var starts = watch.starts;
+        // The deepest slow type is the one to blame, the types above it are waiting for it
+        for (int level = Math.min(depth, path.length) - 1; level >= 0; level--) {
+            if (path[level] != null && now - starts[level] > thresholdNanos) {
+                if (starts[level] != watch.reportedStart) {
+                    watch.reportedStart = starts[level];
+                    watch.reported = true;
+                    report(watch, String.format("The creation of %s has been running for %d ms",
+                            path[level].getImplementation().getName(),
+                            TimeUnit.NANOSECONDS.toMillis(now - starts[level])), path, level + 1);
+                }
+                return;
+            }
+        }
+        if (!watch.reported && now - watch.start > thresholdNanos) {
+            watch.reported = true;
+            report(watch, String.format("The resolution of %s%s has been running for %d ms",
+                    watch.type.getName(), watch.tag == null ? "" : " [" + watch.tag + "]",
+                    TimeUnit.NANOSECONDS.toMillis(now - watch.start)), path, Math.min(depth, path.length));
+        }
+    }
+
+    /**
+     * Logs a slow call with its resolution path and the stack of its thread
+     * @param watch The watch of the call
+     * @param message The description of the slow call
+     * @param path The types being created
+     * @param length The number of types of the path to log
+     */
+    private static void report(Watch watch, String message, InjectionPlan[] path, int length) {
+        var types = Arrays.stream(path, 0, length)
+                .filter(plan -> plan != null)
+                .map(plan -> plan.getImplementation().getName())
+                .collect(Collectors.joining(" -> "));
+        var report = new StringBuilder(message)
+                .append(" on thread ").append(watch.thread.getName())
+                .append("\nResolution path: ").append(types.isEmpty() ? watch.type.getName() : types);
+        for (var element : watch.thread.getStackTrace()) {
+            report.append("\n\tat ").append(element);
+        }
+        LOGGER.log(System.Logger.Level.WARNING, report.toString());
+    }
+}
@@ -1,27 +1,83 @@
 package fr.gravani.eazzynject;
 
-import fr.gravani.eazzynject.annotations.Inject;
-import fr.gravani.eazzynject.annotations.Singleton;
+import fr.gravani.eazzynject.annotations.PerGraph;
 import fr.gravani.eazzynject.annotations.Tag;
+import fr.gravani.eazzynject.exceptions.ContainerValidationException;
 import fr.gravani.eazzynject.exceptions.CyclicDependenciesException;
 import fr.gravani.eazzynject.exceptions.ImplementationAmbiguityException;
 import fr.gravani.eazzynject.exceptions.ImplementationNotFoundException;
 import fr.gravani.eazzynject.exceptions.NoDefaultConstructorException;
+import fr.gravani.eazzynject.exceptions.ResolutionDepthExceededException;
+import lombok.Getter;
 
-import java.lang.reflect.*;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
- * The dependency container
+ * The dependency container. It can be used by several threads at the same time:
+ * the dependency cycles are found on a snapshot of the dependency graph and singletons are only created once.
  */
 public class Container {
     /**
-     * Max recursive calls for the instantiate method.
+     * Default maximum depth of a dependency graph in the {@link ResolverMode#ITERATIVE} mode.
      */
-    private static final int MAX_RECURSIVE_INJECTIONS = 32;
+    public static final int DEFAULT_MAX_RESOLUTION_DEPTH = 4096;
+
+    /**
+     * Default number of instances created through reflection before a type is promoted to a method handle
+     * in the {@link InstantiationMode#TIERED} mode.
+     */
+    public static final int DEFAULT_PROMOTION_THRESHOLD = 1000;
+
+    /**
+     * Arguments of the types without dependencies.
+     */
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+
+    /**
+     * Listeners of a container without any listener.
+     */
+    private static final InjectionListener[] NO_LISTENERS = new InjectionListener[0];
+
+    /**
+     * The bindings being created by their factory on each thread. The factories resolve their own dependencies, so
+     * the dependency graph cannot see the cycles they close; a binding created again by its own factory closes one.
+     */
+    private static final ThreadLocal<Set<InjectionPlan>> BINDINGS_IN_PROGRESS = ThreadLocal.withInitial(HashSet::new);
+
+    /**
+     * Carries a cycle closed through a binding out of the resolvers, which only throw unchecked exceptions while
+     * creating instances. The entry points of the container throw the cycle itself.
+     */
+    private static final class BindingCycle extends RuntimeException {
+        @Getter
+        private final CyclicDependenciesException cycle;
+
+        private BindingCycle(CyclicDependenciesException cycle) {
+            super(cycle.getMessage(), cycle, false, false);
+            this.cycle = cycle;
+        }
+    }
 
     /**
      * Mappings to link the implementations with the interfaces.
@@ -31,12 +87,89 @@ public class Container {
     /**
      * Class instances for the singletons.
      */
-    private final Map<Class<?>, Object> instanceCache = new HashMap<>();
+    private final Map<Class<?>, Object> instanceCache = new ConcurrentHashMap<>();
+
+    /**
+     * Injection plans of the implementation types, computed once per class.
+     */
+    private final Map<Class<?>, InjectionPlan> plans = new ConcurrentHashMap<>();
+
+    /**
+     * Snapshot of the dependency graph used to detect the cycles, replaced after each registration.
+     */
+    private volatile DependencyGraph dependencyGraph = new DependencyGraph(this);
+
+    /**
+     * The dispatch table built by {@link #seal()}, <code>null</code> while the container is not sealed.
+     */
+    private volatile DispatchTable dispatchTable;
+
+    /**
+     * How the dependency graphs are walked.
+     */
+    @Getter
+    private volatile ResolverMode resolverMode = ResolverMode.RECURSIVE;
+
+    /**
+     * Maximum depth of a dependency graph in the {@link ResolverMode#ITERATIVE} mode.
+     */
+    @Getter
+    private volatile int maxResolutionDepth = DEFAULT_MAX_RESOLUTION_DEPTH;
+
+    /**
+     * How the instances of the types without a factory generated at compile time are created.
+     */
+    @Getter
+    private volatile InstantiationMode instantiationMode = InstantiationMode.REFLECTION;
+
+    /**
+     * Number of instances created through reflection before a type is promoted to a method handle
+     * in the {@link InstantiationMode#TIERED} mode.
+     */
+    @Getter
+    private volatile int promotionThreshold = DEFAULT_PROMOTION_THRESHOLD;
+
+    /**
+     * The executor creating the dependencies injected as a {@link CompletionStage}.
+     */
+    @Getter
+    private volatile Executor asyncExecutor = ForkJoinPool.commonPool();
+
+    /**
+     * The singletons being created by an asynchronous call, until they are in the instance cache.
+     */
+    private final Map<InjectionPlan, CompletableFuture<Object>> initializingSingletons = new ConcurrentHashMap<>();
+
+    /**
+     * The listeners receiving the events of the container, replaced by a new array when a listener is added or
+     * removed. The events are only measured when the array is not empty.
+     */
+    private volatile InjectionListener[] listeners = NO_LISTENERS;
+
+    /**
+     * Number of containers registered as an MBean, used to name the MBeans.
+     */
+    private static final AtomicInteger MBEAN_IDS = new AtomicInteger();
 
     /**
-     * Count of recursive calls of the instantiate method.
+     * The MBean of the container, <code>null</code> while it is not registered.
      */
-    private final Map<Class<?>, Integer> injectionCounter = new HashMap<>();
+    private ContainerManagement management;
+
+    /**
+     * Total duration of the package scans which registered types into the container.
+     */
+    private final LongAdder scanDurationNanos = new LongAdder();
+
+    /**
+     * The watchdog reporting the slow calls, <code>null</code> while it is not started.
+     */
+    private volatile ConstructionWatchdog watchdog;
+
+    /**
+     * Initial capacity of the work stack of the iterative resolver.
+     */
+    private static final int INITIAL_STACK_CAPACITY = 16;
 
     /**
      * Registers a type into the dependency container.
@@ -47,7 +180,328 @@ public class Container {
     public void registerMapping(Class<?> child, Class<?> base) throws ImplementationAmbiguityException {
         String tag = child.isAnnotationPresent(Tag.class)
                 ? child.getAnnotation(Tag.class).value() : null;
+        registerMapping(child, base, tag);
+    }
+
+    /**
+     * Registers a type into the dependency container with an already known tag.
+     * @param child The implementation type
+     * @param base The base type
+     * @param tag The tag of the implementation, can be <code>null</code>
+     * @throws ImplementationAmbiguityException Thrown when registering a class with a already existing tag
+     * @throws IllegalStateException Thrown when the container is sealed
+     */
+    synchronized void registerMapping(Class<?> child, Class<?> base, String tag)
+            throws ImplementationAmbiguityException {
+        checkNotSealed();
+        var event = new RegistrationEvent();
+        event.begin();
         dependencies.put(base, child, tag);
+        // The new mapping can change the implementations injected into the registered types
+        dependencyGraph = new DependencyGraph(this);
+        if (event.shouldCommit()) {
+            event.implementation = child;
+            event.base = base;
+            event.tag = tag;
+            event.commit();
+        }
+    }
+
+    /**
+     * Starts a programmatic binding of a base type, to an implementation class, to a factory or to an instance.
+     * The factories and the instances are injected like the implementation classes, without reflection.
+     * @param base The base type
+     * @param <T> The base type
+     * @return The builder of the binding
+     */
+    public <T> BindingBuilder<T> bind(Class<T> base) {
+        return new BindingBuilder<>(this, Objects.requireNonNull(base));
+    }
+
+    /**
+     * Registers a binding created by a factory
+     * @param base The base type
+     * @param tag The tag of the binding, can be <code>null</code>
+     * @param factory The factory of the binding
+     * @throws ImplementationAmbiguityException Thrown when the tag is already used for the base type
+     * @throws IllegalStateException Thrown when the container is sealed
+     */
+    synchronized void registerBinding(Class<?> base, String tag, BindingFactory<?> factory)
+            throws ImplementationAmbiguityException {
+        checkNotSealed();
+        var event = new RegistrationEvent();
+        event.begin();
+        dependencies.putProvided(base, tag, InjectionPlan.of(base, factory));
+        dependencyGraph = new DependencyGraph(this);
+        if (event.shouldCommit()) {
+            event.implementation = base;
+            event.base = base;
+            event.tag = tag;
+            event.binding = true;
+            event.commit();
+        }
+    }
+
+    /**
+     * Validates the whole dependency graph and compiles it into an immutable dispatch table, once all the types
+     * have been registered. Every implementation type is checked in parallel: its constructor, the implementations
+     * of its dependencies and the cycles it can reach. All the problems are reported together.
+     * Once sealed, the container resolves the dependencies by array indexing, with the implementations found when it
+     * was sealed, and no type can be registered anymore. The graph is walked with an explicit stack whatever the
+     * resolver mode, since its depth is known when the container is sealed.
+     * The registrations hold the lock of the container, so a registration either ends before the container takes its
+     * snapshot of the registered types, or fails once the container is sealed.
+     * Sealing an already sealed container does nothing.
+     * @throws ContainerValidationException Thrown when some types cannot be created, the container is not sealed
+     */
+    public synchronized void seal() throws ContainerValidationException {
+        if (dispatchTable != null) {
+            return;
+        }
+        var graph = dependencyGraph;
+        var links = dependencies.getLinks();
+        var errors = getImplementations().parallelStream()
+                .flatMap(implementation -> validate(getPlan(implementation), graph).stream())
+                .toList();
+        if (!errors.isEmpty()) {
+            var problems = errors.stream()
+                    .map(e -> " - " + e.getMessage())
+                    .collect(Collectors.joining(System.lineSeparator()));
+            throw new ContainerValidationException(
+                    String.format("Found %d problems in the dependency graph:%n%s", errors.size(), problems), errors);
+        }
+        try {
+            dispatchTable = DispatchTable.of(this, links, instanceCache);
+        } catch (Exception e) {
+            // A type registered during the validation can make a dependency ambiguous
+            throw new ContainerValidationException("The dependency graph changed while the container was sealed",
+                    List.of(e));
+        }
+    }
+
+    /**
+     * Gets the dispatch table compiled by {@link #seal()}
+     * @return The dispatch table, <code>null</code> if the container is not sealed
+     */
+    DispatchTable getDispatchTable() {
+        return dispatchTable;
+    }
+
+    /**
+     * Whether the container has been sealed by {@link #seal()}
+     * @return <code>true</code> if the container is sealed
+     */
+    public boolean isSealed() {
+        return dispatchTable != null;
+    }
+
+    /**
+     * Finds the problems which would prevent an implementation type from being created
+     * @param plan The injection plan of the type
+     * @param graph The snapshot of the dependency graph
+     * @return The exceptions the creation of the type would throw, empty if it can be created
+     */
+    private List<Exception> validate(InjectionPlan plan, DependencyGraph graph) {
+        var errors = new ArrayList<Exception>();
+        try {
+            checkInstantiable(plan);
+        } catch (NoDefaultConstructorException e) {
+            errors.add(e);
+        }
+        for (var point : plan.getPoints()) {
+            if (point.getKind() == InjectionPoint.Kind.LIST || point.getKind() == InjectionPoint.Kind.MAP) {
+                // Empty when the base type has no implementation
+                continue;
+            }
+            try {
+                resolvePlan(point.getType(), point.getTag());
+            } catch (ImplementationNotFoundException | ImplementationAmbiguityException e) {
+                errors.add(e);
+            }
+        }
+        try {
+            checkNoCycle(graph, plan.getImplementation());
+        } catch (CyclicDependenciesException e) {
+            errors.add(e);
+        }
+        return errors;
+    }
+
+    /**
+     * Checks that no type can be registered anymore
+     * @throws IllegalStateException If the container is sealed
+     */
+    private void checkNotSealed() {
+        if (dispatchTable != null) {
+            throw new IllegalStateException("The container is sealed, no type can be registered anymore");
+        }
+    }
+
+    /**
+     * Sets how the dependency graphs are walked. The {@link ResolverMode#ITERATIVE} mode does not use more stack
+     * frames for deeper graphs, which avoids stack overflows on threads with a small stack.
+     * @param resolverMode The resolver mode
+     */
+    public void setResolverMode(ResolverMode resolverMode) {
+        this.resolverMode = Objects.requireNonNull(resolverMode);
+    }
+
+    /**
+     * Sets the maximum depth of a dependency graph in the {@link ResolverMode#ITERATIVE} mode
+     * @param maxResolutionDepth The maximum number of types from an instance to its deepest dependency
+     * @throws IllegalArgumentException If the depth is not positive
+     */
+    public void setMaxResolutionDepth(int maxResolutionDepth) {
+        if (maxResolutionDepth < 1) {
+            throw new IllegalArgumentException("The maximum resolution depth must be positive: " + maxResolutionDepth);
+        }
+        this.maxResolutionDepth = maxResolutionDepth;
+    }
+
+    /**
+     * Sets how the instances of the types without a factory generated at compile time are created.
+     * The mode is applied to the types used for the first time afterwards, so it should be set before the first
+     * instance is created.
+     * @param instantiationMode The instantiation mode
+     */
+    public void setInstantiationMode(InstantiationMode instantiationMode) {
+        this.instantiationMode = Objects.requireNonNull(instantiationMode);
+    }
+
+    /**
+     * Sets the number of instances created through reflection before a type is promoted to a method handle
+     * in the {@link InstantiationMode#TIERED} mode. Like the mode, it is applied to the types used for the first
+     * time afterwards.
+     * @param promotionThreshold The number of instances
+     * @throws IllegalArgumentException If the threshold is not positive
+     */
+    public void setPromotionThreshold(int promotionThreshold) {
+        if (promotionThreshold < 1) {
+            throw new IllegalArgumentException("The promotion threshold must be positive: " + promotionThreshold);
+        }
+        this.promotionThreshold = promotionThreshold;
+    }
+
+    /**
+     * Sets the executor creating the dependencies injected as a {@link CompletionStage}, outside of
+     * {@link #instantiateAsync(Class, String, Executor)} which uses its own executor.
+     * By default, the common fork/join pool is used.
+     * @param asyncExecutor The executor
+     */
+    public void setAsyncExecutor(Executor asyncExecutor) {
+        this.asyncExecutor = Objects.requireNonNull(asyncExecutor);
+    }
+
+    /**
+     * Adds a listener receiving the events of the container, like the creation of the instances.
+     * The asynchronous calls report the instances and singletons they create, but not their resolution.
+     * @param listener The listener
+     * @see InjectionMetrics
+     */
+    public synchronized void addInjectionListener(InjectionListener listener) {
+        Objects.requireNonNull(listener);
+        var added = Arrays.copyOf(listeners, listeners.length + 1);
+        added[listeners.length] = listener;
+        listeners = added;
+    }
+
+    /**
+     * Removes a listener added with {@link #addInjectionListener(InjectionListener)}
+     * @param listener The listener
+     */
+    public synchronized void removeInjectionListener(InjectionListener listener) {
+        var remaining = Arrays.stream(listeners).filter(l -> l != listener).toArray(InjectionListener[]::new);
+        listeners = remaining.length == 0 ? NO_LISTENERS : remaining;
+    }
+
+    /**
+     * Starts a background thread reporting the calls to {@link #instantiate(Class, String)} which run for longer than
+     * a threshold, as well as the creations of a single type, including its dependencies, which do. Each slow call is
+     * logged as a warning through the {@link System.Logger} named
+     * <code>fr.gravani.eazzynject.ConstructionWatchdog</code>, with the types being created and the stack of the
+     * thread. The calls only publish the types they create and when.
+     * @param threshold The duration after which a call or a creation is reported
+     * @throws IllegalArgumentException If the threshold is not positive
+     */
+    public synchronized void startWatchdog(Duration threshold) {
+        if (threshold.isNegative() || threshold.isZero()) {
+            throw new IllegalArgumentException("The watchdog threshold must be positive: " + threshold);
+        }
+        stopWatchdog();
+        watchdog = new ConstructionWatchdog(threshold);
+    }
+
+    /**
+     * Stops the watchdog started by {@link #startWatchdog(Duration)}, if any
+     */
+    public synchronized void stopWatchdog() {
+        if (watchdog != null) {
+            watchdog.stop();
+            watchdog = null;
+        }
+    }
+
+    /**
+     * Registers a {@link ContainerMXBean} exposing the statistics of the container in the platform MBean server,
+     * under the name <code>fr.gravani.eazzynject:type=Container,id=&lt;id&gt;</code>. The statistics of the types are
+     * counted from the registration, by an {@link InjectionMetrics} listener.
+     * @return The name of the MBean, the same one if the MBean is already registered
+     * @throws JMException If the MBean cannot be registered
+     */
+    public synchronized ObjectName registerMBean() throws JMException {
+        if (management != null) {
+            return management.getName();
+        }
+        var name = new ObjectName("fr.gravani.eazzynject:type=Container,id=" + MBEAN_IDS.incrementAndGet());
+        var registered = new ContainerManagement(this, name);
+        ManagementFactory.getPlatformMBeanServer().registerMBean(registered, name);
+        addInjectionListener(registered.getMetrics());
+        management = registered;
+        return name;
+    }
+
+    /**
+     * Unregisters the MBean registered by {@link #registerMBean()}, if any, and stops counting the statistics
+     * @throws JMException If the MBean cannot be unregistered
+     */
+    public synchronized void unregisterMBean() throws JMException {
+        if (management == null) {
+            return;
+        }
+        removeInjectionListener(management.getMetrics());
+        ManagementFactory.getPlatformMBeanServer().unregisterMBean(management.getName());
+        management = null;
+    }
+
+    /**
+     * Counts the registered implementations and bindings
+     * @return The number of implementations and bindings, counted once per base type
+     */
+    int getBindingCount() {
+        return dependencies.getBindingCount();
+    }
+
+    /**
+     * Gets the created singletons
+     * @return A live view of the singletons
+     */
+    Collection<Object> getSingletons() {
+        return instanceCache.values();
+    }
+
+    /**
+     * Records the duration of a package scan which registered types into the container
+     * @param durationNanos The duration, in nanoseconds
+     */
+    void recordScan(long durationNanos) {
+        scanDurationNanos.add(durationNanos);
+    }
+
+    /**
+     * @return The total duration of the package scans which registered types into the container, in nanoseconds
+     */
+    long getScanDurationNanos() {
+        return scanDurationNanos.sum();
     }
 
     /**
@@ -62,6 +516,8 @@ public class Container {
      * @throws ImplementationAmbiguityException Thrown when the container cannot distinguish between two implementation
      * classes
      * @throws CyclicDependenciesException Thrown when the container detects an infinite dependency cycle
+     * @throws ResolutionDepthExceededException Thrown when the dependency graph is deeper than the maximum resolution
+     * depth of the {@link ResolverMode#ITERATIVE} mode
      */
     public <T> T instantiate(Class<T> type)
             throws ImplementationNotFoundException, NoDefaultConstructorException, ImplementationAmbiguityException,
@@ -83,240 +539,846 @@ public class Container {
      * @throws ImplementationAmbiguityException Thrown when the container cannot distinguish between two implementation
      * classes
      * @throws CyclicDependenciesException Thrown when the container detects an infinite dependency cycle
+     * @throws ResolutionDepthExceededException Thrown when the dependency graph is deeper than the maximum resolution
+     * depth of the {@link ResolverMode#ITERATIVE} mode
      */
+    @SuppressWarnings("unchecked")
     public <T> T instantiate(Class<T> type, String tag)
             throws ImplementationNotFoundException, NoDefaultConstructorException, ImplementationAmbiguityException,
             CyclicDependenciesException {
-        injectionCounter.clear();
-        return instantiateByTag(type, tag);
+        var listeners = this.listeners;
+        var event = new ResolutionEvent();
+        event.begin();
+        long start = listeners.length == 0 ? 0 : System.nanoTime();
+        var watchdog = this.watchdog;
+        var watch = watchdog == null ? null : watchdog.watch(type, tag);
+        var scope = new GraphScope(watch);
+        Object instance;
+        try {
+            instance = instantiate(type, tag, scope);
+        } catch (Exception e) {
+            ResolutionFailureEvent.commit(type, tag, e);
+            throw e;
+        } finally {
+            if (watch != null) {
+                watchdog.done(watch);
+            }
+        }
+        if (listeners.length != 0) {
+            long duration = System.nanoTime() - start;
+            for (var listener : listeners) {
+                listener.onResolution(type, tag, duration, scope.getDepth());
+            }
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.type = type;
+            event.tag = tag;
+            event.depth = scope.getDepth();
+            event.singletonHit = scope.getDepth() == 0;
+            event.commit();
+        }
+        return (T)instance;
     }
 
     /**
-     * Recursive method used to create a new instance and inject the dependencies it needs.
-     * @param type The type of the dependency
-     * @param tag The tag used to distinguish between implementations
-     * @param <T> The type of the dependency
-     * @return A new instance with its dependencies
+     * Returns a new instance of an injectable type from the container
+     * @param type Base type of the dependency
+     * @param tag The tag of the needed implementation
+     * @param scope The instances of the {@link PerGraph} types of the graph
+     * @return An instance with its dependencies
+     */
+    private Object instantiate(Class<?> type, String tag, GraphScope scope)
+            throws ImplementationNotFoundException, NoDefaultConstructorException, ImplementationAmbiguityException,
+            CyclicDependenciesException {
+        try {
+            var table = dispatchTable;
+            if (table != null) {
+                int id = table.find(type, tag);
+                if (id != DispatchTable.NO_ID) {
+                    return createSealed(table, id, scope);
+                }
+            }
+            // Also reports the missing or ambiguous implementations of a sealed container
+            return instantiatePlan(resolvePlan(type, tag), scope);
+        } catch (BindingCycle e) {
+            throw e.getCycle();
+        }
+    }
+
+    /**
+     * Creates a new instance of an injectable type in the background
+     * @param type Base type of the dependency
+     * @param executor The executor creating the instance and its dependencies
+     * @param <T> Type of the dependency
+     * @return A future completed with the instance
+     * @see #instantiateAsync(Class, String, Executor)
+     */
+    public <T> CompletableFuture<T> instantiateAsync(Class<T> type, Executor executor) {
+        return instantiateAsync(type, null, executor);
+    }
+
+    /**
+     * Creates a new instance of an injectable type in the background. Each type of the dependency graph is created
+     * by the executor as soon as its own dependencies have been created: the independent dependencies are created in
+     * parallel, and the instance is ready after the longest chain of dependencies instead of the sum of all of them.
+     * A singleton is still created once, even when several calls need it while it is being created.
+     * @param type Base type of the dependency
+     * @param tag The tag of the needed implementation
+     * @param executor The executor creating the instance and its dependencies
+     * @param <T> Type of the dependency
+     * @return A future completed with the instance, or completed exceptionally with the exception that
+     * {@link #instantiate(Class, String)} would have thrown
      */
     @SuppressWarnings("unchecked")
-    private <T> T instantiateByTag(Class<T> type, String tag)
+    public <T> CompletableFuture<T> instantiateAsync(Class<T> type, String tag, Executor executor) {
+        Objects.requireNonNull(executor);
+        CompletableFuture<Object> future;
+        try {
+            var plan = resolvePlan(type, tag);
+            if (!plan.isProvided()) {
+                checkNoCycle(dependencyGraph, plan.getImplementation());
+            }
+            future = new AsyncResolution(this, executor).resolve(plan);
+        } catch (ImplementationNotFoundException | ImplementationAmbiguityException | CyclicDependenciesException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        // The future of a singleton is shared, the caller gets a copy it cannot complete
+        return (CompletableFuture<T>) future.copy();
+    }
+
+    /**
+     * Creates all the registered singletons ahead of their first use, so that the first calls to
+     * {@link #instantiate(Class)} don't pay for their construction.
+     * The singletons are created in the order of their dependencies: a singleton is created once all the singletons
+     * it depends on have been created, and independent singletons are created in parallel by the executor.
+     * Among the singletons ready to be created, the ones starting the longest chains of dependent singletons
+     * are submitted first, so that the warm-up lasts as long as the longest chain.
+     * @param executor The executor creating the singletons
+     * @return A future completed when all the singletons have been created, or completed exceptionally with the
+     * exception thrown by the first singleton which could not be created
+     */
+    public CompletableFuture<Void> warmUpSingletons(Executor executor) {
+        return new SingletonWarmUp(this, executor).start();
+    }
+
+    /**
+     * Gets all the registered implementation types
+     * @return The implementation types
+     */
+    Set<Class<?>> getImplementations() {
+        return dependencies.getImplementations();
+    }
+
+    /**
+     * Returns an instance from its injection plan
+     * @param plan The injection plan of an implementation or of a binding
+     * @return An instance with its dependencies
+     */
+    Object instantiatePlan(InjectionPlan plan)
+            throws ImplementationNotFoundException, NoDefaultConstructorException, ImplementationAmbiguityException,
+            CyclicDependenciesException {
+        try {
+            return instantiatePlan(plan, new GraphScope());
+        } catch (BindingCycle e) {
+            throw e.getCycle();
+        }
+    }
+
+    /**
+     * Returns an instance from its injection plan
+     * @param plan The injection plan of an implementation or of a binding
+     * @param scope The instances of the {@link PerGraph} types of the graph
+     * @return An instance with its dependencies
+     */
+    private Object instantiatePlan(InjectionPlan plan, GraphScope scope)
             throws ImplementationNotFoundException, NoDefaultConstructorException, ImplementationAmbiguityException,
             CyclicDependenciesException {
 
-        // Finding the correct implementation based on the base type and its tag
-        var implementation = getImplementationFromBase(type, tag);
-
-        // Increment the number of injections for this type to detect eventual cyclic dependencies
-        if (injectionCounter.containsKey(implementation)) {
-            injectionCounter.put(implementation, injectionCounter.get(implementation) + 1);
-        } else {
-            injectionCounter.put(implementation, 1);
-        }
-
-        // A cycle has been found
-        if (injectionCounter.get(implementation) > MAX_RECURSIVE_INJECTIONS) {
-            var classesInCycle = injectionCounter
-                    .entrySet()
-                    .stream()
-                    .filter(entry -> entry.getValue() >= MAX_RECURSIVE_INJECTIONS - 1)
-                    .map(entry -> entry.getKey().getName())
-                    .sorted()
-                    .toList();
+        if (plan.isProvided()) {
+            // The factory has no injection point, the cycles it closes are found when it is called
+            scope.enter(plan);
+            var instance = newInstance(plan, NO_ARGUMENTS);
+            scope.exit();
+            return instance;
+        }
+        return instantiateImplementation(plan.getImplementation(), scope);
+    }
+
+    /**
+     * Returns an instance of an implementation type, after checking that its dependency graph has no cycle.
+     * @param implementation The implementation type
+     * @return An instance with its dependencies
+     */
+    Object instantiateImplementation(Class<?> implementation)
+            throws ImplementationNotFoundException, NoDefaultConstructorException, ImplementationAmbiguityException,
+            CyclicDependenciesException {
+        try {
+            return instantiateImplementation(implementation, new GraphScope());
+        } catch (BindingCycle e) {
+            throw e.getCycle();
+        }
+    }
+
+    /**
+     * Returns an instance of an implementation type, after checking that its dependency graph has no cycle.
+     * @param implementation The implementation type
+     * @param scope The instances of the {@link PerGraph} types of the graph
+     * @return An instance with its dependencies
+     */
+    private Object instantiateImplementation(Class<?> implementation, GraphScope scope)
+            throws ImplementationNotFoundException, NoDefaultConstructorException, ImplementationAmbiguityException,
+            CyclicDependenciesException {
+
+        var table = dispatchTable;
+        if (table != null) {
+            int id = table.findImplementation(implementation);
+            if (id != DispatchTable.NO_ID) {
+                return createSealed(table, id, scope);
+            }
+        }
+        // The graph is checked once per call, before any instance is created
+        var graph = dependencyGraph;
+        checkNoCycle(graph, implementation);
+        if (resolverMode == ResolverMode.ITERATIVE) {
+            return createInstanceIteratively(implementation, graph, scope);
+        }
+        return createInstance(getPlan(implementation), scope);
+    }
+
+    /**
+     * Checks that no dependency cycle can be reached from an implementation type
+     * @param graph The snapshot of the dependency graph
+     * @param implementation The implementation type
+     * @throws CyclicDependenciesException If a cycle can be reached
+     */
+    private static void checkNoCycle(DependencyGraph graph, Class<?> implementation)
+            throws CyclicDependenciesException {
+        var cycle = graph.findCycle(implementation);
+        if (!cycle.isEmpty()) {
             throw new CyclicDependenciesException(
                     String.format("Found circular dependencies with classes: %s",
-                            String.join(",", classesInCycle)));
+                            cycle.stream().map(Class::getName).collect(Collectors.joining(" -> "))));
+        }
+    }
+
+    /**
+     * Creates a new instance and the dependencies it needs from the dispatch table of a sealed container.
+     * Like the iterative resolver, the graph is walked with an explicit stack, sized with the depth of the type.
+     * @param table The dispatch table
+     * @param root The id of the type
+     * @param scope The instances of the {@link PerGraph} types of the graph
+     * @return An instance with its dependencies
+     */
+    private Object createSealed(DispatchTable table, int root, GraphScope scope) {
+        var rootInstance = table.getSingleton(root);
+        if (rootInstance != null) {
+            fireSingletonHit(table.getPlan(root));
+            return rootInstance;
+        }
+        scope.enter(table.getPlan(root));
+        if (table.getDependencies(root).length == 0) {
+            var instance = createSealedInstance(table, root, NO_ARGUMENTS, scope);
+            scope.exit();
+            return instance;
         }
 
-        // Caching for singleton types
-        var isSingleton = implementation.isAnnotationPresent(Singleton.class);
-        if (isSingleton && instanceCache.containsKey(implementation)) {
-            return (T)instanceCache.get(implementation);
+        int depth = table.getDepth(root);
+        var ids = new int[depth];
+        var arguments = new Object[depth][];
+        var next = new int[depth];
+        int top = 0;
+        ids[0] = root;
+        arguments[0] = new Object[table.getDependencies(root).length];
+        while (true) {
+            int id = ids[top];
+            var dependencies = table.getDependencies(id);
+            int index = next[top];
+            if (index < dependencies.length) {
+                int dependency = dependencies[index];
+                var point = table.getPlan(id).getPoints()[index];
+                Object argument;
+                if (dependency == DispatchTable.NO_ID) {
+                    argument = createDeferred(point);
+                } else if ((argument = table.getSingleton(dependency)) != null) {
+                    fireSingletonHit(table.getPlan(dependency));
+                } else {
+                    var plan = table.getPlan(dependency);
+                    argument = plan.isPerGraph() ? scope.get(plan) : null;
+                    if (argument == null) {
+                        int dependencyCount = table.getDependencies(dependency).length;
+                        if (canBeProxied(plan, point)) {
+                            argument = createLazyProxy(point);
+                        } else if (dependencyCount == 0) {
+                            scope.enter(plan);
+                            argument = createSealedInstance(table, dependency, NO_ARGUMENTS, scope);
+                            scope.exit();
+                        } else {
+                            scope.enter(plan);
+                            top++;
+                            ids[top] = dependency;
+                            arguments[top] = new Object[dependencyCount];
+                            next[top] = 0;
+                            continue;
+                        }
+                    }
+                }
+                arguments[top][next[top]++] = argument;
+                continue;
+            }
+
+            // All the dependencies are resolved, the instance is given to the type below in the stack
+            var instance = createSealedInstance(table, id, arguments[top], scope);
+            scope.exit();
+            if (top == 0) {
+                return instance;
+            }
+            top--;
+            arguments[top][next[top]++] = instance;
         }
+    }
 
-        var instance = injectIntoClass(implementation);
-        if (isSingleton) {
-            instanceCache.put(implementation, instance);
+    /**
+     * Creates an instance from its resolved dependencies and fills the slot of a singleton
+     * @param table The dispatch table
+     * @param id The id of the type
+     * @param arguments The instances of the dependencies
+     * @param scope The instances of the {@link PerGraph} types of the graph
+     * @return The new instance, or the only instance of a singleton
+     */
+    private Object createSealedInstance(DispatchTable table, int id, Object[] arguments, GraphScope scope) {
+        var plan = table.getPlan(id);
+        if (!plan.isSingleton()) {
+            var instance = newInstance(plan, arguments);
+            if (plan.isPerGraph()) {
+                scope.put(plan, instance);
+            }
+            return instance;
         }
-        return (T)instance;
+        var instance = createSingleton(plan, arguments);
+        if (instance != null) {
+            table.setSingleton(id, instance);
+        }
+        return instance;
     }
 
     /**
-     * Method used to do the actual injection into an implementation type.
-     * Used to the check the order of the injection. If an injectable constructor
-     * exists, then we create the instance using it, while doing the actual injection.
-     * We then inject the needed dependencies into the fields and setters.
-     * @param cls An implementation type
-     * @param <T> The type of the created instance
-     * @return A new instance with its dependencies
+     * Creates a new instance and the dependencies it needs by walking the dependency graph with an explicit stack.
+     * The dependencies of each type are resolved once per snapshot of the graph. Singletons are only created once,
+     * but their dependencies are resolved without holding a lock, so two threads can resolve them at the same time.
+     * @param implementation The implementation type
+     * @param graph The snapshot of the dependency graph
+     * @param scope The instances of the {@link PerGraph} types of the graph
+     * @return An instance with its dependencies
      */
-    private <T> T injectIntoClass(Class<T> cls)
-            throws NoDefaultConstructorException, ImplementationNotFoundException, ImplementationAmbiguityException,
-            CyclicDependenciesException {
+    private Object createInstanceIteratively(Class<?> implementation, DependencyGraph graph, GraphScope scope)
+            throws ImplementationNotFoundException, NoDefaultConstructorException, ImplementationAmbiguityException {
 
-        try {
-            // Constructors that can be used to instantiate the object and fill in its dependencies
-            var injectableConstructors = Arrays.stream(cls.getDeclaredConstructors())
-                    .filter(c -> c.isAnnotationPresent(Inject.class))
-                    .toList();
-
-            T instance = null;
-            if (!injectableConstructors.isEmpty()) {
-                // Create a new instance from an injectable constructor
-                instance = injectIntoConstructor(injectableConstructors.stream().findFirst().get());
+        var rootPlan = checkInstantiable(getPlan(implementation));
+        var rootDependencies = graph.getDependencyPlans(rootPlan);
+        if (rootDependencies.length == 0) {
+            return createLeaf(rootPlan, scope);
+        }
+        var rootInstance = getCreated(rootPlan, scope);
+        if (rootInstance != null) {
+            return rootInstance;
+        }
+        scope.enter(rootPlan);
+
+        int maxDepth = maxResolutionDepth;
+        // Each level of the stack is a type waiting for its dependencies, stored in parallel arrays:
+        // its plan, the plans of its dependencies, the instances of its dependencies resolved so far,
+        // and the index of the next dependency
+        var plans = new InjectionPlan[INITIAL_STACK_CAPACITY];
+        var dependencyPlans = new InjectionPlan[INITIAL_STACK_CAPACITY][];
+        var arguments = new Object[INITIAL_STACK_CAPACITY][];
+        var next = new int[INITIAL_STACK_CAPACITY];
+        int top = 0;
+        plans[0] = rootPlan;
+        dependencyPlans[0] = rootDependencies;
+        arguments[0] = new Object[rootDependencies.length];
+        while (true) {
+            var dependencies = dependencyPlans[top];
+            int index = next[top];
+            if (index < dependencies.length) {
+                // Resolving the next dependency of the type on top of the stack
+                if (dependencies[index] == null) {
+                    arguments[top][next[top]++] = createDeferred(plans[top].getPoints()[index]);
+                    continue;
+                }
+                var plan = checkInstantiable(dependencies[index]);
+                var instance = getCreated(plan, scope);
+                if (instance != null) {
+                    arguments[top][next[top]++] = instance;
+                    continue;
+                }
+                var point = plans[top].getPoints()[index];
+                if (canBeProxied(plan, point)) {
+                    arguments[top][next[top]++] = createLazyProxy(point);
+                    continue;
+                }
+                // The dependency is one level below the type on top of the stack
+                if (top + 2 > maxDepth) {
+                    throw new ResolutionDepthExceededException(
+                            String.format("The dependency graph of %s is deeper than the maximum resolution depth %d",
+                                    implementation.getName(), maxDepth));
+                }
+                var planDependencies = graph.getDependencyPlans(plan);
+                if (planDependencies.length == 0) {
+                    // No need for a level of the stack
+                    arguments[top][next[top]++] = createLeaf(plan, scope);
+                    continue;
+                }
+                scope.enter(plan);
+                if (++top == plans.length) {
+                    plans = Arrays.copyOf(plans, top * 2);
+                    dependencyPlans = Arrays.copyOf(dependencyPlans, top * 2);
+                    arguments = Arrays.copyOf(arguments, top * 2);
+                    next = Arrays.copyOf(next, top * 2);
+                }
+                plans[top] = plan;
+                dependencyPlans[top] = planDependencies;
+                arguments[top] = new Object[planDependencies.length];
+                next[top] = 0;
+                continue;
             }
 
-            if (instance == null) {
-                // If an injectable constructor isn't available
-                // Create an instance from the parameterless constructor
-                // and inject only into the fields and setters
-                instance = injectIntoFieldsAndSetter(cls);
+            // All the dependencies are resolved, the instance is given to the type below in the stack
+            var plan = plans[top];
+            Object instance;
+            if (plan.isSingleton()) {
+                instance = createSingleton(plan, arguments[top]);
             } else {
-                // Continue the injection for the instance's fields and setters
-                injectIntoFieldsAndSetter(cls, instance);
+                instance = newInstance(plan, arguments[top]);
+                if (plan.isPerGraph()) {
+                    scope.put(plan, instance);
+                }
             }
+            scope.exit();
+            if (top == 0) {
+                return instance;
+            }
+            top--;
+            arguments[top][next[top]++] = instance;
+        }
+    }
 
+    /**
+     * Creates a type without dependencies, or gets it if it is an already created singleton
+     * @param plan The injection plan of the type
+     * @param scope The instances of the {@link PerGraph} types of the graph
+     * @return An instance of the type
+     */
+    private Object createLeaf(InjectionPlan plan, GraphScope scope) {
+        if (!plan.isSingleton()) {
+            scope.enter(plan);
+            var instance = newInstance(plan, NO_ARGUMENTS);
+            scope.exit();
+            if (plan.isPerGraph()) {
+                scope.put(plan, instance);
+            }
             return instance;
-        } catch (NoSuchMethodException e) {
+        }
+        var instance = instanceCache.get(plan.getImplementation());
+        if (instance != null) {
+            fireSingletonHit(plan);
+            return instance;
+        }
+        scope.enter(plan);
+        instance = createSingleton(plan, NO_ARGUMENTS);
+        scope.exit();
+        return instance;
+    }
+
+    /**
+     * Gets the instance of a singleton type, or of a {@link PerGraph} type, if it has already been created
+     * @param plan The injection plan of the type
+     * @param scope The instances of the {@link PerGraph} types of the graph
+     * @return The instance, <code>null</code> if the type is not shared or has not been created yet
+     */
+    private Object getCreated(InjectionPlan plan, GraphScope scope) {
+        if (plan.isSingleton()) {
+            var instance = instanceCache.get(plan.getImplementation());
+            if (instance != null) {
+                fireSingletonHit(plan);
+            }
+            return instance;
+        }
+        return plan.isPerGraph() ? scope.get(plan) : null;
+    }
+
+    /**
+     * Creates a singleton with its resolved dependencies, unless another thread created it first
+     * @param plan The injection plan of the singleton type
+     * @param arguments The instances of the dependencies
+     * @return The only instance of the type
+     */
+    private Object createSingleton(InjectionPlan plan, Object[] arguments) {
+        synchronized (plan) {
+            var instance = instanceCache.get(plan.getImplementation());
+            if (instance != null) {
+                // Created by another thread while the dependencies were resolved
+                fireSingletonHit(plan);
+            } else {
+                fireSingletonMiss(plan);
+                instance = newInstance(plan, arguments);
+                if (instance != null) {
+                    instanceCache.put(plan.getImplementation(), instance);
+                }
+            }
+            return instance;
+        }
+    }
+
+    /**
+     * Recursive method used to create a new instance and inject the dependencies it needs.
+     * Singletons are only created once, and {@link PerGraph} types once per graph.
+     * @param plan The injection plan of the implementation type
+     * @param scope The instances of the {@link PerGraph} types of the graph
+     * @return An instance with its dependencies
+     */
+    private Object createInstance(InjectionPlan plan, GraphScope scope)
+            throws ImplementationNotFoundException, NoDefaultConstructorException, ImplementationAmbiguityException {
+
+        if (!plan.isSingleton()) {
+            if (!plan.isPerGraph()) {
+                return injectIntoClass(plan, scope);
+            }
+            var instance = scope.get(plan);
+            if (instance == null) {
+                instance = injectIntoClass(plan, scope);
+                scope.put(plan, instance);
+            }
+            return instance;
+        }
+
+        // Caching for singleton types
+        var implementation = plan.getImplementation();
+        var instance = instanceCache.get(implementation);
+        if (instance != null) {
+            fireSingletonHit(plan);
+            return instance;
+        }
+        // The plan is unique per type, locking on it ensures that the singleton is only created once
+        synchronized (plan) {
+            instance = instanceCache.get(implementation);
+            if (instance != null) {
+                fireSingletonHit(plan);
+                return instance;
+            }
+            fireSingletonMiss(plan);
+            instance = injectIntoClass(plan, scope);
+            if (instance != null) {
+                instanceCache.put(implementation, instance);
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Method used to do the actual injection into an implementation type.
+     * The dependencies described by the injection plan of the type are resolved first,
+     * then the instance is created through its constructor and the fields and setters are filled in.
+     * @param plan The injection plan of an implementation type
+     * @param scope The instances of the {@link PerGraph} types of the graph
+     * @return A new instance with its dependencies
+     */
+    private Object injectIntoClass(InjectionPlan plan, GraphScope scope)
+            throws NoDefaultConstructorException, ImplementationNotFoundException, ImplementationAmbiguityException {
+
+        checkInstantiable(plan);
+        scope.enter(plan);
+        // The scope is discarded with the graph when a dependency cannot be created
+        var instance = newInstance(plan, getParameters(plan.getPoints(), scope));
+        scope.exit();
+        return instance;
+    }
+
+    /**
+     * Checks that an instance of a type can be created
+     * @param plan The injection plan of the type
+     * @return The injection plan
+     * @throws NoDefaultConstructorException If the type has no injectable constructor and no default constructor
+     */
+    static InjectionPlan checkInstantiable(InjectionPlan plan) throws NoDefaultConstructorException {
+        if (!plan.isInstantiable()) {
             throw new NoDefaultConstructorException(
                     String.format("Could not find a default constructor or an " +
-                            "injectable constructor for the injectable class %s", cls.getName()));
+                            "injectable constructor for the injectable class %s", plan.getImplementation().getName()));
+        }
+        return plan;
+    }
+
+    /**
+     * Creates an instance from its resolved dependencies, unless it is an already created singleton
+     * @param plan The injection plan of the type
+     * @param arguments The instances of the dependencies
+     * @return The instance, <code>null</code> if the constructor, a field or a setter cannot be used
+     */
+    Object createFromArguments(InjectionPlan plan, Object[] arguments) {
+        try {
+            return plan.isSingleton() ? createSingleton(plan, arguments) : newInstance(plan, arguments);
+        } catch (BindingCycle e) {
+            throw new CompletionException(e.getCycle());
+        }
+    }
+
+    /**
+     * Gets a singleton in the background: the singleton if it has already been created, the future of the
+     * asynchronous call creating it, or a new future
+     * @param plan The injection plan of the singleton type
+     * @param creator Creates the singleton in the background if no call is creating it
+     * @return A future completed with the only instance of the type
+     */
+    CompletableFuture<Object> getSingletonAsync(InjectionPlan plan,
+                                                Function<InjectionPlan, CompletableFuture<Object>> creator) {
+        var instance = instanceCache.get(plan.getImplementation());
+        if (instance != null) {
+            fireSingletonHit(plan);
+            return CompletableFuture.completedFuture(instance);
+        }
+        var future = new CompletableFuture<Object>();
+        var existing = initializingSingletons.putIfAbsent(plan, future);
+        if (existing != null) {
+            return existing;
+        }
+        creator.apply(plan).whenComplete((created, error) -> {
+            // The singleton is in the instance cache before the future is completed
+            initializingSingletons.remove(plan, future);
+            if (error != null) {
+                future.completeExceptionally(error);
+            } else {
+                future.complete(created);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Creates an instance from its resolved dependencies, measuring its creation for the listeners
+     * @param plan The injection plan of the type
+     * @param arguments The instances of the dependencies
+     * @return The new instance, <code>null</code> if the constructor, a field or a setter cannot be used
+     */
+    private Object newInstance(InjectionPlan plan, Object[] arguments) {
+        var listeners = this.listeners;
+        if (listeners.length == 0) {
+            return plan.isProvided() ? createBinding(plan) : construct(plan, arguments);
+        }
+        long start = System.nanoTime();
+        var instance = plan.isProvided() ? createBinding(plan) : construct(plan, arguments);
+        long duration = System.nanoTime() - start;
+        if (instance != null) {
+            for (var listener : listeners) {
+                listener.onInstantiation(plan.getImplementation(), duration);
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Creates an instance with the factory of a binding, unless the factory is already creating it on this thread
+     * @param plan The injection plan of the binding
+     * @return The new instance, <code>null</code> if the factory fails
+     * @throws BindingCycle If the factory needs its own binding, directly or through other types
+     */
+    private static Object createBinding(InjectionPlan plan) {
+        var inProgress = BINDINGS_IN_PROGRESS.get();
+        if (!inProgress.add(plan)) {
+            throw new BindingCycle(new CyclicDependenciesException(
+                    String.format("Found circular dependencies through the binding of %s",
+                            plan.getImplementation().getName())));
+        }
+        try {
+            return plan.newInstance(NO_ARGUMENTS);
         } catch (ReflectiveOperationException e) {
+            // The factory got the cycle from the container and wrapped it, the caller gets the cycle itself
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (cause instanceof CyclicDependenciesException cycle) {
+                    throw new BindingCycle(cycle);
+                }
+            }
             e.printStackTrace();
             return null;
+        } finally {
+            inProgress.remove(plan);
         }
     }
 
     /**
-     * Method used to inject dependencies into an already existing instance.
-     * @param cls The type of the instance
-     * @param instance The instance
-     * @param <T> The type of the instance
+     * Creates an instance from its resolved dependencies
+     * @param plan The injection plan of the type
+     * @param arguments The instances of the dependencies
+     * @return The new instance, <code>null</code> if the constructor, a field or a setter cannot be used
      */
-    private <T> void injectIntoFieldsAndSetter(Class<T> cls, T instance)
-            throws ImplementationNotFoundException, NoDefaultConstructorException, ImplementationAmbiguityException,
-            ReflectiveOperationException, CyclicDependenciesException {
-
-        injectIntoFields(cls, instance);
-        injectIntoSetters(cls, instance);
+    private static Object construct(InjectionPlan plan, Object[] arguments) {
+        try {
+            return plan.newInstance(arguments);
+        } catch (ReflectiveOperationException e) {
+            e.printStackTrace();
+            return null;
+        }
     }
 
     /**
-     * Dependency injection into an existing instance through its setters (or any method annotated with @Inject)
-     * @param cls The type of the instance
-     * @param instance The instance
-     * @param <T> The type of the instance
+     * Tells the listeners that an already created singleton is used
+     * @param plan The injection plan of the singleton type
      */
-    private <T> void injectIntoSetters(Class<T> cls, T instance)
-            throws ReflectiveOperationException, ImplementationNotFoundException, NoDefaultConstructorException,
-            ImplementationAmbiguityException, CyclicDependenciesException {
+    private void fireSingletonHit(InjectionPlan plan) {
+        for (var listener : listeners) {
+            listener.onSingletonHit(plan.getImplementation());
+        }
+    }
 
-        for(Method method : cls.getDeclaredMethods()) {
-            if (method.isAnnotationPresent(Inject.class)) {
-                method.setAccessible(true);
-                var tag = getTag(method);
-                var parameters = getParameters(method.getParameters(), tag);
-                method.invoke(instance, parameters);
-            }
+    /**
+     * Tells the listeners that a singleton is about to be created
+     * @param plan The injection plan of the singleton type
+     */
+    private void fireSingletonMiss(InjectionPlan plan) {
+        for (var listener : listeners) {
+            listener.onSingletonMiss(plan.getImplementation());
         }
     }
 
     /**
-     * Inject the dependencies into the fields of an instance
-     * @param cls The type of the instance
-     * @param instance The instance
-     * @param <T> The type of the instance
+     * Get the instances needed to fill in the injection points of a plan.
+     * We resolve the dependencies of the created instances.
+     * @param points The injection points of a plan
+     * @param scope The instances of the {@link PerGraph} types of the graph
+     * @return The instances needed to create the instance and invoke its setters
      */
-    private <T> void injectIntoFields(Class<T> cls, T instance)
-            throws IllegalAccessException, ImplementationNotFoundException, NoDefaultConstructorException,
-            ImplementationAmbiguityException, CyclicDependenciesException {
+    private Object[] getParameters(InjectionPoint[] points, GraphScope scope)
+            throws ImplementationNotFoundException, NoDefaultConstructorException, ImplementationAmbiguityException {
 
-        for(Field field : cls.getDeclaredFields()) {
-            if (field.isAnnotationPresent(Inject.class)) {
-                field.setAccessible(true);
-                var tag = getTag(field);
-                field.set(instance, instantiateByTag(field.getType(), tag));
-            }
+        var parametersOutput = new Object[points.length];
+        for (int i = 0; i < points.length; i++) {
+            parametersOutput[i] = points[i].isEager()
+                    ? createDependency(points[i], scope)
+                    : createDeferred(points[i]);
         }
+        return parametersOutput;
     }
 
     /**
-     * Creates a new instance and do the dependency injection through its fields and setters.
-     * Used when the class doesn't have any constructor that can be used to instantiate the class
-     * and do the injection.
-     * @param cls The type of the new instance
-     * @param <T> The type of the new instance
-     * @return A new instance created with the default constructor and its needed dependencies
+     * Creates the instance injected into an injection point, or a proxy if it is a lazy singleton
+     * @param point The injection point
+     * @param scope The instances of the {@link PerGraph} types of the graph
+     * @return The instance or the proxy
      */
-    private <T> T injectIntoFieldsAndSetter(Class<T> cls)
-            throws ReflectiveOperationException, ImplementationNotFoundException, NoDefaultConstructorException,
-            ImplementationAmbiguityException, CyclicDependenciesException {
+    private Object createDependency(InjectionPoint point, GraphScope scope)
+            throws ImplementationNotFoundException, NoDefaultConstructorException, ImplementationAmbiguityException {
 
-        // If an injectable class doesn't have a constructor annotated with @Inject
-        // we suppose that it has a default constructor (without parameters)
-        var instance = cls.getDeclaredConstructor().newInstance();
-        injectIntoFieldsAndSetter(cls, instance);
-        return instance;
+        var plan = resolvePlan(point.getType(), point.getTag());
+        if (canBeProxied(plan, point) && instanceCache.get(plan.getImplementation()) == null) {
+            checkInstantiable(plan);
+            return createLazyProxy(point);
+        }
+        return createInstance(plan, scope);
     }
 
     /**
-     * Get the parameters needed to call a method or a constructor.
-     * We resolve the dependencies of the created instances.
-     * @param parameters The array of the parameters of a method or constructor
-     * @param constructorTag The tag of the constructor, if it applies
-     * @return The instances needed to invoke a method or a constructor
+     * Checks whether a proxy can be injected in place of an implementation
+     * @param plan The injection plan of the implementation
+     * @param point The injection point
+     * @return <code>true</code> if the implementation is a lazy singleton injected as an interface
      */
-    private Object[] getParameters(Parameter[] parameters, String constructorTag)
-            throws ImplementationNotFoundException, NoDefaultConstructorException, ImplementationAmbiguityException,
-            CyclicDependenciesException {
+    private static boolean canBeProxied(InjectionPlan plan, InjectionPoint point) {
+        return plan.isLazyInit() && point.getType().isInterface();
+    }
 
-        var parametersOutput = new ArrayList<>();
-        for(var parameter : parameters) {
-            var type = parameter.getType();
-            var parameterTag = parameter.isAnnotationPresent(Tag.class)
-                    ? parameter.getAnnotation(Tag.class).value() : null;
-            // The constructor tag wins over the parameter tag
-            var appliedTag = constructorTag == null ? parameterTag : constructorTag;
-            parametersOutput.add(instantiateByTag(type, appliedTag));
+    /**
+     * Creates the proxy injected in place of a lazy singleton which has not been created yet
+     * @param plan The injection plan of the implementation
+     * @param point The injection point
+     * @return The proxy, <code>null</code> if the instance of the implementation has to be injected
+     */
+    Object createLazyProxyIfNotCreated(InjectionPlan plan, InjectionPoint point) {
+        if (canBeProxied(plan, point) && instanceCache.get(plan.getImplementation()) == null) {
+            return createLazyProxy(point);
         }
-        return parametersOutput.toArray();
+        return null;
     }
 
     /**
-     * Gets the tag of an accessible object (such as a method or a field)
-     * @param accessibleObject The accessible object
-     * @return The value of the tag if the annotation is present, <code>null</code> otherwise
+     * Creates the proxy injected in place of a lazy singleton, which creates the singleton on its first call
+     * @param point The injection point
+     * @return The proxy of the interface of the injection point
      */
-    private static String getTag(AccessibleObject accessibleObject) {
-        return accessibleObject.isAnnotationPresent(Tag.class)
-                ? accessibleObject.getAnnotation(Tag.class).value() : null;
+    private Object createLazyProxy(InjectionPoint point) {
+        return LazyInitHandler.createProxy(point.getType(),
+                new MemoizingLazy<>(new ContainerProvider<>(this, point.getType(), point.getTag())));
     }
 
     /**
-     * Creates a new instance through an injectable constructor.
-     * @param constructor The constructor used to instantiate the object and the dependency injection
-     * @param <T> The type of the instance
-     * @return A new instance with its needed dependencies
+     * Creates the {@link Provider}, the {@link Lazy} or the collection of all the implementations injected in place
+     * of a dependency, which creates the dependency when it is used, or the {@link CompletionStage} of the dependency
+     * created in the background by the asynchronous executor
+     * @param point The injection point
+     * @return The provider, the lazy dependency, the collection or the completion stage
      */
-    @SuppressWarnings("unchecked")
-    private <T> T injectIntoConstructor(Constructor<?> constructor)
-            throws ReflectiveOperationException, ImplementationNotFoundException, NoDefaultConstructorException,
-            ImplementationAmbiguityException, CyclicDependenciesException {
+    Object createDeferred(InjectionPoint point) {
+        return switch (point.getKind()) {
+            case COMPLETION_STAGE -> new AsyncResolution(this, asyncExecutor).resolve(point).minimalCompletionStage();
+            case LIST -> dependencyGraph.getMultibinding(point.getType()).newList();
+            case MAP -> dependencyGraph.getMultibinding(point.getType()).newMap();
+            case LAZY -> new MemoizingLazy<>(new ContainerProvider<>(this, point.getType(), point.getTag()));
+            default -> new ContainerProvider<>(this, point.getType(), point.getTag());
+        };
+    }
 
-        var tag = getTag(constructor);
-        var parameters = getParameters(constructor.getParameters(), tag);
-        return (T)constructor.newInstance(parameters);
+    /**
+     * Gets the injection plan of an implementation type, building it on first use.
+     * @param cls The implementation type
+     * @return The cached injection plan
+     */
+    InjectionPlan getPlan(Class<?> cls) {
+        return plans.computeIfAbsent(cls, this::createPlan);
     }
 
     /**
-     * Finds the implementation type from an interface or an abstract class.
-     * We can use the tag to distinguish between implementation types.
+     * Builds the injection plan of an implementation type with the current instantiation mode
+     * @param cls The implementation type
+     * @return The injection plan
+     */
+    private InjectionPlan createPlan(Class<?> cls) {
+        var plan = InjectionPlan.of(cls);
+        return switch (instantiationMode) {
+            case REFLECTION -> plan;
+            case HIDDEN_CLASS -> plan.withHiddenFactory();
+            case TIERED -> plan.withPromotionThreshold(promotionThreshold);
+        };
+    }
+
+    /**
+     * Finds the injection plan creating the instances of an interface or an abstract class: the plan of its
+     * implementation type, or the plan calling the factory of its binding.
      * @param baseClass The base abstract type (interface or abstract class)
      * @param tag The tag used to distinguish between implementations.
-     * @return The actual implementation
+     * @return The injection plan
      */
-    private Class<?> getImplementationFromBase(Class<?> baseClass, String tag)
+    InjectionPlan resolvePlan(Class<?> baseClass, String tag)
             throws ImplementationNotFoundException, ImplementationAmbiguityException {
 
-        return dependencies.findImplementationFromBaseClass(baseClass, tag);
+        var implementationsLink = dependencies.getLink(baseClass);
+        var plan = implementationsLink.findProvidedPlan(tag);
+        return plan != null ? plan : getPlan(implementationsLink.findImplementation(tag));
+    }
+
+    /**
+     * Finds all the implementation types of an interface or an abstract class
+     * @param baseClass The base abstract type (interface or abstract class)
+     * @return The implementations mapped with their tag, empty if the base type has not been registered
+     */
+    Map<String, Class<?>> getAllImplementationsFromBase(Class<?> baseClass) {
+        return dependencies.findAllImplementationsFromBaseClass(baseClass);
+    }
+
+    /**
+     * Finds all the bindings of an interface or an abstract class created by a factory or an instance
+     * @param baseClass The base abstract type (interface or abstract class)
+     * @return The injection plans of the bindings mapped with their tag, empty if the base type has not been registered
+     */
+    Map<String, InjectionPlan> getAllProvidedPlansFromBase(Class<?> baseClass) {
+        return dependencies.findAllProvidedPlans(baseClass);
     }
 }
@@ -0,0 +1,56 @@
+package fr.gravani.eazzynject;
+
+import java.util.List;
+
+/**
+ * The management interface of a container, registered with {@link Container#registerMBean()} and readable from
+ * JConsole or any JMX client. The attributes are read from concurrent counters and snapshots, so they can be read
+ * while the container is creating instances, without blocking it.
+ */
+public interface ContainerMXBean {
+    /**
+     * @return The number of registered implementations and bindings, counted once per base type
+     */
+    int getBindingCount();
+
+    /**
+     * @return The number of created singletons
+     */
+    int getSingletonCount();
+
+    /**
+     * @return An estimate of the memory used by the created singletons, in bytes. Only the singleton objects are
+     * counted, without the objects they reference.
+     */
+    long getSingletonSizeEstimate();
+
+    /**
+     * @return The total duration of the package scans which registered types into the container, in nanoseconds
+     */
+    long getScanDurationNanos();
+
+    /**
+     * @return The counters of the types created or requested since the MBean was registered
+     */
+    List<TypeStatistics> getTypeStatistics();
+
+    /**
+     * Finds the types with the longest mean creation time, without their dependencies
+     * @param count The maximum number of types
+     * @return The slowest types, the slowest first
+     */
+    List<TypeStatistics> slowestTypes(int count);
+
+    /**
+     * Creates all the registered singletons in the background, on the common fork/join pool. A failure is logged as a
+     * warning through the {@link System.Logger} named <code>fr.gravani.eazzynject.ContainerManagement</code>.
+     * @see Container#warmUpSingletons(java.util.concurrent.Executor)
+     */
+    void warmUpSingletons();
+
+    /**
+     * Describes the implementation injected into each injection point of each registered type
+     * @return One line per registered type, followed by one line per injection point
+     */
+    String dumpGraph();
+}
@@ -0,0 +1,213 @@
+package fr.gravani.eazzynject;
+
+import lombok.Getter;
+
+import javax.management.ObjectName;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The MBean of a container. The counters of the types are kept by an {@link InjectionMetrics} listener added to the
+ * container while the MBean is registered.
+ */
+final class ContainerManagement implements ContainerMXBean {
+    private static final System.Logger LOGGER = System.getLogger(ContainerManagement.class.getName());
+
+    /**
+     * Size of an object header, with compressed class pointers
+     */
+    private static final int HEADER_SIZE = 12;
+
+    /**
+     * Size of an array header, with compressed class pointers
+     */
+    private static final int ARRAY_HEADER_SIZE = 16;
+
+    /**
+     * Size of a reference, with compressed pointers
+     */
+    private static final int REFERENCE_SIZE = 4;
+
+    /**
+     * Estimated size of the instances of each class, computed once per class
+     */
+    private static final ClassValue<Long> INSTANCE_SIZES = new ClassValue<>() {
+        @Override
+        protected Long computeValue(Class<?> type) {
+            long size = HEADER_SIZE;
+            for (var current = type; current != null; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        size += sizeOf(field.getType());
+                    }
+                }
+            }
+            return align(size);
+        }
+    };
+
+    private final Container container;
+
+    @Getter
+    private final ObjectName name;
+
+    @Getter
+    private final InjectionMetrics metrics = new InjectionMetrics();
+
+    ContainerManagement(Container container, ObjectName name) {
+        this.container = container;
+        this.name = name;
+    }
+
+    @Override
+    public int getBindingCount() {
+        return container.getBindingCount();
+    }
+
+    @Override
+    public int getSingletonCount() {
+        return container.getSingletons().size();
+    }
+
+    @Override
+    public long getSingletonSizeEstimate() {
+        long size = 0;
+        for (var singleton : container.getSingletons()) {
+            size += estimateSize(singleton);
+        }
+        return size;
+    }
+
+    @Override
+    public long getScanDurationNanos() {
+        return container.getScanDurationNanos();
+    }
+
+    @Override
+    public List<TypeStatistics> getTypeStatistics() {
+        return metrics.getAllTypeMetrics().entrySet().stream()
+                .map(entry -> TypeStatistics.of(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparing(TypeStatistics::getType))
+                .toList();
+    }
+
+    @Override
+    public List<TypeStatistics> slowestTypes(int count) {
+        return metrics.getAllTypeMetrics().entrySet().stream()
+                .filter(entry -> entry.getValue().getInstantiations() > 0)
+                .map(entry -> TypeStatistics.of(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingLong(TypeStatistics::getMeanInstantiationNanos).reversed())
+                .limit(Math.max(count, 0))
+                .toList();
+    }
+
+    @Override
+    public void warmUpSingletons() {
+        // The operation returns at once, the failures are only seen in the logs
+        container.warmUpSingletons(ForkJoinPool.commonPool()).whenComplete((ignored, error) -> {
+            if (error != null) {
+                LOGGER.log(System.Logger.Level.WARNING, "The warm-up of the singletons failed", error);
+            }
+        });
+    }
+
+    @Override
+    public String dumpGraph() {
+        var dump = new StringBuilder();
+        var implementations = container.getImplementations().stream()
+                .sorted(Comparator.comparing(Class::getName))
+                .toList();
+        for (var implementation : implementations) {
+            var plan = container.getPlan(implementation);
+            dump.append(implementation.getName());
+            if (plan.isSingleton()) {
+                dump.append(" (singleton)");
+            } else if (plan.isPerGraph()) {
+                dump.append(" (per graph)");
+            }
+            dump.append('\n');
+            for (var point : plan.getPoints()) {
+                dump.append("    ").append(describe(point)).append(" -> ").append(resolve(point)).append('\n');
+            }
+        }
+        return dump.toString();
+    }
+
+    /**
+     * Describes an injection point
+     * @param point The injection point
+     * @return The declared type of the point, with its tag
+     */
+    private static String describe(InjectionPoint point) {
+        var type = point.getType().getName();
+        var description = switch (point.getKind()) {
+            case INSTANCE -> type;
+            case PROVIDER -> "Provider<" + type + ">";
+            case LAZY -> "Lazy<" + type + ">";
+            case LIST -> "List<" + type + ">";
+            case MAP -> "Map<String, " + type + ">";
+            case COMPLETION_STAGE -> "CompletionStage<" + type + ">";
+        };
+        return point.getTag() == null ? description : description + " [" + point.getTag() + "]";
+    }
+
+    /**
+     * Describes the implementation injected into an injection point, from the current registrations
+     * @param point The injection point
+     * @return The implementation, or the problem which prevents its creation
+     */
+    private String resolve(InjectionPoint point) {
+        if (point.getKind() == InjectionPoint.Kind.LIST || point.getKind() == InjectionPoint.Kind.MAP) {
+            return "all the implementations";
+        }
+        try {
+            var plan = container.resolvePlan(point.getType(), point.getTag());
+            return plan.isProvided() ? "binding of " + plan.getImplementation().getName()
+                    : plan.getImplementation().getName();
+        } catch (Exception e) {
+            return e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+    }
+
+    /**
+     * Estimates the size of an object, without the objects it references
+     * @param object The object
+     * @return The estimated size, in bytes
+     */
+    private static long estimateSize(Object object) {
+        var type = object.getClass();
+        if (type.isArray()) {
+            return align(ARRAY_HEADER_SIZE + (long) Array.getLength(object) * sizeOf(type.getComponentType()));
+        }
+        return INSTANCE_SIZES.get(type);
+    }
+
+    /**
+     * Gets the size of a field or of an array element
+     * @param type The type of the field or of the element
+     * @return The size, in bytes
+     */
+    private static int sizeOf(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return REFERENCE_SIZE;
+        }
+        if (type == long.class || type == double.class) {
+            return 8;
+        }
+        if (type == int.class || type == float.class) {
+            return 4;
+        }
+        if (type == short.class || type == char.class) {
+            return 2;
+        }
+        return 1;
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+}
@@ -0,0 +1,30 @@
+package fr.gravani.eazzynject;
+
+import fr.gravani.eazzynject.exceptions.ProvisionException;
+
+/**
+ * The {@link Provider} injected by the container, asking the container for a new instance on each call
+ * @param <T> The base type of the dependency
+ */
+final class ContainerProvider<T> implements Provider<T> {
+    private final Container container;
+    private final Class<T> type;
+    private final String tag;
+
+    ContainerProvider(Container container, Class<T> type, String tag) {
+        this.container = container;
+        this.type = type;
+        this.tag = tag;
+    }
+
+    @Override
+    public T get() {
+        try {
+            return container.instantiate(type, tag);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ProvisionException(String.format("Could not provide an instance of %s", type.getName()), e);
+        }
+    }
+}
@@ -3,37 +3,85 @@ package fr.gravani.eazzynject;
 import fr.gravani.eazzynject.exceptions.ImplementationAmbiguityException;
 import fr.gravani.eazzynject.exceptions.ImplementationNotFoundException;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * List of the types of the dependencies registered into the container
+ * Registry of the types of the dependencies registered into the container, indexed by base type.
+ * Registrations and lookups can be done concurrently.
  */
 public class Dependencies {
     /**
-     * Registered dependencies
+     * Registered dependencies, mapped with their base type
      */
-    private final List<ImplementationsLink> dependencies = new ArrayList<>();
+    private final Map<Class<?>, ImplementationsLink> dependencies = new ConcurrentHashMap<>();
 
     /**
-     * Adds a new type to the list of dependencies
+     * Adds a new type to the registry of dependencies
      * @param base The base abstract type of the dependency (interface or abstract class)
      * @param child The type of the implementation
      * @param tag The tag of the implementation
      * @throws ImplementationAmbiguityException If the tag of implementation already exists
      */
     public void put(Class<?> base, Class<?> child, String tag) throws ImplementationAmbiguityException {
-        boolean found = false;
-        for(ImplementationsLink implementationsLink : dependencies) {
-            if(implementationsLink.getBaseClass().equals(base)) {
-                implementationsLink.addImplementation(tag, child);
-                found = true;
+        var implementationsLink = dependencies.get(base);
+        if(implementationsLink == null) {
+            // Another thread may register the same base type at the same time
+            implementationsLink = dependencies.putIfAbsent(base, new ImplementationsLink(base, tag, child));
+            if(implementationsLink == null) {
+                return;
             }
         }
+        implementationsLink.addImplementation(tag, child);
+    }
+
+    /**
+     * Adds a binding created by a factory or an instance to the registry of dependencies
+     * @param base The base abstract type of the dependency (interface or abstract class)
+     * @param tag The tag of the binding
+     * @param plan The injection plan calling the factory
+     * @throws ImplementationAmbiguityException If the tag of implementation already exists
+     */
+    void putProvided(Class<?> base, String tag, InjectionPlan plan) throws ImplementationAmbiguityException {
+        var implementationsLink = dependencies.get(base);
+        if(implementationsLink == null) {
+            // The link is only published once it holds the binding
+            var newLink = new ImplementationsLink(base);
+            newLink.addProvidedPlan(tag, plan);
+            implementationsLink = dependencies.putIfAbsent(base, newLink);
+            if(implementationsLink == null) {
+                return;
+            }
+        }
+        implementationsLink.addProvidedPlan(tag, plan);
+    }
 
-        if(!found) {
-            dependencies.add(new ImplementationsLink(base, tag, child));
+    /**
+     * Gets the link between an abstract type and its implementations
+     * @param baseClass The base type
+     * @return The link of the base type
+     * @throws ImplementationNotFoundException Thrown if the base type has not been registered
+     */
+    ImplementationsLink getLink(Class<?> baseClass) throws ImplementationNotFoundException {
+        var implementationsLink = dependencies.get(baseClass);
+        if(implementationsLink == null) {
+            throw new ImplementationNotFoundException(
+                    String.format("Could not find any implementation for base type %s", baseClass.getName()));
         }
+        return implementationsLink;
+    }
+
+    /**
+     * Finds all the bindings of an abstract type created by a factory or an instance
+     * @param baseClass The base type
+     * @return The injection plans of the bindings mapped with their tag, empty if the base type has not been registered
+     */
+    Map<String, InjectionPlan> findAllProvidedPlans(Class<?> baseClass) {
+        var implementationsLink = dependencies.get(baseClass);
+        return implementationsLink == null ? Map.of() : implementationsLink.getProvidedPlans();
     }
 
     /**
@@ -47,38 +95,49 @@ public class Dependencies {
     public Class<?> findImplementationFromBaseClass(Class<?> baseClass, String tag)
             throws ImplementationNotFoundException, ImplementationAmbiguityException {
 
-        for(ImplementationsLink implementationsLink : dependencies) {
-            if(implementationsLink.getBaseClass().equals(baseClass)) {
-                if(tag == null) {
-                    if(implementationsLink.getImplementations().size() == 1) {
-                        return implementationsLink
-                                .getImplementations()
-                                .entrySet()
-                                .iterator()
-                                .next()
-                                .getValue();
-                    } else {
-                        // We cannot chose between the implementations
-                        throw new ImplementationAmbiguityException(
-                                String.format("Found %s conflicting tags for type %s",
-                                        implementationsLink.getImplementations().size(), baseClass.getName()));
-                    }
-                } else {
-                    if(implementationsLink.getImplementations().containsKey(tag)) {
-                        return implementationsLink.getImplementations().get(tag);
-                    }
-                    // There's a tag but no implementation uses it
-                    else {
-                        throw new ImplementationNotFoundException(
-                                String.format(
-                                        "Tag not found even though found %d different implementations for base type %s",
-                                        implementationsLink.getImplementations().size(), baseClass.getName()));
-                    }
-                }
+        return getLink(baseClass).findImplementation(tag);
+    }
 
-            }
+    /**
+     * Finds all the implementations of an abstract type
+     * @param baseClass The base type
+     * @return The implementations mapped with their tag, the untagged implementation with the <code>null</code> tag.
+     * The map is empty if the base type has not been registered.
+     */
+    public Map<String, Class<?>> findAllImplementationsFromBaseClass(Class<?> baseClass) {
+        var implementationsLink = dependencies.get(baseClass);
+        return implementationsLink == null ? Map.of() : implementationsLink.getImplementations();
+    }
+
+    /**
+     * Gets the links between the registered base types and their implementations
+     * @return The links, one per base type
+     */
+    Collection<ImplementationsLink> getLinks() {
+        return dependencies.values();
+    }
+
+    /**
+     * Counts the registered implementations and bindings
+     * @return The number of implementations and bindings, counted once per base type
+     */
+    int getBindingCount() {
+        int count = 0;
+        for (var implementationsLink : dependencies.values()) {
+            count += implementationsLink.getImplementations().size() + implementationsLink.getProvidedPlans().size();
+        }
+        return count;
+    }
+
+    /**
+     * Gets all the registered implementation types
+     * @return The implementation types, each one listed once even if it has several base types
+     */
+    public Set<Class<?>> getImplementations() {
+        Set<Class<?>> implementations = new LinkedHashSet<>();
+        for (var implementationsLink : dependencies.values()) {
+            implementations.addAll(implementationsLink.getImplementations().values());
         }
-        throw new ImplementationNotFoundException(
-                String.format("Could not find any implementation for base type %s", baseClass.getName()));
+        return implementations;
     }
 }
@@ -0,0 +1,271 @@
+package fr.gravani.eazzynject;
+
+import fr.gravani.eazzynject.exceptions.ImplementationAmbiguityException;
+import fr.gravani.eazzynject.exceptions.ImplementationNotFoundException;
+
+import java.util.*;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Snapshot of the dependency graph of the registered types, used to find the dependency cycles before creating
+ * any instance. The graph is analyzed lazily with Tarjan's strongly connected components algorithm, starting from
+ * the requested implementations, and each implementation is analyzed once. A new snapshot is used after each
+ * registration, so the snapshot also keeps the resolved dependencies of the implementations.
+ */
+final class DependencyGraph {
+    /**
+     * Dependencies of the types without injection points
+     */
+    private static final InjectionPlan[] NO_PLANS = new InjectionPlan[0];
+
+    /**
+     * A node of the depth-first search, with the position in its list of dependencies
+     */
+    private static final class Frame {
+        private final Class<?> implementation;
+        private final List<Class<?>> dependencies;
+        private int next;
+
+        private Frame(Class<?> implementation, List<Class<?>> dependencies) {
+            this.implementation = implementation;
+            this.dependencies = dependencies;
+        }
+    }
+
+    private final Container container;
+
+    /**
+     * A cycle reachable from each analyzed implementation, starting and ending with the same type.
+     * The list is empty when no cycle can be reached.
+     */
+    private final Map<Class<?>, List<Class<?>>> cycles = new ConcurrentHashMap<>();
+
+    /**
+     * The injection plans of the implementations injected into each implementation, in the order of its
+     * injection points
+     */
+    private final Map<Class<?>, InjectionPlan[]> dependencyPlans = new ConcurrentHashMap<>();
+
+    /**
+     * All the implementations of the base types injected as collections
+     */
+    private final Map<Class<?>, Multibinding> multibindings = new ConcurrentHashMap<>();
+
+    DependencyGraph(Container container) {
+        this.container = container;
+    }
+
+    /**
+     * Finds a dependency cycle among the types needed to create an implementation
+     * @param implementation The implementation type
+     * @return The types of a cycle, the first one being repeated at the end, or an empty list if there is no cycle
+     */
+    List<Class<?>> findCycle(Class<?> implementation) {
+        var cycle = cycles.get(implementation);
+        if (cycle == null) {
+            synchronized (this) {
+                cycle = cycles.get(implementation);
+                if (cycle == null) {
+                    analyze(implementation);
+                    cycle = cycles.get(implementation);
+                }
+            }
+        }
+        return cycle;
+    }
+
+    /**
+     * Gets the injection plans of the implementations injected into a type, resolved once per snapshot
+     * @param plan The injection plan of the type
+     * @return The plans of its dependencies, in the order of its injection points, <code>null</code> for the
+     * dependencies created when they are used
+     * @throws ImplementationNotFoundException If a dependency has no implementation
+     * @throws ImplementationAmbiguityException If a dependency has several implementations
+     */
+    InjectionPlan[] getDependencyPlans(InjectionPlan plan)
+            throws ImplementationNotFoundException, ImplementationAmbiguityException {
+
+        var points = plan.getPoints();
+        if (points.length == 0) {
+            // Also the case of the bindings, which are not keyed by an implementation type
+            return NO_PLANS;
+        }
+        var resolved = dependencyPlans.get(plan.getImplementation());
+        if (resolved == null) {
+            resolved = new InjectionPlan[points.length];
+            for (int i = 0; i < points.length; i++) {
+                if (!points[i].isEager()) {
+                    continue;
+                }
+                resolved[i] = container.resolvePlan(points[i].getType(), points[i].getTag());
+            }
+            dependencyPlans.put(plan.getImplementation(), resolved);
+        }
+        return resolved;
+    }
+
+    /**
+     * Gets all the implementations of a base type, resolved once per snapshot
+     * @param baseClass The base type
+     * @return The implementations of the base type
+     */
+    Multibinding getMultibinding(Class<?> baseClass) {
+        return multibindings.computeIfAbsent(baseClass, type -> new Multibinding(container, type));
+    }
+
+    /**
+     * Finds the strongly connected components reachable from an implementation with an iterative version of
+     * Tarjan's algorithm. The components are found dependencies first, so the cycles reachable from the
+     * dependencies of a component are known when the component is found.
+     * @param root The implementation type
+     */
+    private void analyze(Class<?> root) {
+        Map<Class<?>, Integer> indexes = new HashMap<>();
+        Map<Class<?>, Integer> lowLinks = new HashMap<>();
+        Map<Class<?>, List<Class<?>>> allDependencies = new HashMap<>();
+        Deque<Class<?>> componentStack = new ArrayDeque<>();
+        Set<Class<?>> onComponentStack = new HashSet<>();
+        Deque<Frame> callStack = new ArrayDeque<>();
+
+        callStack.push(visit(root, indexes, lowLinks, allDependencies, componentStack, onComponentStack));
+        while (!callStack.isEmpty()) {
+            var frame = callStack.peek();
+            if (frame.next < frame.dependencies.size()) {
+                var dependency = frame.dependencies.get(frame.next++);
+                if (cycles.containsKey(dependency)) {
+                    // Analyzed by a previous call, in a component which is already complete
+                    continue;
+                }
+                if (!indexes.containsKey(dependency)) {
+                    callStack.push(visit(dependency, indexes, lowLinks, allDependencies,
+                            componentStack, onComponentStack));
+                } else if (onComponentStack.contains(dependency)) {
+                    lowLinks.merge(frame.implementation, indexes.get(dependency), Math::min);
+                }
+                continue;
+            }
+
+            callStack.pop();
+            var implementation = frame.implementation;
+            if (!callStack.isEmpty()) {
+                lowLinks.merge(callStack.peek().implementation, lowLinks.get(implementation), Math::min);
+            }
+            if (lowLinks.get(implementation).equals(indexes.get(implementation))) {
+                var component = new HashSet<Class<?>>();
+                Class<?> member;
+                do {
+                    member = componentStack.pop();
+                    onComponentStack.remove(member);
+                    component.add(member);
+                } while (member != implementation);
+                completeComponent(implementation, component, allDependencies);
+            }
+        }
+    }
+
+    /**
+     * Starts the visit of an implementation in the depth-first search
+     * @return The frame of the implementation
+     */
+    private Frame visit(Class<?> implementation, Map<Class<?>, Integer> indexes, Map<Class<?>, Integer> lowLinks,
+                        Map<Class<?>, List<Class<?>>> allDependencies, Deque<Class<?>> componentStack,
+                        Set<Class<?>> onComponentStack) {
+        int index = indexes.size();
+        indexes.put(implementation, index);
+        lowLinks.put(implementation, index);
+        componentStack.push(implementation);
+        onComponentStack.add(implementation);
+        var dependencies = findDependencies(implementation);
+        allDependencies.put(implementation, dependencies);
+        return new Frame(implementation, dependencies);
+    }
+
+    /**
+     * Records the cycle reachable from each type of a complete strongly connected component
+     * @param root The first type of the component found by the search
+     * @param component The types of the component
+     * @param allDependencies The dependencies of the visited types
+     */
+    private void completeComponent(Class<?> root, Set<Class<?>> component,
+                                   Map<Class<?>, List<Class<?>>> allDependencies) {
+        List<Class<?>> cycle = List.of();
+        if (component.size() > 1 || allDependencies.get(root).contains(root)) {
+            cycle = findCyclePath(root, component, allDependencies);
+        } else {
+            // A type outside of any cycle can still depend on a cycle
+            for (var dependency : allDependencies.get(root)) {
+                var dependencyCycle = cycles.get(dependency);
+                if (dependencyCycle != null && !dependencyCycle.isEmpty()) {
+                    cycle = dependencyCycle;
+                    break;
+                }
+            }
+        }
+        for (var member : component) {
+            cycles.put(member, cycle);
+        }
+    }
+
+    /**
+     * Finds the shortest path from a type back to itself inside its strongly connected component
+     * @param root The type
+     * @param component The types of the component
+     * @param allDependencies The dependencies of the visited types
+     * @return The types of the path, the first one being repeated at the end
+     */
+    private static List<Class<?>> findCyclePath(Class<?> root, Set<Class<?>> component,
+                                                Map<Class<?>, List<Class<?>>> allDependencies) {
+        Map<Class<?>, Class<?>> previous = new HashMap<>();
+        Deque<Class<?>> pending = new ArrayDeque<>();
+        pending.add(root);
+        while (!pending.isEmpty()) {
+            var implementation = pending.poll();
+            for (var dependency : allDependencies.get(implementation)) {
+                if (!component.contains(dependency) || previous.containsKey(dependency)) {
+                    continue;
+                }
+                previous.put(dependency, implementation);
+                if (dependency == root) {
+                    var path = new ArrayList<Class<?>>();
+                    path.add(root);
+                    for (var step = implementation; step != root; step = previous.get(step)) {
+                        path.add(step);
+                    }
+                    path.add(root);
+                    Collections.reverse(path);
+                    return path;
+                }
+                pending.add(dependency);
+            }
+        }
+        return List.of(root, root);
+    }
+
+    /**
+     * Finds the implementations injected into an implementation. The dependencies injected through a
+     * {@link Provider} or a {@link Lazy} are not created with the implementation, so they cannot close a cycle.
+     * The dependencies injected through a {@link CompletionStage} are created as soon as the implementation is, in the
+     * background, so they are part of the graph like the instances.
+     * The bindings created by a factory resolve their own dependencies, they are not part of the graph.
+     * @param implementation The implementation type
+     * @return The implementations of its injection points which can be resolved
+     */
+    private List<Class<?>> findDependencies(Class<?> implementation) {
+        var dependencies = new LinkedHashSet<Class<?>>();
+        for (var point : container.getPlan(implementation).getPoints()) {
+            if (!point.isEager() && point.getKind() != InjectionPoint.Kind.COMPLETION_STAGE) {
+                continue;
+            }
+            try {
+                var plan = container.resolvePlan(point.getType(), point.getTag());
+                if (!plan.isProvided()) {
+                    dependencies.add(plan.getImplementation());
+                }
+            } catch (Exception e) {
+                // The creation of the instance will report the missing or ambiguous implementation
+            }
+        }
+        return new ArrayList<>(dependencies);
+    }
+}
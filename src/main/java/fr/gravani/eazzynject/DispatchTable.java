@@ -0,0 +1,243 @@
+package fr.gravani.eazzynject;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Immutable dispatch table of a sealed container. Every implementation type and every binding gets a dense id,
+ * and the dependencies of each id are resolved to the ids of their implementations once, when the container is
+ * sealed. Below the requested type, the dependency graph is walked by array indexing only: no hash lookup and no
+ * lock, except for the first creation of a singleton.
+ */
+final class DispatchTable {
+    /**
+     * Id of the dependencies created when they are used, and of the base types which cannot be resolved
+     */
+    static final int NO_ID = -1;
+
+    /**
+     * The implementations of a base type
+     */
+    private static final class BaseEntry {
+        /**
+         * The id used without a tag, {@link #NO_ID} if there are zero or several implementations
+         */
+        private final int untagged;
+
+        /**
+         * The ids of the tagged implementations
+         */
+        private final Map<String, Integer> tagged;
+
+        private BaseEntry(int untagged, Map<String, Integer> tagged) {
+            this.untagged = untagged;
+            this.tagged = tagged;
+        }
+    }
+
+    /**
+     * The injection plans, indexed by id
+     */
+    private final InjectionPlan[] plans;
+
+    /**
+     * The ids of the dependencies of each id, in the order of its injection points.
+     * {@link #NO_ID} for the dependencies created when they are used.
+     */
+    private final int[][] dependencies;
+
+    /**
+     * The number of types from each id to its deepest dependency, the id included
+     */
+    private final int[] depths;
+
+    /**
+     * The created singletons, indexed by id
+     */
+    private final AtomicReferenceArray<Object> singletons;
+
+    /**
+     * The ids of the implementation types
+     */
+    private final Map<Class<?>, Integer> implementationIds;
+
+    /**
+     * The implementations of each base type
+     */
+    private final Map<Class<?>, BaseEntry> bases;
+
+    private DispatchTable(InjectionPlan[] plans, int[][] dependencies, int[] depths,
+                          Map<Class<?>, Integer> implementationIds, Map<Class<?>, BaseEntry> bases) {
+        this.plans = plans;
+        this.dependencies = dependencies;
+        this.depths = depths;
+        this.singletons = new AtomicReferenceArray<>(plans.length);
+        this.implementationIds = implementationIds;
+        this.bases = bases;
+    }
+
+    /**
+     * Builds the dispatch table of a container whose dependency graph has been validated
+     * @param container The container
+     * @param links The links between the base types and their implementations
+     * @param createdSingletons The singletons created before the container was sealed
+     * @return The dispatch table
+     * @throws Exception If a dependency cannot be resolved, which the validation should have reported
+     */
+    static DispatchTable of(Container container, Collection<ImplementationsLink> links,
+                            Map<Class<?>, Object> createdSingletons) throws Exception {
+        Map<InjectionPlan, Integer> ids = new IdentityHashMap<>();
+        List<InjectionPlan> plans = new ArrayList<>();
+        Map<Class<?>, Integer> implementationIds = new HashMap<>();
+        for (var link : links) {
+            for (var implementation : link.getImplementations().values()) {
+                var plan = container.getPlan(implementation);
+                if (ids.putIfAbsent(plan, plans.size()) == null) {
+                    implementationIds.put(implementation, plans.size());
+                    plans.add(plan);
+                }
+            }
+            for (var plan : link.getProvidedPlans().values()) {
+                ids.put(plan, plans.size());
+                plans.add(plan);
+            }
+        }
+
+        Map<Class<?>, BaseEntry> bases = new HashMap<>();
+        for (var link : links) {
+            var base = link.getBaseClass();
+            Map<String, Integer> tagged = new HashMap<>();
+            link.getImplementations().forEach((tag, implementation) -> {
+                if (tag != null) {
+                    tagged.put(tag, implementationIds.get(implementation));
+                }
+            });
+            link.getProvidedPlans().forEach((tag, plan) -> {
+                if (tag != null) {
+                    tagged.put(tag, ids.get(plan));
+                }
+            });
+            int untagged = NO_ID;
+            if (link.getImplementations().size() + link.getProvidedPlans().size() == 1) {
+                untagged = ids.get(container.resolvePlan(base, null));
+            }
+            bases.put(base, new BaseEntry(untagged, tagged));
+        }
+
+        var dependencies = new int[plans.size()][];
+        for (int id = 0; id < dependencies.length; id++) {
+            var points = plans.get(id).getPoints();
+            dependencies[id] = new int[points.length];
+            for (int i = 0; i < points.length; i++) {
+                dependencies[id][i] = points[i].isEager()
+                        ? ids.get(container.resolvePlan(points[i].getType(), points[i].getTag()))
+                        : NO_ID;
+            }
+        }
+
+        var table = new DispatchTable(plans.toArray(new InjectionPlan[0]), dependencies,
+                computeDepths(dependencies), implementationIds, bases);
+        implementationIds.forEach((implementation, id) -> {
+            var singleton = createdSingletons.get(implementation);
+            if (singleton != null) {
+                table.setSingleton(id, singleton);
+            }
+        });
+        return table;
+    }
+
+    /**
+     * Computes the depth of each id with an iterative depth-first search, the graph having no cycle
+     * @param dependencies The ids of the dependencies of each id
+     * @return The depths, indexed by id
+     */
+    private static int[] computeDepths(int[][] dependencies) {
+        var depths = new int[dependencies.length];
+        var stack = new ArrayDeque<Integer>();
+        for (int root = 0; root < dependencies.length; root++) {
+            if (depths[root] != 0) {
+                continue;
+            }
+            stack.push(root);
+            while (!stack.isEmpty()) {
+                int id = stack.peek();
+                if (depths[id] != 0) {
+                    // Pushed again by another type before its depth was known
+                    stack.pop();
+                    continue;
+                }
+                int depth = 1;
+                boolean ready = true;
+                for (int dependency : dependencies[id]) {
+                    if (dependency == NO_ID) {
+                        continue;
+                    }
+                    if (depths[dependency] == 0) {
+                        stack.push(dependency);
+                        ready = false;
+                    } else {
+                        depth = Math.max(depth, depths[dependency] + 1);
+                    }
+                }
+                if (ready) {
+                    depths[id] = depth;
+                    stack.pop();
+                }
+            }
+        }
+        return depths;
+    }
+
+    /**
+     * Finds the id creating the instances of a base type
+     * @param base The base type
+     * @param tag The tag used to distinguish between implementations, can be <code>null</code>
+     * @return The id, {@link #NO_ID} if the base type cannot be resolved
+     */
+    int find(Class<?> base, String tag) {
+        var entry = bases.get(base);
+        if (entry == null) {
+            return NO_ID;
+        }
+        if (tag == null) {
+            return entry.untagged;
+        }
+        var id = entry.tagged.get(tag);
+        return id == null ? NO_ID : id;
+    }
+
+    /**
+     * Finds the id of an implementation type
+     * @param implementation The implementation type
+     * @return The id, {@link #NO_ID} if the type has not been registered
+     */
+    int findImplementation(Class<?> implementation) {
+        var id = implementationIds.get(implementation);
+        return id == null ? NO_ID : id;
+    }
+
+    InjectionPlan getPlan(int id) {
+        return plans[id];
+    }
+
+    int[] getDependencies(int id) {
+        return dependencies[id];
+    }
+
+    int getDepth(int id) {
+        return depths[id];
+    }
+
+    /**
+     * Gets a singleton if it has already been created
+     * @param id The id of the type
+     * @return The singleton, <code>null</code> if the type is not a singleton or has not been created yet
+     */
+    Object getSingleton(int id) {
+        return singletons.get(id);
+    }
+
+    void setSingleton(int id, Object singleton) {
+        singletons.set(id, singleton);
+    }
+}
@@ -1,15 +1,17 @@
 package fr.gravani.eazzynject;
 
-import fr.gravani.eazzynject.annotations.Injectable;
 import fr.gravani.eazzynject.exceptions.*;
+import fr.gravani.eazzynject.scanner.ClassPathScanner;
+import fr.gravani.eazzynject.scanner.InjectableIndex;
 
-import java.io.File;
+import javax.management.JMException;
+import javax.management.ObjectName;
 import java.io.IOException;
-import java.lang.reflect.Modifier;
-import java.net.URL;
-import java.util.ArrayList;
-import java.util.Enumeration;
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * The main class of the library, contains the package scanning methods and the injection container
@@ -30,16 +32,110 @@ public class Eazzynject {
      */
     public static void initContainer(String packageName)
             throws IOException, ClassNotFoundException, ImplementationAmbiguityException {
-        List<Class<?>> allClassesInPackage = getClasses(packageName);
-        var injectableClasses =  allClassesInPackage
-                .stream()
-                .filter(c -> c.isAnnotationPresent(Injectable.class)
-                        && !c.isInterface() && !Modifier.isAbstract(c.getModifiers()))
-                .toList();
-
-        for(var injectableClass : injectableClasses) {
-            CONTAINER.registerMapping(injectableClass, injectableClass);
-            registerSuperclassesInterfaces(injectableClass, injectableClass);
+        initContainer(CONTAINER, packageName);
+    }
+
+    /**
+     * Initializes the container from the types of a given package, in the background
+     * @param packageName The name of the package
+     * @return A future completed when all the types are registered
+     * @see #initContainerAsync(Container, String)
+     */
+    public static CompletableFuture<Void> initContainerAsync(String packageName) {
+        return initContainerAsync(CONTAINER, packageName);
+    }
+
+    /**
+     * Initializes a given container from the types of a given package
+     * @param container The container in which the types are registered
+     * @param packageName The name of the package
+     * @throws IOException If an I/O error occurs while reading the package
+     * @throws ClassNotFoundException If we cannot find a given class
+     * @throws ImplementationAmbiguityException If two or injectable types use the same tag
+     */
+    public static void initContainer(Container container, String packageName)
+            throws IOException, ClassNotFoundException, ImplementationAmbiguityException {
+        initContainer(container, packageName, getClassLoader(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Initializes a given container from the types of a given package, in the background.
+     * The scan and the registrations are run by the common fork/join pool,
+     * the caller can do other work until the returned future completes.
+     * @param container The container in which the types are registered
+     * @param packageName The name of the package
+     * @return A future completed when all the types are registered, or completed exceptionally with the exception
+     * that {@link #initContainer(Container, String)} would have thrown
+     */
+    public static CompletableFuture<Void> initContainerAsync(Container container, String packageName) {
+        // The class loader of the caller, the threads of the pool don't have the same context class loader
+        ClassLoader classLoader = getClassLoader();
+        var pool = ForkJoinPool.commonPool();
+        var future = new CompletableFuture<Void>();
+        pool.execute(() -> {
+            try {
+                initContainer(container, packageName, classLoader, pool);
+                future.complete(null);
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Initializes a given container from the types of a given package.
+     * The injectable types are registered by the threads of the pool as soon as the scan finds them.
+     * @param container The container in which the types are registered
+     * @param packageName The name of the package
+     * @param classLoader The class loader used to find and load the types
+     * @param pool The pool running the scan
+     * @throws IOException If an I/O error occurs while reading the package
+     * @throws ClassNotFoundException If we cannot find a given class
+     * @throws ImplementationAmbiguityException If two or injectable types use the same tag
+     */
+    private static void initContainer(Container container, String packageName, ClassLoader classLoader,
+                                      ForkJoinPool pool)
+            throws IOException, ClassNotFoundException, ImplementationAmbiguityException {
+        var event = new ScanEvent();
+        event.begin();
+        long start = System.nanoTime();
+        var scanner = new ClassPathScanner(classLoader, pool);
+
+        // The class path roots with an index generated at compile time don't need to be scanned
+        var entries = scanner.readIndexes(packageName);
+        for (var entry : entries) {
+            registerIndexEntry(container, classLoader, entry);
+        }
+
+        // Only the injectable classes are loaded, and their static initializers run when they are first instantiated
+        var scannedTypes = new AtomicInteger();
+        try {
+            scanner.forEachInjectableClassName(packageName, className -> {
+                var injectableClass = Class.forName(className, false, classLoader);
+                container.registerMapping(injectableClass, injectableClass);
+                registerSuperclassesInterfaces(container, injectableClass, injectableClass);
+                scannedTypes.incrementAndGet();
+            });
+        } catch (ExecutionException e) {
+            var cause = e.getCause();
+            if (cause instanceof ClassNotFoundException classNotFound) {
+                throw classNotFound;
+            }
+            if (cause instanceof ImplementationAmbiguityException ambiguity) {
+                throw ambiguity;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException(cause);
+        }
+        container.recordScan(System.nanoTime() - start);
+        if (event.shouldCommit()) {
+            event.packageName = packageName;
+            event.indexedTypes = entries.size();
+            event.scannedTypes = scannedTypes.get();
+            event.commit();
         }
     }
 
@@ -65,6 +161,7 @@ public class Eazzynject {
      * and no parameterless constructor
      * @throws ImplementationAmbiguityException If the container cannot distinguish between two implementations
      * @throws CyclicDependenciesException If we detect a dependency cycle
+     * @throws ResolutionDepthExceededException If the dependency graph is deeper than the maximum resolution depth
      */
     public static <T> T getInstance(Class<T> type)
             throws ImplementationNotFoundException, NoDefaultConstructorException, ImplementationAmbiguityException,
@@ -83,6 +180,7 @@ public class Eazzynject {
      * and no parameterless constructor
      * @throws ImplementationAmbiguityException If the container cannot distinguish between two implementations
      * @throws CyclicDependenciesException If we detect a dependency cycle
+     * @throws ResolutionDepthExceededException If the dependency graph is deeper than the maximum resolution depth
      */
     public static <T> T getInstance(Class<T> type, String tag)
             throws ImplementationNotFoundException, NoDefaultConstructorException, ImplementationAmbiguityException,
@@ -90,81 +188,88 @@ public class Eazzynject {
         return CONTAINER.instantiate(type, tag);
     }
 
+    /**
+     * Validates the dependency graph of the container and compiles it into a dispatch table, once the package has
+     * been scanned
+     * @throws ContainerValidationException If some types cannot be created
+     * @see Container#seal()
+     */
+    public static void sealContainer() throws ContainerValidationException {
+        CONTAINER.seal();
+    }
+
+    /**
+     * Registers the MBean exposing the statistics of the container
+     * @return The name of the MBean
+     * @throws JMException If the MBean cannot be registered
+     * @see Container#registerMBean()
+     */
+    public static ObjectName registerMBean() throws JMException {
+        return CONTAINER.registerMBean();
+    }
+
+    /**
+     * Creates all the singletons of the container ahead of their first use
+     * @param executor The executor creating the singletons
+     * @return A future completed when all the singletons have been created
+     * @see Container#warmUpSingletons(Executor)
+     */
+    public static CompletableFuture<Void> warmUpSingletons(Executor executor) {
+        return CONTAINER.warmUpSingletons(executor);
+    }
+
+    /**
+     * Registers an injectable type listed in an index
+     * @param container The dependency injection container
+     * @param classLoader The class loader used to load the types
+     * @param entry The entry of the index
+     * @throws ClassNotFoundException If a type of the index cannot be found
+     * @throws ImplementationAmbiguityException If a tag of an implementation already exists
+     */
+    private static void registerIndexEntry(Container container, ClassLoader classLoader, InjectableIndex.Entry entry)
+            throws ClassNotFoundException, ImplementationAmbiguityException {
+        // The types are only loaded, their static initializers run when they are first instantiated
+        var injectableClass = Class.forName(entry.getClassName(), false, classLoader);
+        container.registerMapping(injectableClass, injectableClass, entry.getTag());
+        for (var superType : entry.getSuperTypes()) {
+            container.registerMapping(injectableClass, Class.forName(superType, false, classLoader), entry.getTag());
+        }
+    }
+
     /**
      * Registers the implementations with the abstractions into the dependency injection container.
+     * @param container The dependency injection container
      * @param implementationClass The implementation
      * @param superClass The abstraction of the implementation
      * @throws ImplementationAmbiguityException If a tag of an implementation already exists
      */
-    private static void registerSuperclassesInterfaces(Class<?> implementationClass, Class<?> superClass)
+    private static void registerSuperclassesInterfaces(Container container, Class<?> implementationClass,
+                                                       Class<?> superClass)
             throws ImplementationAmbiguityException {
         Class<?> cSuperClass = superClass.getSuperclass();
         Class<?>[] interfaces = superClass.getInterfaces();
 
         // Registering super classes
         if(cSuperClass != Object.class && cSuperClass != null) {
-            CONTAINER.registerMapping(implementationClass, cSuperClass);
-            registerSuperclassesInterfaces(implementationClass, cSuperClass);
+            container.registerMapping(implementationClass, cSuperClass);
+            registerSuperclassesInterfaces(container, implementationClass, cSuperClass);
         }
         // Registering interfaces
         for(Class<?> curInterface : interfaces) {
-            CONTAINER.registerMapping(implementationClass, curInterface);
-            registerSuperclassesInterfaces(implementationClass, curInterface);
+            container.registerMapping(implementationClass, curInterface);
+            registerSuperclassesInterfaces(container, implementationClass, curInterface);
         }
     }
 
     /**
-     * Retrieves all the classes of a given package
-     * @param packageName The name of the package
-     * @return A list of all the types of the package being analyzed
-     * @throws IOException If an IO error occurs
-     * @throws ClassNotFoundException If a class cannot be found
+     * Gets the class loader used for automatic package scanning
+     * @return The context class loader of the current thread
      */
-    private static List<Class<?>> getClasses(String packageName)
-            throws IOException, ClassNotFoundException {
-
+    private static ClassLoader getClassLoader() {
         ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
         if(classLoader == null) {
             throw new RuntimeException("ClassLoader not found for automatic package scanning.");
         }
-        String filePath = packageName.replace('.', '/');
-        Enumeration<URL> resources = classLoader.getResources(filePath);
-        List<File> dirs = new ArrayList<>();
-        while (resources.hasMoreElements()) {
-            URL resource = resources.nextElement();
-            dirs.add(new File(resource.getFile()));
-        }
-        List<Class<?>> classes = new ArrayList<>();
-        for (File directory : dirs) {
-            classes.addAll(findClasses(directory, packageName));
-        }
-        return classes;
-    }
-
-    /**
-     * Retrieves the classes of a given directory and package
-     * @param directory The directory
-     * @param packageName The name of the package
-     * @return All the classes found
-     * @throws ClassNotFoundException If a given class cannot be found
-     */
-    private static List<Class<?>> findClasses(File directory, String packageName) throws ClassNotFoundException {
-        List<Class<?>> classes = new ArrayList<>();
-        if (!directory.exists()) {
-            return classes;
-        }
-        File[] files = directory.listFiles();
-        if (files != null) {
-            for (File file : files) {
-                if (file.isDirectory()) {
-                    assert !file.getName().contains(".");
-                    classes.addAll(findClasses(file, packageName + "." + file.getName()));
-                } else if (file.getName().endsWith(".class")) {
-                    classes.add(Class.forName(
-                            packageName + '.' + file.getName().substring(0, file.getName().length() - 6)));
-                }
-            }
-        }
-        return classes;
+        return classLoader;
     }
 }
@@ -0,0 +1,89 @@
+package fr.gravani.eazzynject;
+
+import fr.gravani.eazzynject.annotations.PerGraph;
+import lombok.Getter;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The instances of the {@link PerGraph} types created during one call to the container, shared inside the object
+ * graph of the call. It also records the depth of the graph for the {@link InjectionListener}s, and publishes the
+ * types being created to the {@link ConstructionWatchdog}. A graph is created by a single thread, so the scope is not
+ * thread-safe.
+ */
+final class GraphScope {
+    /**
+     * The created instances, mapped with their injection plan. Only allocated once a type of the graph is
+     * annotated with {@link PerGraph}.
+     */
+    private Map<InjectionPlan, Object> instances;
+
+    /**
+     * The level of the type being created, the root being the first level
+     */
+    private int level;
+
+    /**
+     * The deepest level where an instance has been created
+     */
+    @Getter
+    private int depth;
+
+    /**
+     * The watch of the call, <code>null</code> when no watchdog is running
+     */
+    private final ConstructionWatchdog.Watch watch;
+
+    GraphScope() {
+        this(null);
+    }
+
+    GraphScope(ConstructionWatchdog.Watch watch) {
+        this.watch = watch;
+    }
+
+    /**
+     * Gets the instance of a type if it has already been created in this graph
+     * @param plan The injection plan of the type
+     * @return The instance, <code>null</code> if it has not been created yet
+     */
+    Object get(InjectionPlan plan) {
+        return instances == null ? null : instances.get(plan);
+    }
+
+    /**
+     * Keeps the instance of a type for the rest of the graph
+     * @param plan The injection plan of the type
+     * @param instance The instance
+     */
+    void put(InjectionPlan plan, Object instance) {
+        if (instances == null) {
+            instances = new IdentityHashMap<>();
+        }
+        instances.put(plan, instance);
+    }
+
+    /**
+     * Starts the creation of an instance one level below the type being created
+     * @param plan The injection plan of the type of the instance
+     */
+    void enter(InjectionPlan plan) {
+        if (++level > depth) {
+            depth = level;
+        }
+        if (watch != null) {
+            watch.push(plan);
+        }
+    }
+
+    /**
+     * Ends the creation of an instance started by {@link #enter(InjectionPlan)}
+     */
+    void exit() {
+        level--;
+        if (watch != null) {
+            watch.pop();
+        }
+    }
+}
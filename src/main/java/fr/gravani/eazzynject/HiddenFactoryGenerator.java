@@ -0,0 +1,417 @@
+package fr.gravani.eazzynject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Generates at runtime the factory of an implementation type, as a hidden class of the nest of the type.
+ * The factory is a {@link Function} taking the instances of the dependencies, in the order of the injection points,
+ * and calling the constructor, setting the fields and calling the injectable methods directly, so that the
+ * access checks of reflection are only done once, when the hidden class is defined.
+ * @see <a href="https://docs.oracle.com/javase/specs/jvms/se17/html/jvms-4.html">The class file format</a>
+ */
+final class HiddenFactoryGenerator {
+    private static final System.Logger LOGGER = System.getLogger(HiddenFactoryGenerator.class.getName());
+
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final int JAVA_17 = 61;
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_FIELD_REF = 9;
+    private static final int CONSTANT_METHOD_REF = 10;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ALOAD_1 = 0x2b;
+    private static final int ALOAD_2 = 0x2c;
+    private static final int ASTORE_1 = 0x4c;
+    private static final int ASTORE_2 = 0x4d;
+    private static final int ICONST_0 = 0x03;
+    private static final int BIPUSH = 0x10;
+    private static final int SIPUSH = 0x11;
+    private static final int AALOAD = 0x32;
+    private static final int POP = 0x57;
+    private static final int POP2 = 0x58;
+    private static final int DUP = 0x59;
+    private static final int ARETURN = 0xb0;
+    private static final int RETURN = 0xb1;
+    private static final int PUTSTATIC = 0xb3;
+    private static final int PUTFIELD = 0xb5;
+    private static final int INVOKEVIRTUAL = 0xb6;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int INVOKESTATIC = 0xb8;
+    private static final int NEW = 0xbb;
+    private static final int CHECKCAST = 0xc0;
+
+    /**
+     * Suffix appended to the binary name of an implementation type to get the name of its hidden factory
+     */
+    static final String HIDDEN_FACTORY_SUFFIX = "$$EazzynjectHiddenFactory";
+
+    private HiddenFactoryGenerator() {
+    }
+
+    /**
+     * Generates the factory of an implementation type
+     * @param cls The implementation type
+     * @param constructor The constructor used to create the instance
+     * @param fields The injectable fields
+     * @param methods The injectable methods
+     * @return A new instance of the factory, <code>null</code> if the type cannot be created by a generated factory,
+     * in which case reflection has to be used
+     */
+    @SuppressWarnings("unchecked")
+    static Function<Object[], Object> generate(Class<?> cls, Constructor<?> constructor, Field[] fields,
+                                               Method[] methods) {
+        if (!canBeGenerated(cls, constructor, fields, methods)) {
+            return null;
+        }
+        try {
+            var lookup = MethodHandles.privateLookupIn(cls, MethodHandles.lookup());
+            if (!lookup.hasFullPrivilegeAccess() || !canAccessTypes(lookup, constructor, fields, methods)) {
+                // The type is in a module or a class loader which does not let us define classes next to it
+                return null;
+            }
+            var factoryClass = lookup.defineHiddenClass(writeClassFile(cls, constructor, fields, methods), true,
+                    MethodHandles.Lookup.ClassOption.NESTMATE).lookupClass();
+            return (Function<Object[], Object>) factoryClass.getDeclaredConstructor().newInstance();
+        } catch (IllegalAccessException e) {
+            return null;
+        } catch (ReflectiveOperationException | IOException | LinkageError e) {
+            // The reflective path is still available
+            LOGGER.log(System.Logger.Level.DEBUG, "No hidden factory can be defined for " + cls.getName()
+                    + ", falling back to reflection", e);
+            return null;
+        }
+    }
+
+    /**
+     * Checks that the members used to create a type can be called from bytecode
+     * @return <code>true</code> if a factory can be generated for the type
+     */
+    private static boolean canBeGenerated(Class<?> cls, Constructor<?> constructor, Field[] fields,
+                                          Method[] methods) {
+        if (constructor == null || cls.isHidden() || cls.isArray() || cls.isPrimitive()
+                || Modifier.isAbstract(cls.getModifiers())) {
+            return false;
+        }
+        for (var type : constructor.getParameterTypes()) {
+            if (type.isPrimitive()) {
+                return false;
+            }
+        }
+        for (var field : fields) {
+            // A final field can only be set by the constructors of its class
+            if (Modifier.isFinal(field.getModifiers()) || field.getType().isPrimitive()) {
+                return false;
+            }
+        }
+        for (var method : methods) {
+            for (var type : method.getParameterTypes()) {
+                if (type.isPrimitive()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks that the types of the dependencies can be named from the package of the implementation type
+     * @param lookup The lookup of the implementation type
+     * @return <code>true</code> if all the types are accessible
+     */
+    private static boolean canAccessTypes(MethodHandles.Lookup lookup, Constructor<?> constructor, Field[] fields,
+                                          Method[] methods) {
+        try {
+            for (var type : constructor.getParameterTypes()) {
+                lookup.accessClass(type);
+            }
+            for (var field : fields) {
+                lookup.accessClass(field.getType());
+            }
+            for (var method : methods) {
+                for (var type : method.getParameterTypes()) {
+                    lookup.accessClass(type);
+                }
+            }
+            return true;
+        } catch (IllegalAccessException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Writes the class file of the factory of a type
+     * @return The bytes of the class file
+     * @throws IOException Never thrown, the class file is written in memory
+     */
+    private static byte[] writeClassFile(Class<?> cls, Constructor<?> constructor, Field[] fields,
+                                         Method[] methods) throws IOException {
+        var constantPool = new ConstantPool();
+        int thisClass = constantPool.classEntry(toInternalName(cls) + HIDDEN_FACTORY_SUFFIX);
+        int objectClass = constantPool.classEntry("java/lang/Object");
+        int functionClass = constantPool.classEntry("java/util/function/Function");
+        int codeName = constantPool.utf8("Code");
+        int constructorName = constantPool.utf8("<init>");
+        int constructorDescriptor = constantPool.utf8("()V");
+        int applyName = constantPool.utf8("apply");
+        int applyDescriptor = constantPool.utf8("(Ljava/lang/Object;)Ljava/lang/Object;");
+
+        var objectConstructor = writeObjectConstructor(constantPool, objectClass);
+        var apply = writeApply(constantPool, cls, constructor, fields, methods);
+
+        var bytes = new ByteArrayOutputStream();
+        var out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeShort(0);
+        out.writeShort(JAVA_17);
+        constantPool.writeTo(out);
+        out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+        out.writeShort(thisClass);
+        out.writeShort(objectClass);
+        out.writeShort(1);
+        out.writeShort(functionClass);
+        // No field
+        out.writeShort(0);
+        out.writeShort(2);
+        writeMethod(out, constructorName, constructorDescriptor, codeName, objectConstructor, 1, 1);
+        writeMethod(out, applyName, applyDescriptor, codeName, apply, maxStack(constructor, methods), 3);
+        // No attribute
+        out.writeShort(0);
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Writes the code of the constructor of the factory, calling the constructor of {@link Object}
+     */
+    private static byte[] writeObjectConstructor(ConstantPool constantPool, int objectClass) throws IOException {
+        var code = new ByteArrayOutputStream();
+        var out = new DataOutputStream(code);
+        out.writeByte(ALOAD_0);
+        out.writeByte(INVOKESPECIAL);
+        out.writeShort(constantPool.methodRef(objectClass, "<init>", "()V"));
+        out.writeByte(RETURN);
+        return code.toByteArray();
+    }
+
+    /**
+     * Writes the code of {@link Function#apply(Object)}: the array of the dependencies is kept in the local
+     * variable 1 and the created instance in the local variable 2
+     */
+    private static byte[] writeApply(ConstantPool constantPool, Class<?> cls, Constructor<?> constructor,
+                                     Field[] fields, Method[] methods) throws IOException {
+        var code = new ByteArrayOutputStream();
+        var out = new DataOutputStream(code);
+        int implementationClass = constantPool.classEntry(toInternalName(cls));
+
+        out.writeByte(ALOAD_1);
+        out.writeByte(CHECKCAST);
+        out.writeShort(constantPool.classEntry("[Ljava/lang/Object;"));
+        out.writeByte(ASTORE_1);
+
+        out.writeByte(NEW);
+        out.writeShort(implementationClass);
+        out.writeByte(DUP);
+        int index = 0;
+        for (var type : constructor.getParameterTypes()) {
+            writeArgument(out, constantPool, index++, type);
+        }
+        out.writeByte(INVOKESPECIAL);
+        out.writeShort(constantPool.methodRef(implementationClass, "<init>",
+                methodDescriptor(constructor.getParameterTypes(), void.class)));
+        out.writeByte(ASTORE_2);
+
+        for (var field : fields) {
+            boolean isStatic = Modifier.isStatic(field.getModifiers());
+            if (!isStatic) {
+                out.writeByte(ALOAD_2);
+            }
+            writeArgument(out, constantPool, index++, field.getType());
+            out.writeByte(isStatic ? PUTSTATIC : PUTFIELD);
+            out.writeShort(constantPool.fieldRef(implementationClass, field.getName(),
+                    field.getType().descriptorString()));
+        }
+
+        for (var method : methods) {
+            boolean isStatic = Modifier.isStatic(method.getModifiers());
+            if (!isStatic) {
+                out.writeByte(ALOAD_2);
+            }
+            for (var type : method.getParameterTypes()) {
+                writeArgument(out, constantPool, index++, type);
+            }
+            out.writeByte(isStatic ? INVOKESTATIC : INVOKEVIRTUAL);
+            out.writeShort(constantPool.methodRef(implementationClass, method.getName(),
+                    methodDescriptor(method.getParameterTypes(), method.getReturnType())));
+            var returnType = method.getReturnType();
+            if (returnType == long.class || returnType == double.class) {
+                out.writeByte(POP2);
+            } else if (returnType != void.class) {
+                out.writeByte(POP);
+            }
+        }
+
+        out.writeByte(ALOAD_2);
+        out.writeByte(ARETURN);
+        return code.toByteArray();
+    }
+
+    /**
+     * Writes the code pushing a dependency on the operand stack, cast to the type of its injection point
+     * @param index The index of the dependency in the array of the dependencies
+     * @param type The type of the injection point
+     */
+    private static void writeArgument(DataOutputStream out, ConstantPool constantPool, int index, Class<?> type)
+            throws IOException {
+        out.writeByte(ALOAD_1);
+        if (index <= 5) {
+            out.writeByte(ICONST_0 + index);
+        } else if (index <= Byte.MAX_VALUE) {
+            out.writeByte(BIPUSH);
+            out.writeByte(index);
+        } else {
+            out.writeByte(SIPUSH);
+            out.writeShort(index);
+        }
+        out.writeByte(AALOAD);
+        out.writeByte(CHECKCAST);
+        out.writeShort(constantPool.classEntry(toInternalName(type)));
+    }
+
+    /**
+     * Writes a method with its <code>Code</code> attribute, without exception table
+     */
+    private static void writeMethod(DataOutputStream out, int name, int descriptor, int codeName, byte[] code,
+                                    int maxStack, int maxLocals) throws IOException {
+        out.writeShort(ACC_PUBLIC);
+        out.writeShort(name);
+        out.writeShort(descriptor);
+        out.writeShort(1);
+        out.writeShort(codeName);
+        out.writeInt(12 + code.length);
+        out.writeShort(maxStack);
+        out.writeShort(maxLocals);
+        out.writeInt(code.length);
+        out.write(code);
+        // No exception table and no attribute
+        out.writeShort(0);
+        out.writeShort(0);
+    }
+
+    /**
+     * Computes the maximum size of the operand stack of {@link Function#apply(Object)}: the new instance twice
+     * and the constructor arguments, or the instance and the method arguments, plus the array and the index
+     * of the argument being loaded
+     */
+    private static int maxStack(Constructor<?> constructor, Method[] methods) {
+        int maxArguments = constructor.getParameterCount() + 1;
+        for (var method : methods) {
+            maxArguments = Math.max(maxArguments, method.getParameterCount());
+        }
+        return maxArguments + 3;
+    }
+
+    private static String methodDescriptor(Class<?>[] parameterTypes, Class<?> returnType) {
+        var descriptor = new StringBuilder("(");
+        for (var type : parameterTypes) {
+            descriptor.append(type.descriptorString());
+        }
+        return descriptor.append(')').append(returnType.descriptorString()).toString();
+    }
+
+    private static String toInternalName(Class<?> type) {
+        return type.isArray() ? type.descriptorString() : type.getName().replace('.', '/');
+    }
+
+    /**
+     * The constant pool of the class file being written, each constant being added once
+     */
+    private static final class ConstantPool {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private int count = 1;
+
+        int utf8(String value) throws IOException {
+            var index = indexes.get("utf8:" + value);
+            if (index == null) {
+                out.writeByte(CONSTANT_UTF8);
+                // Modified UTF-8 preceded by its length, as expected in a class file
+                out.writeUTF(value);
+                index = add("utf8:" + value);
+            }
+            return index;
+        }
+
+        int classEntry(String internalName) throws IOException {
+            var index = indexes.get("class:" + internalName);
+            if (index == null) {
+                int name = utf8(internalName);
+                out.writeByte(CONSTANT_CLASS);
+                out.writeShort(name);
+                index = add("class:" + internalName);
+            }
+            return index;
+        }
+
+        int fieldRef(int owner, String name, String descriptor) throws IOException {
+            return memberRef(CONSTANT_FIELD_REF, owner, name, descriptor);
+        }
+
+        int methodRef(int owner, String name, String descriptor) throws IOException {
+            return memberRef(CONSTANT_METHOD_REF, owner, name, descriptor);
+        }
+
+        private int memberRef(int tag, int owner, String name, String descriptor) throws IOException {
+            var key = tag + ":" + owner + "." + name + descriptor;
+            var index = indexes.get(key);
+            if (index == null) {
+                int nameAndType = nameAndType(name, descriptor);
+                out.writeByte(tag);
+                out.writeShort(owner);
+                out.writeShort(nameAndType);
+                index = add(key);
+            }
+            return index;
+        }
+
+        private int nameAndType(String name, String descriptor) throws IOException {
+            var key = "nameAndType:" + name + descriptor;
+            var index = indexes.get(key);
+            if (index == null) {
+                int nameIndex = utf8(name);
+                int descriptorIndex = utf8(descriptor);
+                out.writeByte(CONSTANT_NAME_AND_TYPE);
+                out.writeShort(nameIndex);
+                out.writeShort(descriptorIndex);
+                index = add(key);
+            }
+            return index;
+        }
+
+        private int add(String key) {
+            indexes.put(key, count);
+            return count++;
+        }
+
+        void writeTo(DataOutputStream classFile) throws IOException {
+            classFile.writeShort(count);
+            bytes.writeTo(classFile);
+        }
+    }
+}
@@ -1,13 +1,17 @@
 package fr.gravani.eazzynject;
 
 import fr.gravani.eazzynject.exceptions.ImplementationAmbiguityException;
+import fr.gravani.eazzynject.exceptions.ImplementationNotFoundException;
 import lombok.Getter;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
- * Represents a link between an implementation and an abstraction (abstract class or interface)
+ * Represents a link between an implementation and an abstraction (abstract class or interface).
+ * An implementation is either a class created by the container or a binding registered through
+ * {@link Container#bind(Class)}, which creates its instances without reflection.
  */
 public class ImplementationsLink {
     /**
@@ -17,10 +21,36 @@ public class ImplementationsLink {
     private final Class<?> baseClass;
 
     /**
-     * All the implementations of the abstraction, mapped with their tag
+     * All the implementations of the abstraction, mapped with their tag.
+     * The map is copied on each registration so that it can be read without locking.
      */
     @Getter
-    private final Map<String, Class<?>> implementations = new HashMap<>();
+    private volatile Map<String, Class<?>> implementations;
+
+    /**
+     * The only implementation of the abstraction, <code>null</code> if there are zero or several implementations
+     */
+    private volatile Class<?> singleImplementation;
+
+    /**
+     * The injection plans of the bindings created by a factory or an instance, mapped with their tag.
+     * Like the implementations, the map is copied on each registration.
+     */
+    private volatile Map<String, InjectionPlan> providedPlans = Collections.emptyMap();
+
+    /**
+     * The only binding of the abstraction, <code>null</code> if there are zero or several implementations
+     */
+    private volatile InjectionPlan singleProvidedPlan;
+
+    /**
+     * Creates a new link without any implementation of the abstraction
+     * @param baseClass The abstraction
+     */
+    ImplementationsLink(Class<?> baseClass) {
+        this.baseClass = baseClass;
+        implementations = Collections.emptyMap();
+    }
 
     /**
      * Creates a new link with a first implementation of the abstraction
@@ -30,7 +60,10 @@ public class ImplementationsLink {
      */
     public ImplementationsLink(Class<?> baseClass, String tag, Class<?> firstImplementation) {
         this.baseClass = baseClass;
-        implementations.put(tag, firstImplementation);
+        Map<String, Class<?>> firstImplementations = new HashMap<>();
+        firstImplementations.put(tag, firstImplementation);
+        implementations = Collections.unmodifiableMap(firstImplementations);
+        singleImplementation = firstImplementation;
     }
 
     /**
@@ -39,10 +72,88 @@ public class ImplementationsLink {
      * @param implementation The implementation type
      * @throws ImplementationAmbiguityException If the given tag already exists
      */
-    public void addImplementation(String tag, Class<?> implementation) throws ImplementationAmbiguityException {
-        if(implementations.containsKey(tag)) {
+    public synchronized void addImplementation(String tag, Class<?> implementation)
+            throws ImplementationAmbiguityException {
+        checkTag(tag);
+        Map<String, Class<?>> newImplementations = new HashMap<>(implementations);
+        newImplementations.put(tag, implementation);
+        singleImplementation = newImplementations.size() == 1 && providedPlans.isEmpty() ? implementation : null;
+        singleProvidedPlan = null;
+        implementations = Collections.unmodifiableMap(newImplementations);
+    }
+
+    /**
+     * Registers a binding of the abstraction created by a factory or an instance
+     * @param tag The tag of the binding
+     * @param plan The injection plan calling the factory
+     * @throws ImplementationAmbiguityException If the given tag already exists
+     */
+    synchronized void addProvidedPlan(String tag, InjectionPlan plan) throws ImplementationAmbiguityException {
+        checkTag(tag);
+        Map<String, InjectionPlan> newProvidedPlans = new HashMap<>(providedPlans);
+        newProvidedPlans.put(tag, plan);
+        singleProvidedPlan = newProvidedPlans.size() == 1 && implementations.isEmpty() ? plan : null;
+        singleImplementation = null;
+        providedPlans = Collections.unmodifiableMap(newProvidedPlans);
+    }
+
+    /**
+     * Gets the bindings of the abstraction created by a factory or an instance
+     * @return The injection plans of the bindings, mapped with their tag
+     */
+    Map<String, InjectionPlan> getProvidedPlans() {
+        return providedPlans;
+    }
+
+    /**
+     * Finds the binding of the abstraction created by a factory or an instance
+     * @param tag The tag used to distinguish between implementations, can be <code>null</code>
+     * @return The injection plan of the binding, <code>null</code> if the tag is used by a class or by no
+     * implementation
+     */
+    InjectionPlan findProvidedPlan(String tag) {
+        return tag == null ? singleProvidedPlan : providedPlans.get(tag);
+    }
+
+    /**
+     * Checks that a tag is not used yet by a class or a binding
+     * @param tag The tag of the new implementation
+     * @throws ImplementationAmbiguityException If the given tag already exists
+     */
+    private void checkTag(String tag) throws ImplementationAmbiguityException {
+        if(implementations.containsKey(tag) || providedPlans.containsKey(tag)) {
             throw new ImplementationAmbiguityException("The tag " + tag + " already exists for the base class " + baseClass.getName());
         }
-        implementations.put(tag, implementation);
+    }
+
+    /**
+     * Finds an implementation of the abstraction
+     * @param tag The tag used to distinguish between implementations, can be <code>null</code>
+     * @return The implementation if it has been found
+     * @throws ImplementationNotFoundException Thrown if there's a tag but no implementation uses it
+     * @throws ImplementationAmbiguityException Thrown if there's no tag and several implementations
+     */
+    public Class<?> findImplementation(String tag)
+            throws ImplementationNotFoundException, ImplementationAmbiguityException {
+
+        if(tag == null) {
+            if(singleImplementation != null) {
+                return singleImplementation;
+            }
+            // We cannot chose between the implementations
+            throw new ImplementationAmbiguityException(
+                    String.format("Found %s conflicting tags for type %s",
+                            implementations.size() + providedPlans.size(), baseClass.getName()));
+        }
+
+        var implementation = implementations.get(tag);
+        if(implementation == null) {
+            // There's a tag but no implementation uses it
+            throw new ImplementationNotFoundException(
+                    String.format(
+                            "Tag not found even though found %d different implementations for base type %s",
+                            implementations.size() + providedPlans.size(), baseClass.getName()));
+        }
+        return implementation;
     }
 }
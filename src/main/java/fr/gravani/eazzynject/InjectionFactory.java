@@ -0,0 +1,41 @@
+package fr.gravani.eazzynject;
+
+/**
+ * Factory creating the instances of an injectable type without reflection.
+ * Implementations are generated at compile time by the <code>eazzynject-processor</code> module, in the package of
+ * the injectable type and named after its binary name followed by {@link #GENERATED_FACTORY_SUFFIX}.
+ * When such a factory is present, the container uses it instead of reflection.
+ * @param <T> The injectable type
+ */
+public interface InjectionFactory<T> {
+    /**
+     * Suffix appended to the binary name of an injectable type to get the name of its generated factory
+     */
+    String GENERATED_FACTORY_SUFFIX = "$$EazzynjectFactory";
+
+    /**
+     * Whether the injectable type is a singleton
+     * @return <code>true</code> if the type is annotated with {@link fr.gravani.eazzynject.annotations.Singleton}
+     */
+    boolean isSingleton();
+
+    /**
+     * The base types of the dependencies of the injectable type, in the order expected by {@link #create(Object[])}
+     * @return The base types of the dependencies
+     */
+    Class<?>[] getDependencyTypes();
+
+    /**
+     * The tags of the dependencies of the injectable type, <code>null</code> for an untagged dependency
+     * @return The tags of the dependencies, in the same order as {@link #getDependencyTypes()}
+     */
+    String[] getDependencyTags();
+
+    /**
+     * Creates a new instance and injects its dependencies into its constructor, fields and setters
+     * @param arguments The instances of the dependencies, in the order of {@link #getDependencyTypes()}
+     * @return A new instance
+     * @throws Exception If the constructor or a setter of the type throws an exception
+     */
+    T create(Object[] arguments) throws Exception;
+}
@@ -0,0 +1,44 @@
+package fr.gravani.eazzynject;
+
+/**
+ * Receives the events of the container, to measure how the instances are created.
+ * The methods are called by the threads creating the instances, so an implementation must be thread-safe and fast.
+ * Nothing is measured while no listener is added to the container.
+ * @see Container#addInjectionListener(InjectionListener)
+ * @see InjectionMetrics
+ */
+public interface InjectionListener {
+    /**
+     * Called after a call to {@link Container#instantiate(Class, String)} returned an instance
+     * @param type The requested base type
+     * @param tag The requested tag, can be <code>null</code>
+     * @param durationNanos The duration of the call, in nanoseconds
+     * @param depth The number of levels of the graph created by the call, the instance being the first level.
+     * <code>0</code> if the instance was an already created singleton.
+     */
+    default void onResolution(Class<?> type, String tag, long durationNanos, int depth) {
+    }
+
+    /**
+     * Called after an instance has been created from its dependencies
+     * @param implementation The implementation type, or the base type of a binding
+     * @param durationNanos The duration of the constructor, fields and setters, without the creation of the
+     * dependencies, in nanoseconds
+     */
+    default void onInstantiation(Class<?> implementation, long durationNanos) {
+    }
+
+    /**
+     * Called when an already created singleton is injected or returned
+     * @param implementation The singleton type
+     */
+    default void onSingletonHit(Class<?> implementation) {
+    }
+
+    /**
+     * Called when a singleton is needed before it has been created, just before it is created
+     * @param implementation The singleton type
+     */
+    default void onSingletonMiss(Class<?> implementation) {
+    }
+}
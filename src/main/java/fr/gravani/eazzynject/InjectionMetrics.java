@@ -0,0 +1,185 @@
+package fr.gravani.eazzynject;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An {@link InjectionListener} counting the events of the container per type. The counters are {@link LongAdder}s,
+ * so the threads creating instances at the same time don't contend on the same counter.
+ * The durations are kept in histograms with one bucket per power of two nanoseconds.
+ */
+public class InjectionMetrics implements InjectionListener {
+    /**
+     * Number of buckets of the histograms. The last bucket also counts the durations longer than its bound.
+     */
+    public static final int HISTOGRAM_BUCKETS = 40;
+
+    /**
+     * The counters of one type
+     */
+    public static final class TypeMetrics {
+        private final LongAdder instantiations = new LongAdder();
+        private final LongAdder instantiationNanos = new LongAdder();
+        private final LongAdder[] instantiationHistogram = newHistogram();
+        private final LongAdder singletonHits = new LongAdder();
+        private final LongAdder singletonMisses = new LongAdder();
+        private final LongAdder resolutions = new LongAdder();
+        private final LongAdder resolutionNanos = new LongAdder();
+        private final LongAdder[] resolutionHistogram = newHistogram();
+        private final LongAccumulator maxResolutionDepth = new LongAccumulator(Math::max, 0);
+
+        private TypeMetrics() {
+        }
+
+        /**
+         * @return The number of instances created
+         */
+        public long getInstantiations() {
+            return instantiations.sum();
+        }
+
+        /**
+         * @return The total duration of the creations of the instances, in nanoseconds
+         */
+        public long getInstantiationNanos() {
+            return instantiationNanos.sum();
+        }
+
+        /**
+         * @return The number of creations of an instance per bucket of duration: bucket <code>i</code> counts the
+         * durations from <code>2^i</code> to <code>2^(i+1)</code> nanoseconds
+         */
+        public long[] getInstantiationHistogram() {
+            return sum(instantiationHistogram);
+        }
+
+        /**
+         * @return The number of times the singleton was injected or returned after its creation
+         */
+        public long getSingletonHits() {
+            return singletonHits.sum();
+        }
+
+        /**
+         * @return The number of times the singleton was needed before its creation
+         */
+        public long getSingletonMisses() {
+            return singletonMisses.sum();
+        }
+
+        /**
+         * @return The number of calls to the container requesting the type
+         */
+        public long getResolutions() {
+            return resolutions.sum();
+        }
+
+        /**
+         * @return The total duration of the calls requesting the type, in nanoseconds
+         */
+        public long getResolutionNanos() {
+            return resolutionNanos.sum();
+        }
+
+        /**
+         * @return The number of calls requesting the type per bucket of duration, like
+         * {@link #getInstantiationHistogram()}
+         */
+        public long[] getResolutionHistogram() {
+            return sum(resolutionHistogram);
+        }
+
+        /**
+         * @return The number of levels of the deepest graph created by a call requesting the type
+         */
+        public int getMaxResolutionDepth() {
+            return (int) maxResolutionDepth.get();
+        }
+    }
+
+    private final Map<Class<?>, TypeMetrics> types = new ConcurrentHashMap<>();
+
+    @Override
+    public void onResolution(Class<?> type, String tag, long durationNanos, int depth) {
+        var metrics = getOrCreate(type);
+        metrics.resolutions.increment();
+        metrics.resolutionNanos.add(durationNanos);
+        metrics.resolutionHistogram[bucket(durationNanos)].increment();
+        metrics.maxResolutionDepth.accumulate(depth);
+    }
+
+    @Override
+    public void onInstantiation(Class<?> implementation, long durationNanos) {
+        var metrics = getOrCreate(implementation);
+        metrics.instantiations.increment();
+        metrics.instantiationNanos.add(durationNanos);
+        metrics.instantiationHistogram[bucket(durationNanos)].increment();
+    }
+
+    @Override
+    public void onSingletonHit(Class<?> implementation) {
+        getOrCreate(implementation).singletonHits.increment();
+    }
+
+    @Override
+    public void onSingletonMiss(Class<?> implementation) {
+        getOrCreate(implementation).singletonMisses.increment();
+    }
+
+    /**
+     * Gets the counters of a type
+     * @param type An implementation type, or a base type requested from the container
+     * @return The counters, <code>null</code> if no event has been received for the type
+     */
+    public TypeMetrics getTypeMetrics(Class<?> type) {
+        return types.get(type);
+    }
+
+    /**
+     * Gets the counters of all the types
+     * @return A read-only view of the counters, mapped with their type
+     */
+    public Map<Class<?>, TypeMetrics> getAllTypeMetrics() {
+        return Collections.unmodifiableMap(types);
+    }
+
+    /**
+     * Gets the counters of a type, creating them on its first event
+     * @param type The type
+     * @return The counters of the type
+     */
+    private TypeMetrics getOrCreate(Class<?> type) {
+        // A plain read first, the creation of the counters happens once per type
+        var metrics = types.get(type);
+        return metrics != null ? metrics : types.computeIfAbsent(type, ignored -> new TypeMetrics());
+    }
+
+    /**
+     * Finds the bucket of a duration
+     * @param durationNanos The duration, in nanoseconds
+     * @return The index of the highest bit of the duration, at most the index of the last bucket
+     */
+    static int bucket(long durationNanos) {
+        int bit = 63 - Long.numberOfLeadingZeros(Math.max(durationNanos, 1));
+        return Math.min(bit, HISTOGRAM_BUCKETS - 1);
+    }
+
+    private static LongAdder[] newHistogram() {
+        var histogram = new LongAdder[HISTOGRAM_BUCKETS];
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] = new LongAdder();
+        }
+        return histogram;
+    }
+
+    private static long[] sum(LongAdder[] histogram) {
+        var sums = new long[histogram.length];
+        for (int i = 0; i < histogram.length; i++) {
+            sums[i] = histogram[i].sum();
+        }
+        return sums;
+    }
+}
@@ -0,0 +1,360 @@
+package fr.gravani.eazzynject;
+
+import fr.gravani.eazzynject.annotations.Inject;
+import fr.gravani.eazzynject.annotations.LazyInit;
+import fr.gravani.eazzynject.annotations.PerGraph;
+import fr.gravani.eazzynject.annotations.Singleton;
+import fr.gravani.eazzynject.annotations.Tag;
+import lombok.Getter;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Description of how to build an implementation type, computed once per class.
+ * The injection points are stored in a flat array, in the order they are injected:
+ * the constructor parameters first, then the fields, then the parameters of each injectable method.
+ * When a factory has been generated at compile time for the type, the plan is read from it and the
+ * instances are created through it instead of reflection. Otherwise, a factory can be generated at runtime
+ * as a hidden class with {@link #withHiddenFactory()}. With {@link #withPromotionThreshold(int)}, the reflective
+ * path is replaced by a method handle once the type has been created often enough: this is the only state of
+ * a plan which changes.
+ */
+final class InjectionPlan {
+    private static final System.Logger LOGGER = System.getLogger(InjectionPlan.class.getName());
+
+    /**
+     * The implementation type
+     */
+    @Getter
+    private final Class<?> implementation;
+
+    /**
+     * Whether the implementation is annotated with {@link Singleton}
+     */
+    @Getter
+    private final boolean singleton;
+
+    /**
+     * Whether the implementation is a singleton annotated with {@link LazyInit}
+     */
+    @Getter
+    private final boolean lazyInit;
+
+    /**
+     * Whether the implementation is annotated with {@link PerGraph} and is not a singleton
+     */
+    @Getter
+    private final boolean perGraph;
+
+    /**
+     * The factory generated at compile time for the type, <code>null</code> if there is none
+     */
+    private final InjectionFactory<?> factory;
+
+    /**
+     * The factory generated at runtime as a hidden class, <code>null</code> if there is none
+     */
+    private final Function<Object[], Object> hiddenFactory;
+
+    /**
+     * The constructor used to create the instance, <code>null</code> if the class has neither
+     * an injectable constructor nor a default constructor, or if it is created by a generated factory
+     */
+    @Getter
+    private final Constructor<?> constructor;
+
+    /**
+     * The injectable fields
+     */
+    private final Field[] fields;
+
+    /**
+     * The injectable methods (setters or any method annotated with @Inject)
+     */
+    private final Method[] methods;
+
+    /**
+     * All the dependencies of the implementation
+     */
+    @Getter
+    private final InjectionPoint[] points;
+
+    /**
+     * Number of instances created through reflection before the type is promoted to a method handle,
+     * <code>0</code> if the type is never promoted
+     */
+    private final int promotionThreshold;
+
+    /**
+     * Number of instances created through reflection. The count is not atomic, since it only needs to reach
+     * the promotion threshold approximately.
+     */
+    private int reflectiveInstantiations;
+
+    /**
+     * The method handle creating the instances once the type has been promoted, <code>null</code> before
+     */
+    private volatile MethodHandle invoker;
+
+    private InjectionPlan(Class<?> implementation, boolean singleton, InjectionFactory<?> factory,
+                          Function<Object[], Object> hiddenFactory, Constructor<?> constructor, Field[] fields,
+                          Method[] methods, InjectionPoint[] points, int promotionThreshold) {
+        this.implementation = implementation;
+        this.singleton = singleton;
+        this.lazyInit = singleton && implementation.isAnnotationPresent(LazyInit.class);
+        // The implementation of a binding is its base type, whose annotations don't apply
+        this.perGraph = !singleton && !(factory instanceof BindingFactory)
+                && implementation.isAnnotationPresent(PerGraph.class);
+        this.factory = factory;
+        this.hiddenFactory = hiddenFactory;
+        this.constructor = constructor;
+        this.fields = fields;
+        this.methods = methods;
+        this.points = points;
+        this.promotionThreshold = promotionThreshold;
+    }
+
+    /**
+     * Analyzes an implementation type to build its injection plan.
+     * If an injectable constructor exists, it is used to create the instance, otherwise
+     * we suppose that the class has a default constructor (without parameters).
+     * @param cls The implementation type
+     * @return The injection plan of the type
+     */
+    static InjectionPlan of(Class<?> cls) {
+        var factory = findGeneratedFactory(cls);
+        if (factory != null) {
+            return of(cls, factory);
+        }
+
+        List<InjectionPoint> points = new ArrayList<>();
+
+        // Constructors that can be used to instantiate the object and fill in its dependencies
+        var constructor = Arrays.stream(cls.getDeclaredConstructors())
+                .filter(c -> c.isAnnotationPresent(Inject.class))
+                .findFirst()
+                .orElseGet(() -> findDefaultConstructor(cls));
+        if (constructor != null) {
+            constructor.setAccessible(true);
+            addParameters(points, constructor.getParameters(), getTag(constructor));
+        }
+
+        var fields = new ArrayList<Field>();
+        for (Field field : cls.getDeclaredFields()) {
+            if (field.isAnnotationPresent(Inject.class)) {
+                field.setAccessible(true);
+                fields.add(field);
+                points.add(InjectionPoint.of(field.getGenericType(), getTag(field)));
+            }
+        }
+
+        var methods = new ArrayList<Method>();
+        for (Method method : cls.getDeclaredMethods()) {
+            if (method.isAnnotationPresent(Inject.class)) {
+                method.setAccessible(true);
+                methods.add(method);
+                addParameters(points, method.getParameters(), getTag(method));
+            }
+        }
+
+        return new InjectionPlan(cls, cls.isAnnotationPresent(Singleton.class), null, null, constructor,
+                fields.toArray(new Field[0]), methods.toArray(new Method[0]),
+                points.toArray(new InjectionPoint[0]), 0);
+    }
+
+    /**
+     * Builds the injection plan of a type from its generated factory, without reflection
+     * @param cls The implementation type
+     * @param factory The generated factory of the type
+     * @return The injection plan of the type
+     */
+    static InjectionPlan of(Class<?> cls, InjectionFactory<?> factory) {
+        var types = factory.getDependencyTypes();
+        var tags = factory.getDependencyTags();
+        var points = new InjectionPoint[types.length];
+        for (int i = 0; i < types.length; i++) {
+            points[i] = new InjectionPoint(types[i], tags[i]);
+        }
+        return new InjectionPlan(cls, factory.isSingleton(), factory, null, null,
+                new Field[0], new Method[0], points, 0);
+    }
+
+    /**
+     * Generates a factory at runtime as a hidden class, to create the instances without reflection
+     * @return A plan using the hidden factory, or this plan if it already uses a factory generated at compile time
+     * or if no factory can be generated for the type
+     */
+    InjectionPlan withHiddenFactory() {
+        if (factory != null || hiddenFactory != null || constructor == null) {
+            return this;
+        }
+        var generated = HiddenFactoryGenerator.generate(implementation, constructor, fields, methods);
+        if (generated == null) {
+            return this;
+        }
+        return new InjectionPlan(implementation, singleton, null, generated, constructor, fields, methods, points,
+                0);
+    }
+
+    /**
+     * Promotes the type from reflection to a method handle once it has been created often enough.
+     * Singletons are created once and are never promoted.
+     * @param promotionThreshold The number of instances created through reflection before the promotion
+     * @return A plan promoting the type, or this plan if the type does not use reflection or is a singleton
+     */
+    InjectionPlan withPromotionThreshold(int promotionThreshold) {
+        if (factory != null || hiddenFactory != null || constructor == null || singleton) {
+            return this;
+        }
+        return new InjectionPlan(implementation, false, null, null, constructor, fields, methods, points,
+                promotionThreshold);
+    }
+
+    /**
+     * Whether the instances are created by a method handle, after the promotion of the type
+     * @return <code>true</code> if the type has been promoted
+     */
+    boolean isPromoted() {
+        return invoker != null;
+    }
+
+    /**
+     * Whether the instances are created by a factory generated at runtime as a hidden class
+     * @return <code>true</code> if the plan uses a hidden factory
+     */
+    boolean hasHiddenFactory() {
+        return hiddenFactory != null;
+    }
+
+    /**
+     * Whether the instances are created by a binding registered through {@link Container#bind(Class)}
+     * @return <code>true</code> if the plan calls the factory of a binding
+     */
+    boolean isProvided() {
+        return factory instanceof BindingFactory;
+    }
+
+    /**
+     * Whether an instance of the type can be created
+     * @return <code>true</code> if the type has a generated factory, an injectable constructor
+     * or a default constructor
+     */
+    boolean isInstantiable() {
+        return factory != null || constructor != null;
+    }
+
+    /**
+     * Creates the instance and injects the resolved dependencies into it.
+     * @param arguments The instances of the dependencies, in the order of {@link #getPoints()}
+     * @return A new instance with its dependencies
+     * @throws ReflectiveOperationException If the constructor, a field or a method cannot be used
+     */
+    Object newInstance(Object[] arguments) throws ReflectiveOperationException {
+        if (factory != null) {
+            try {
+                return factory.create(arguments);
+            } catch (Exception e) {
+                // Same behavior as an exception thrown by a constructor invoked through reflection
+                throw new InvocationTargetException(e);
+            }
+        }
+        if (hiddenFactory != null) {
+            try {
+                return hiddenFactory.apply(arguments);
+            } catch (Exception e) {
+                throw new InvocationTargetException(e);
+            }
+        }
+        var promoted = invoker;
+        if (promoted != null) {
+            try {
+                return (Object) promoted.invokeExact(arguments);
+            } catch (Throwable e) {
+                throw new InvocationTargetException(e);
+            }
+        }
+        if (promotionThreshold > 0 && ++reflectiveInstantiations == promotionThreshold) {
+            // The type stays on the reflective path if its members cannot be used through method handles
+            invoker = MethodHandleInvoker.create(implementation, constructor, fields, methods);
+        }
+
+        int index = constructor.getParameterCount();
+        var instance = constructor.newInstance(Arrays.copyOfRange(arguments, 0, index));
+        for (Field field : fields) {
+            field.set(instance, arguments[index++]);
+        }
+        for (Method method : methods) {
+            int count = method.getParameterCount();
+            method.invoke(instance, Arrays.copyOfRange(arguments, index, index + count));
+            index += count;
+        }
+        return instance;
+    }
+
+    /**
+     * Adds the parameters of a method or a constructor to the injection points
+     * @param points The injection points
+     * @param parameters The parameters
+     * @param executableTag The tag of the method or constructor, if it applies
+     */
+    private static void addParameters(List<InjectionPoint> points, Parameter[] parameters, String executableTag) {
+        for (var parameter : parameters) {
+            var parameterTag = parameter.isAnnotationPresent(Tag.class)
+                    ? parameter.getAnnotation(Tag.class).value() : null;
+            // The constructor tag wins over the parameter tag
+            var appliedTag = executableTag == null ? parameterTag : executableTag;
+            points.add(InjectionPoint.of(parameter.getParameterizedType(), appliedTag));
+        }
+    }
+
+    /**
+     * Finds the factory generated at compile time for a type
+     * @param cls The implementation type
+     * @return A new instance of the factory, <code>null</code> if no factory has been generated for the type
+     */
+    private static InjectionFactory<?> findGeneratedFactory(Class<?> cls) {
+        if (cls.getClassLoader() == null) {
+            return null;
+        }
+        try {
+            var factoryClass = Class.forName(
+                    cls.getName() + InjectionFactory.GENERATED_FACTORY_SUFFIX, true, cls.getClassLoader());
+            return (InjectionFactory<?>) factoryClass.getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            // The reflective path is still available
+            LOGGER.log(System.Logger.Level.DEBUG, "The generated factory of " + cls.getName()
+                    + " cannot be used, falling back to reflection", e);
+            return null;
+        }
+    }
+
+    /**
+     * Finds the parameterless constructor of a class
+     * @param cls The class
+     * @return The constructor, <code>null</code> if it does not exist
+     */
+    private static Constructor<?> findDefaultConstructor(Class<?> cls) {
+        try {
+            return cls.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Gets the tag of an accessible object (such as a method or a field)
+     * @param accessibleObject The accessible object
+     * @return The value of the tag if the annotation is present, <code>null</code> otherwise
+     */
+    private static String getTag(AccessibleObject accessibleObject) {
+        return accessibleObject.isAnnotationPresent(Tag.class)
+                ? accessibleObject.getAnnotation(Tag.class).value() : null;
+    }
+}
@@ -0,0 +1,153 @@
+package fr.gravani.eazzynject;
+
+import lombok.Getter;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * A dependency needed by an implementation: a constructor parameter, a field or a setter parameter
+ */
+@Getter
+final class InjectionPoint {
+    /**
+     * How a dependency is injected
+     */
+    enum Kind {
+        /**
+         * The instance of the dependency, created before the implementation
+         */
+        INSTANCE,
+
+        /**
+         * A {@link Provider} of the dependency
+         */
+        PROVIDER,
+
+        /**
+         * A {@link Lazy} dependency
+         */
+        LAZY,
+
+        /**
+         * A {@link List} of all the implementations of the base type
+         */
+        LIST,
+
+        /**
+         * A {@link Map} of all the implementations of the base type, keyed by tag
+         */
+        MAP,
+
+        /**
+         * A {@link CompletionStage} of the dependency, created in the background
+         */
+        COMPLETION_STAGE
+    }
+
+    /**
+     * The base type of the dependency
+     */
+    private final Class<?> type;
+
+    /**
+     * The tag used to distinguish between implementations, <code>null</code> if none
+     */
+    private final String tag;
+
+    /**
+     * How the dependency is injected
+     */
+    private final Kind kind;
+
+    /**
+     * Creates a new injection point
+     * @param type The base type of the dependency
+     * @param tag The tag of the dependency, can be <code>null</code>
+     */
+    InjectionPoint(Class<?> type, String tag) {
+        this(type, tag, Kind.INSTANCE);
+    }
+
+    /**
+     * Creates a new injection point
+     * @param type The base type of the dependency
+     * @param tag The tag of the dependency, can be <code>null</code>
+     * @param kind How the dependency is injected
+     */
+    InjectionPoint(Class<?> type, String tag, Kind kind) {
+        this.type = type;
+        this.tag = tag;
+        this.kind = kind;
+    }
+
+    /**
+     * Creates the injection point of a field or a parameter. A {@link Provider} or a {@link Lazy} is injected
+     * in place of its type argument, a {@link List} or a {@link Map} with {@link String} keys is filled with all the
+     * implementations of its element type. A {@link CompletionStage} is completed with its type argument once it has
+     * been created in the background.
+     * @param genericType The declared type of the field or the parameter
+     * @param tag The tag of the dependency, can be <code>null</code>
+     * @return The injection point
+     */
+    static InjectionPoint of(Type genericType, String tag) {
+        if (genericType instanceof ParameterizedType parameterizedType) {
+            var rawType = parameterizedType.getRawType();
+            var argument = parameterizedType.getActualTypeArguments()[0];
+            if (rawType == Provider.class) {
+                return new InjectionPoint(toClass(argument), tag, Kind.PROVIDER);
+            }
+            if (rawType == Lazy.class) {
+                return new InjectionPoint(toClass(argument), tag, Kind.LAZY);
+            }
+            if (rawType == CompletionStage.class) {
+                return new InjectionPoint(toClass(argument), tag, Kind.COMPLETION_STAGE);
+            }
+            if (rawType == List.class) {
+                return new InjectionPoint(toClass(argument), null, Kind.LIST);
+            }
+            if (rawType == Map.class && argument == String.class) {
+                return new InjectionPoint(toClass(parameterizedType.getActualTypeArguments()[1]), null, Kind.MAP);
+            }
+        }
+        return new InjectionPoint(toClass(genericType), tag);
+    }
+
+    /**
+     * Whether the dependency has to be created before the implementation
+     * @return <code>true</code> if the instance of the dependency is injected
+     */
+    boolean isEager() {
+        return kind == Kind.INSTANCE;
+    }
+
+    /**
+     * Gets the class of a type, the upper bound of a wildcard or a type variable
+     * @param type The type
+     * @return The class
+     */
+    private static Class<?> toClass(Type type) {
+        if (type instanceof Class<?> cls) {
+            return cls;
+        }
+        if (type instanceof ParameterizedType parameterizedType) {
+            return toClass(parameterizedType.getRawType());
+        }
+        if (type instanceof WildcardType wildcardType) {
+            return toClass(wildcardType.getUpperBounds()[0]);
+        }
+        if (type instanceof TypeVariable<?> typeVariable) {
+            return toClass(typeVariable.getBounds()[0]);
+        }
+        if (type instanceof GenericArrayType arrayType) {
+            return toClass(arrayType.getGenericComponentType()).arrayType();
+        }
+        return Object.class;
+    }
+}
@@ -0,0 +1,25 @@
+package fr.gravani.eazzynject;
+
+/**
+ * How the container creates the instances of the types without a factory generated at compile time
+ */
+public enum InstantiationMode {
+    /**
+     * The constructor, fields and setters are used through reflection
+     */
+    REFLECTION,
+
+    /**
+     * A factory calling the constructor, fields and setters directly is generated at runtime as a hidden class,
+     * the first time the type is used. Reflection is still used for the types which cannot be created by such
+     * a factory, such as the types with a <code>final</code> injected field.
+     */
+    HIDDEN_CLASS,
+
+    /**
+     * The types start with reflection, which is the cheapest to set up. Once a type has been created
+     * {@link Container#setPromotionThreshold(int)} times, it is promoted to a single method handle calling the
+     * constructor, writing the fields through their {@link java.lang.invoke.VarHandle} and calling the setters.
+     */
+    TIERED
+}
@@ -0,0 +1,17 @@
+package fr.gravani.eazzynject;
+
+/**
+ * A dependency created the first time it is used. A <code>Lazy&lt;T&gt;</code> can be injected in place of
+ * a dependency of type <code>T</code>, with the same tag: the first call to {@link #get()} creates the dependency
+ * and the next calls return the same instance, even when they are made by several threads.
+ * @param <T> The base type of the dependency
+ */
+@FunctionalInterface
+public interface Lazy<T> {
+    /**
+     * Gets the dependency, creating it on the first call
+     * @return The instance of the dependency
+     * @throws fr.gravani.eazzynject.exceptions.ProvisionException If the dependency cannot be created
+     */
+    T get();
+}
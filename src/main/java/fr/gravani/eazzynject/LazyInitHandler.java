@@ -0,0 +1,56 @@
+package fr.gravani.eazzynject;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Handles the calls to the proxy injected in place of a {@link fr.gravani.eazzynject.annotations.LazyInit}
+ * singleton: the first call creates the singleton, and every call is delegated to it.
+ * <code>equals</code> and <code>hashCode</code> are answered by the proxy itself, so that storing the proxy
+ * in a collection does not create the singleton.
+ */
+final class LazyInitHandler implements InvocationHandler {
+    private final Lazy<?> target;
+
+    private LazyInitHandler(Lazy<?> target) {
+        this.target = target;
+    }
+
+    /**
+     * Creates a proxy of an interface, creating its target on its first call
+     * @param type The interface
+     * @param target The target of the proxy
+     * @param <T> The interface
+     * @return The proxy
+     */
+    static <T> T createProxy(Class<T> type, Lazy<?> target) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                new LazyInitHandler(target)));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+        }
+        var instance = target.get();
+        if (!method.canAccess(instance)) {
+            // Methods of a package-private interface
+            method.setAccessible(true);
+        }
+        try {
+            return method.invoke(instance, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
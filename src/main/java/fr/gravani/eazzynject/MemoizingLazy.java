@@ -0,0 +1,35 @@
+package fr.gravani.eazzynject;
+
+/**
+ * The {@link Lazy} injected by the container, keeping the instance created by the first successful call.
+ * The container returns <code>null</code> when a constructor fails, so a <code>null</code> instance is not kept and
+ * the next call tries again.
+ * @param <T> The base type of the dependency
+ */
+final class MemoizingLazy<T> implements Lazy<T> {
+    private final Provider<T> provider;
+
+    /**
+     * The created instance, <code>null</code> until a call creates it
+     */
+    private volatile T instance;
+
+    MemoizingLazy(Provider<T> provider) {
+        this.provider = provider;
+    }
+
+    @Override
+    public T get() {
+        var result = instance;
+        if (result == null) {
+            synchronized (this) {
+                result = instance;
+                if (result == null) {
+                    result = provider.get();
+                    instance = result;
+                }
+            }
+        }
+        return result;
+    }
+}
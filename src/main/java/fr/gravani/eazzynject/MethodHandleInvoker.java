@@ -0,0 +1,118 @@
+package fr.gravani.eazzynject;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Builds a single method handle creating an implementation type: it calls the constructor, writes the fields
+ * through their {@link VarHandle} and calls the injectable methods, taking the instances of the dependencies
+ * in the order of the injection points. Used for the types promoted by {@link InstantiationMode#TIERED}.
+ */
+final class MethodHandleInvoker {
+    /**
+     * Type of the built method handle
+     */
+    static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+    /**
+     * Type of the method handles injecting dependencies into a created instance
+     */
+    private static final MethodType INJECTOR_TYPE = MethodType.methodType(void.class, Object.class, Object[].class);
+
+    private MethodHandleInvoker() {
+    }
+
+    /**
+     * Builds the method handle creating an implementation type
+     * @param cls The implementation type
+     * @param constructor The constructor used to create the instance
+     * @param fields The injectable fields
+     * @param methods The injectable methods
+     * @return A method handle of type {@link #INVOKER_TYPE}, <code>null</code> if the members of the type cannot be
+     * used through method handles, in which case reflection has to be used
+     */
+    static MethodHandle create(Class<?> cls, Constructor<?> constructor, Field[] fields, Method[] methods) {
+        try {
+            var lookup = MethodHandles.privateLookupIn(cls, MethodHandles.lookup());
+
+            int index = constructor.getParameterCount();
+            var creator = spreadArguments(lookup.unreflectConstructor(constructor), 0, 0, index,
+                    MethodType.methodType(Object.class, Object[].class));
+
+            // Runs the injectors one after the other on the created instance, then returns the instance
+            var injectors = new MethodHandle[fields.length + methods.length];
+            int count = 0;
+            for (var field : fields) {
+                injectors[count++] = spreadArguments(fieldSetter(lookup, field), 1, index++, 1, INJECTOR_TYPE);
+            }
+            for (var method : methods) {
+                int parameterCount = method.getParameterCount();
+                var handle = lookup.unreflect(method);
+                if (Modifier.isStatic(method.getModifiers())) {
+                    handle = MethodHandles.dropArguments(handle, 0, Object.class);
+                }
+                injectors[count++] = spreadArguments(handle, 1, index, parameterCount, INJECTOR_TYPE);
+                index += parameterCount;
+            }
+            var injection = MethodHandles.dropArguments(MethodHandles.identity(Object.class), 1, Object[].class);
+            for (int i = injectors.length - 1; i >= 0; i--) {
+                injection = MethodHandles.foldArguments(injection, injectors[i]);
+            }
+            return MethodHandles.foldArguments(injection, creator);
+        } catch (IllegalAccessException | RuntimeException e) {
+            // The reflective path is still available
+            return null;
+        }
+    }
+
+    /**
+     * Gets the method handle writing a field, through its {@link VarHandle} when the field is not <code>final</code>
+     * @return A method handle taking the instance and the value
+     */
+    private static MethodHandle fieldSetter(MethodHandles.Lookup lookup, Field field) throws IllegalAccessException {
+        MethodHandle setter;
+        if (Modifier.isFinal(field.getModifiers())) {
+            // A final field can only be written through reflection, the field has been made accessible
+            setter = lookup.unreflectSetter(field);
+        } else {
+            setter = lookup.unreflectVarHandle(field).toMethodHandle(VarHandle.AccessMode.SET);
+        }
+        if (Modifier.isStatic(field.getModifiers())) {
+            setter = MethodHandles.dropArguments(setter, 0, Object.class);
+        }
+        return setter;
+    }
+
+    /**
+     * Adapts a method handle so that some of its parameters are read from the array of the dependencies
+     * @param handle The method handle
+     * @param position The position of the first parameter read from the array
+     * @param index The index in the array of the first dependency
+     * @param count The number of parameters read from the array, they are the last parameters of the handle
+     * @param type The type of the adapted method handle, ending with the array of the dependencies
+     * @return The adapted method handle
+     */
+    private static MethodHandle spreadArguments(MethodHandle handle, int position, int index, int count,
+                                                MethodType type) {
+        var generic = handle.asType(MethodType.genericMethodType(handle.type().parameterCount())
+                .changeReturnType(type.returnType()));
+        var getters = new MethodHandle[count];
+        for (int i = 0; i < count; i++) {
+            getters[i] = MethodHandles.insertArguments(
+                    MethodHandles.arrayElementGetter(Object[].class), 1, index + i);
+        }
+        // The array is given once to each getter, then all the copies are merged into the last parameter
+        var filtered = MethodHandles.filterArguments(generic, position, getters);
+        var reorder = new int[filtered.type().parameterCount()];
+        for (int i = 0; i < reorder.length; i++) {
+            reorder[i] = i < position ? i : position;
+        }
+        return MethodHandles.permuteArguments(filtered, type, reorder);
+    }
+}
@@ -0,0 +1,184 @@
+package fr.gravani.eazzynject;
+
+import fr.gravani.eazzynject.exceptions.ProvisionException;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * All the implementations of a base type, injected as a <code>List&lt;Base&gt;</code> or a
+ * <code>Map&lt;String, Base&gt;</code> keyed by tag. The implementations and their injection plans are resolved once
+ * per snapshot of the dependency graph, sorted by tag with the untagged implementation first. The bindings registered
+ * through {@link Container#bind(Class)} are included.
+ * The injected collections are unmodifiable and materialized lazily: each element is created the first time it is
+ * read, so dispatching to one implementation only creates this one.
+ */
+final class Multibinding {
+    private final Container container;
+
+    /**
+     * The tags of the implementations, <code>null</code> for the untagged implementation
+     */
+    private final String[] tags;
+
+    /**
+     * The injection plans of the implementations, in the order of the tags
+     */
+    private final InjectionPlan[] plans;
+
+    /**
+     * The index of each tag
+     */
+    private final Map<String, Integer> indexes = new HashMap<>();
+
+    /**
+     * The tags, in their order
+     */
+    private final Set<String> tagSet;
+
+    /**
+     * Resolves all the implementations of a base type
+     * @param container The container
+     * @param baseClass The base type
+     */
+    Multibinding(Container container, Class<?> baseClass) {
+        this.container = container;
+        var implementations = new TreeMap<String, InjectionPlan>(Comparator.nullsFirst(Comparator.naturalOrder()));
+        container.getAllImplementationsFromBase(baseClass)
+                .forEach((tag, implementation) -> implementations.put(tag, container.getPlan(implementation)));
+        implementations.putAll(container.getAllProvidedPlansFromBase(baseClass));
+        tags = implementations.keySet().toArray(new String[0]);
+        plans = implementations.values().toArray(new InjectionPlan[0]);
+        for (int index = 0; index < tags.length; index++) {
+            indexes.put(tags[index], index);
+        }
+        tagSet = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(tags)));
+    }
+
+    /**
+     * Creates the list injected into an injection point
+     * @return A new list, creating its elements when they are read
+     */
+    List<Object> newList() {
+        return new ElementList(new Elements());
+    }
+
+    /**
+     * Creates the map injected into an injection point
+     * @return A new map keyed by tag, creating its values when they are read
+     */
+    Map<String, Object> newMap() {
+        return new ElementMap(new Elements());
+    }
+
+    /**
+     * The elements of an injected collection, each one created once
+     */
+    private final class Elements {
+        private final AtomicReferenceArray<Object> created = new AtomicReferenceArray<>(plans.length);
+
+        Object get(int index) {
+            var element = created.get(index);
+            if (element == null) {
+                synchronized (this) {
+                    element = created.get(index);
+                    if (element == null) {
+                        element = create(index);
+                        created.set(index, element);
+                    }
+                }
+            }
+            return element;
+        }
+
+        private Object create(int index) {
+            var plan = plans[index];
+            try {
+                return container.instantiatePlan(plan);
+            } catch (Exception e) {
+                throw new ProvisionException(
+                        String.format("Could not provide an instance of %s", plan.getImplementation().getName()), e);
+            }
+        }
+    }
+
+    private final class ElementList extends AbstractList<Object> implements RandomAccess {
+        private final Elements elements;
+
+        private ElementList(Elements elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        public Object get(int index) {
+            Objects.checkIndex(index, plans.length);
+            return elements.get(index);
+        }
+
+        @Override
+        public int size() {
+            return plans.length;
+        }
+    }
+
+    private final class ElementMap extends AbstractMap<String, Object> {
+        private final Elements elements;
+
+        private ElementMap(Elements elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        public Object get(Object key) {
+            var index = indexes.get(key);
+            return index == null ? null : elements.get(index);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return indexes.containsKey(key);
+        }
+
+        @Override
+        public Set<String> keySet() {
+            // Reading the keys does not create the values
+            return tagSet;
+        }
+
+        @Override
+        public int size() {
+            return plans.length;
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    return new Iterator<>() {
+                        private int next;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < plans.length;
+                        }
+
+                        @Override
+                        public Entry<String, Object> next() {
+                            if (next >= plans.length) {
+                                throw new NoSuchElementException();
+                            }
+                            int index = next++;
+                            return new AbstractMap.SimpleImmutableEntry<>(tags[index], elements.get(index));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return plans.length;
+                }
+            };
+        }
+    }
+}
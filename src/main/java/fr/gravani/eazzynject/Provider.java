@@ -0,0 +1,17 @@
+package fr.gravani.eazzynject;
+
+/**
+ * Gives the instances of a dependency on demand. A <code>Provider&lt;T&gt;</code> can be injected in place of
+ * a dependency of type <code>T</code>, with the same tag: nothing is created until {@link #get()} is called,
+ * and each call creates a new instance, unless the implementation is a singleton.
+ * @param <T> The base type of the dependency
+ */
+@FunctionalInterface
+public interface Provider<T> {
+    /**
+     * Creates an instance of the dependency with its own dependencies
+     * @return An instance of the dependency
+     * @throws fr.gravani.eazzynject.exceptions.ProvisionException If the dependency cannot be created
+     */
+    T get();
+}
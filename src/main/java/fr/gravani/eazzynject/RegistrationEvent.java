@@ -0,0 +1,28 @@
+package fr.gravani.eazzynject;
+
+import jdk.jfr.*;
+
+/**
+ * Java Flight Recorder event of the registration of an implementation or of a binding. Disabled by default.
+ */
+@Name("fr.gravani.eazzynject.Registration")
+@Label("Registration")
+@Category({ "Eazzynject", "Container" })
+@Description("Registration of an implementation of a base type into the container")
+@Enabled(false)
+@StackTrace(false)
+final class RegistrationEvent extends Event {
+    @Label("Implementation")
+    @Description("The implementation type, the base type for a binding")
+    Class<?> implementation;
+
+    @Label("Base")
+    Class<?> base;
+
+    @Label("Tag")
+    String tag;
+
+    @Label("Binding")
+    @Description("Whether the implementation is created by a factory given to Container.bind")
+    boolean binding;
+}
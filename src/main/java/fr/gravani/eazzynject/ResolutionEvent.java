@@ -0,0 +1,31 @@
+package fr.gravani.eazzynject;
+
+import jdk.jfr.*;
+
+/**
+ * Java Flight Recorder event of a call to {@link Container#instantiate(Class, String)}, from the lookup of the
+ * implementation to the creation of its whole graph. Disabled by default, like the other events of the container:
+ * it has to be enabled in the recording settings, and costs nothing while it is disabled.
+ */
+@Name("fr.gravani.eazzynject.Resolution")
+@Label("Resolution")
+@Category({ "Eazzynject", "Container" })
+@Description("Creation of an instance and of its dependencies by the container")
+@Enabled(false)
+@StackTrace(false)
+final class ResolutionEvent extends Event {
+    @Label("Type")
+    @Description("The requested base type")
+    Class<?> type;
+
+    @Label("Tag")
+    String tag;
+
+    @Label("Depth")
+    @Description("The number of levels of the created graph, 0 when an already created singleton is returned")
+    int depth;
+
+    @Label("Singleton Hit")
+    @Description("Whether an already created singleton is returned")
+    boolean singletonHit;
+}
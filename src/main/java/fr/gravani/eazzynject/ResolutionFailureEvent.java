@@ -0,0 +1,45 @@
+package fr.gravani.eazzynject;
+
+import jdk.jfr.*;
+
+/**
+ * Java Flight Recorder event of a call to {@link Container#instantiate(Class, String)} which threw an exception,
+ * such as a dependency cycle or an ambiguous implementation. Disabled by default.
+ */
+@Name("fr.gravani.eazzynject.ResolutionFailure")
+@Label("Resolution Failure")
+@Category({ "Eazzynject", "Container" })
+@Description("Failure of the container to create an instance")
+@Enabled(false)
+final class ResolutionFailureEvent extends Event {
+    @Label("Type")
+    @Description("The requested base type")
+    Class<?> type;
+
+    @Label("Tag")
+    String tag;
+
+    @Label("Failure")
+    @Description("The class of the thrown exception")
+    Class<?> failure;
+
+    @Label("Message")
+    String message;
+
+    /**
+     * Records a failure if the event is enabled
+     * @param type The requested base type
+     * @param tag The requested tag, can be <code>null</code>
+     * @param failure The thrown exception
+     */
+    static void commit(Class<?> type, String tag, Exception failure) {
+        var event = new ResolutionFailureEvent();
+        if (event.isEnabled()) {
+            event.type = type;
+            event.tag = tag;
+            event.failure = failure.getClass();
+            event.message = failure.getMessage();
+            event.commit();
+        }
+    }
+}
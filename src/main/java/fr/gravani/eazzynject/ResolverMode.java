@@ -0,0 +1,17 @@
+package fr.gravani.eazzynject;
+
+/**
+ * How the container walks the dependency graph of an instance
+ */
+public enum ResolverMode {
+    /**
+     * Each dependency is created by a recursive call, using a few stack frames per level of the graph
+     */
+    RECURSIVE,
+
+    /**
+     * The graph is walked with an explicit work stack, using the same stack frames whatever the depth of the graph.
+     * The depth of the graph is limited by {@link Container#setMaxResolutionDepth(int)}.
+     */
+    ITERATIVE
+}
@@ -0,0 +1,26 @@
+package fr.gravani.eazzynject;
+
+import jdk.jfr.*;
+
+/**
+ * Java Flight Recorder event of the initialization of a container from a package, the indexes and the scan of the
+ * class path roots included. Each scanned root is also recorded by its own event. Disabled by default.
+ */
+@Name("fr.gravani.eazzynject.Scan")
+@Label("Package Scan")
+@Category({ "Eazzynject", "Scan" })
+@Description("Registration of the injectable types of a package and its sub-packages")
+@Enabled(false)
+@StackTrace(false)
+final class ScanEvent extends Event {
+    @Label("Package")
+    String packageName;
+
+    @Label("Indexed Types")
+    @Description("The number of types registered from the indexes generated at compile time")
+    int indexedTypes;
+
+    @Label("Scanned Types")
+    @Description("The number of injectable types found by the scan of the class path roots")
+    int scannedTypes;
+}
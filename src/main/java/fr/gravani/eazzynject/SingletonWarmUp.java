@@ -0,0 +1,259 @@
+package fr.gravani.eazzynject;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates all the singletons of a container ahead of their first use, in the order of their dependencies.
+ * The graph of the singletons is built from the injection plans: a singleton depends on the singletons injected into
+ * it, directly or through non-singleton types. Each singleton is ready as soon as all its dependencies have been
+ * created. The ready singletons wait in a single queue, and each task of the executor creates the ready singleton
+ * starting the longest chain of dependent singletons, so the critical path of the whole graph is created first.
+ */
+final class SingletonWarmUp {
+    /**
+     * A singleton of the graph
+     */
+    private static final class Node {
+        private final Class<?> implementation;
+
+        /**
+         * The singletons depending on this one
+         */
+        private final List<Node> dependents = new ArrayList<>();
+
+        /**
+         * The singletons this one depends on
+         */
+        private final Set<Node> dependencies = new LinkedHashSet<>();
+
+        /**
+         * The number of dependencies not created yet
+         */
+        private final AtomicInteger pendingDependencies = new AtomicInteger();
+
+        /**
+         * The number of singletons of the longest chain of dependents starting with this one
+         */
+        private int chainLength;
+
+        private Node(Class<?> implementation) {
+            this.implementation = implementation;
+        }
+    }
+
+    private final Container container;
+
+    private final Executor executor;
+
+    private final Map<Class<?>, Node> nodes = new LinkedHashMap<>();
+
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+    /**
+     * The singletons whose dependencies have all been created, the ones starting the longest chains first
+     */
+    private final PriorityBlockingQueue<Node> readyNodes = new PriorityBlockingQueue<>(11,
+            Comparator.comparingInt((Node node) -> node.chainLength).reversed());
+
+    /**
+     * The number of singletons not created yet
+     */
+    private final AtomicInteger remaining = new AtomicInteger();
+
+    SingletonWarmUp(Container container, Executor executor) {
+        this.container = container;
+        this.executor = executor;
+    }
+
+    /**
+     * Builds the graph of the singletons and starts creating them
+     * @return A future completed when all the singletons have been created
+     */
+    CompletableFuture<Void> start() {
+        for (var implementation : container.getImplementations()) {
+            var plan = container.getPlan(implementation);
+            // A lazy singleton is left to its first call
+            if (plan.isSingleton() && !plan.isLazyInit()) {
+                nodes.put(implementation, new Node(implementation));
+            }
+        }
+        if (nodes.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        for (var node : nodes.values()) {
+            findDependencies(node);
+        }
+        removeCycles();
+        for (var node : nodes.values()) {
+            for (var dependency : node.dependencies) {
+                dependency.dependents.add(node);
+            }
+            node.pendingDependencies.set(node.dependencies.size());
+        }
+        computeChainLengths();
+
+        remaining.set(nodes.size());
+        submit(nodes.values().stream().filter(node -> node.dependencies.isEmpty()).toList());
+        return completion;
+    }
+
+    /**
+     * Finds the singletons a singleton depends on, following the non-singleton types injected into it
+     * @param node The singleton
+     */
+    private void findDependencies(Node node) {
+        var visited = new HashSet<Class<?>>();
+        var pending = new ArrayDeque<InjectionPoint>(Arrays.asList(container.getPlan(node.implementation).getPoints()));
+        while (!pending.isEmpty()) {
+            var point = pending.pop();
+            if (!point.isEager()) {
+                // Created when it is used, after the warm-up
+                continue;
+            }
+            InjectionPlan plan;
+            try {
+                plan = container.resolvePlan(point.getType(), point.getTag());
+            } catch (Exception e) {
+                // The creation of the singleton will report the missing or ambiguous implementation
+                continue;
+            }
+            if (plan.isProvided()) {
+                // Created by the factory of a binding, which resolves its own dependencies
+                continue;
+            }
+            var implementation = plan.getImplementation();
+            var dependency = nodes.get(implementation);
+            if (dependency != null) {
+                node.dependencies.add(dependency);
+            } else if (visited.add(implementation)) {
+                pending.addAll(Arrays.asList(container.getPlan(implementation).getPoints()));
+            }
+        }
+    }
+
+    /**
+     * Removes the dependencies closing a cycle, so that every singleton is eventually submitted.
+     * The creation of the singletons of a cycle will report it.
+     */
+    private void removeCycles() {
+        var visited = new HashSet<Node>();
+        var inProgress = new HashSet<Node>();
+        for (var root : nodes.values()) {
+            if (visited.contains(root)) {
+                continue;
+            }
+            // Iterative depth-first search, each frame is a node and the iterator over its dependencies
+            var stack = new ArrayDeque<Map.Entry<Node, Iterator<Node>>>();
+            stack.push(Map.entry(root, root.dependencies.iterator()));
+            visited.add(root);
+            inProgress.add(root);
+            while (!stack.isEmpty()) {
+                var frame = stack.peek();
+                var dependencies = frame.getValue();
+                if (!dependencies.hasNext()) {
+                    inProgress.remove(frame.getKey());
+                    stack.pop();
+                    continue;
+                }
+                var dependency = dependencies.next();
+                if (inProgress.contains(dependency)) {
+                    dependencies.remove();
+                } else if (visited.add(dependency)) {
+                    inProgress.add(dependency);
+                    stack.push(Map.entry(dependency, dependency.dependencies.iterator()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the length of the longest chain of dependents starting with each singleton. The singletons are sorted
+     * in a topological order, without recursion, then their lengths are computed from the last dependents back to
+     * the first dependencies, so the lengths of the dependents of a singleton are known when it is reached.
+     */
+    private void computeChainLengths() {
+        var order = new ArrayList<Node>(nodes.size());
+        var pending = new HashMap<Node, Integer>();
+        for (var node : nodes.values()) {
+            pending.put(node, node.dependencies.size());
+            if (node.dependencies.isEmpty()) {
+                order.add(node);
+            }
+        }
+        // Kahn's algorithm, the cycles have been removed so every singleton is reached
+        for (int i = 0; i < order.size(); i++) {
+            for (var dependent : order.get(i).dependents) {
+                if (pending.merge(dependent, -1, Integer::sum) == 0) {
+                    order.add(dependent);
+                }
+            }
+        }
+        for (int i = order.size() - 1; i >= 0; i--) {
+            var node = order.get(i);
+            int longestDependentChain = 0;
+            for (var dependent : node.dependents) {
+                longestDependentChain = Math.max(longestDependentChain, dependent.chainLength);
+            }
+            node.chainLength = longestDependentChain + 1;
+        }
+    }
+
+    /**
+     * Queues singletons ready to be created, and submits one task per singleton to the executor
+     * @param ready The singletons whose dependencies have all been created
+     */
+    private void submit(List<Node> ready) {
+        readyNodes.addAll(ready);
+        for (int i = 0; i < ready.size(); i++) {
+            if (completion.isDone()) {
+                return;
+            }
+            try {
+                executor.execute(this::createNext);
+            } catch (RuntimeException e) {
+                completion.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Creates the ready singleton starting the longest chain, whichever task queued it
+     */
+    private void createNext() {
+        var node = readyNodes.poll();
+        if (node != null) {
+            create(node);
+        }
+    }
+
+    /**
+     * Creates a singleton, then queues the dependents which were only waiting for it
+     * @param node The singleton
+     */
+    private void create(Node node) {
+        if (completion.isDone()) {
+            return;
+        }
+        try {
+            container.instantiateImplementation(node.implementation);
+        } catch (Exception | Error e) {
+            completion.completeExceptionally(e);
+            return;
+        }
+
+        var readyDependents = new ArrayList<Node>();
+        for (var dependent : node.dependents) {
+            if (dependent.pendingDependencies.decrementAndGet() == 0) {
+                readyDependents.add(dependent);
+            }
+        }
+        submit(readyDependents);
+        if (remaining.decrementAndGet() == 0) {
+            completion.complete(null);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package fr.gravani.eazzynject;
+
+import lombok.Getter;
+
+import javax.management.ConstructorParameters;
+
+/**
+ * The counters of a type exposed by the {@link ContainerMXBean}, a snapshot of its {@link InjectionMetrics}
+ */
+@Getter
+public class TypeStatistics {
+    /**
+     * The name of the type
+     */
+    private final String type;
+
+    private final long instantiations;
+
+    /**
+     * The mean duration of the creation of an instance, without its dependencies, in nanoseconds
+     */
+    private final long meanInstantiationNanos;
+
+    private final long singletonHits;
+
+    private final long singletonMisses;
+
+    /**
+     * The number of calls to the container requesting the type
+     */
+    private final long resolutions;
+
+    /**
+     * The mean duration of the calls requesting the type, in nanoseconds
+     */
+    private final long meanResolutionNanos;
+
+    private final int maxResolutionDepth;
+
+    @ConstructorParameters({ "type", "instantiations", "meanInstantiationNanos", "singletonHits", "singletonMisses",
+            "resolutions", "meanResolutionNanos", "maxResolutionDepth" })
+    public TypeStatistics(String type, long instantiations, long meanInstantiationNanos, long singletonHits,
+                          long singletonMisses, long resolutions, long meanResolutionNanos, int maxResolutionDepth) {
+        this.type = type;
+        this.instantiations = instantiations;
+        this.meanInstantiationNanos = meanInstantiationNanos;
+        this.singletonHits = singletonHits;
+        this.singletonMisses = singletonMisses;
+        this.resolutions = resolutions;
+        this.meanResolutionNanos = meanResolutionNanos;
+        this.maxResolutionDepth = maxResolutionDepth;
+    }
+
+    /**
+     * Takes a snapshot of the counters of a type
+     * @param type The type
+     * @param metrics The counters of the type
+     * @return The statistics of the type
+     */
+    static TypeStatistics of(Class<?> type, InjectionMetrics.TypeMetrics metrics) {
+        long instantiations = metrics.getInstantiations();
+        long resolutions = metrics.getResolutions();
+        return new TypeStatistics(type.getName(), instantiations,
+                instantiations == 0 ? 0 : metrics.getInstantiationNanos() / instantiations,
+                metrics.getSingletonHits(), metrics.getSingletonMisses(), resolutions,
+                resolutions == 0 ? 0 : metrics.getResolutionNanos() / resolutions,
+                metrics.getMaxResolutionDepth());
+    }
+}
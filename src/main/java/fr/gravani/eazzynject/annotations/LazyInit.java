@@ -0,0 +1,18 @@
+package fr.gravani.eazzynject.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Marks that a {@link Singleton} is only created when one of its methods is called for the first time.
+ * Whenever the singleton is injected as an interface before being created, the container injects a proxy of the
+ * interface instead, which creates the singleton on its first call and then delegates to it.
+ * The annotation has no effect on a type which is not a singleton.
+ */
+@Target(ElementType.TYPE)
+@Retention(RUNTIME)
+public @interface LazyInit {
+}
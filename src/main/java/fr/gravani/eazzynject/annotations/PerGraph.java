@@ -0,0 +1,18 @@
+package fr.gravani.eazzynject.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Marks that a type is created at most once per call to the container, and shared by all the types of the created
+ * object graph which depend on it. A new instance is created for each call, including the calls made later by a
+ * {@link fr.gravani.eazzynject.Provider}, a {@link fr.gravani.eazzynject.Lazy} or an injected collection.
+ * The annotation has no effect on a {@link Singleton}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RUNTIME)
+public @interface PerGraph {
+}
@@ -0,0 +1,27 @@
+package fr.gravani.eazzynject.exceptions;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Exception thrown when a container cannot be sealed because some of its types cannot be created.
+ * It gathers all the problems found in the dependency graph instead of the first one.
+ */
+public class ContainerValidationException extends Exception {
+    /**
+     * The exceptions that the creation of the types would have thrown
+     */
+    @Getter
+    private final List<Exception> errors;
+
+    /**
+     * Constructor
+     * @param message Exception message
+     * @param errors The problems found in the dependency graph
+     */
+    public ContainerValidationException(String message, List<Exception> errors) {
+        super(message);
+        this.errors = List.copyOf(errors);
+    }
+}
@@ -0,0 +1,16 @@
+package fr.gravani.eazzynject.exceptions;
+
+/**
+ * Exception thrown when a {@link fr.gravani.eazzynject.Provider} or a {@link fr.gravani.eazzynject.Lazy}
+ * cannot create its dependency. The cause is the exception thrown by the container.
+ */
+public class ProvisionException extends RuntimeException {
+    /**
+     * Constructor
+     * @param message Exception message
+     * @param cause The exception thrown by the container
+     */
+    public ProvisionException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,16 @@
+package fr.gravani.eazzynject.exceptions;
+
+/**
+ * Exception thrown when the dependency graph of an instance is deeper than the maximum resolution depth.
+ * Only the {@link fr.gravani.eazzynject.ResolverMode#ITERATIVE} resolver has a maximum depth, so the exception is
+ * unchecked and the callers of the other modes do not have to handle it.
+ */
+public class ResolutionDepthExceededException extends RuntimeException {
+    /**
+     * Constructor
+     * @param message Exception message
+     */
+    public ResolutionDepthExceededException(String message) {
+        super(message);
+    }
+}
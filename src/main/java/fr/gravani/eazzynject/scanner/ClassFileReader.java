@@ -0,0 +1,219 @@
+package fr.gravani.eazzynject.scanner;
+
+import fr.gravani.eazzynject.annotations.Injectable;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the bytes of a class file to know whether the class is injectable, without loading the class.
+ * Only the constant pool, the access flags and the <code>RuntimeVisibleAnnotations</code> attribute of the class
+ * are parsed, the strings of the constant pool are never decoded.
+ * @see <a href="https://docs.oracle.com/javase/specs/jvms/se17/html/jvms-4.html">The class file format</a>
+ */
+public final class ClassFileReader {
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final int ACC_INTERFACE = 0x0200;
+    private static final int ACC_ABSTRACT = 0x0400;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELD_REF = 9;
+    private static final int CONSTANT_METHOD_REF = 10;
+    private static final int CONSTANT_INTERFACE_METHOD_REF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_DYNAMIC = 17;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    private static final int CONSTANT_MODULE = 19;
+    private static final int CONSTANT_PACKAGE = 20;
+
+    /**
+     * The descriptor of {@link Injectable}, encoded as in the constant pool
+     */
+    private static final byte[] INJECTABLE_DESCRIPTOR =
+            ("L" + Injectable.class.getName().replace('.', '/') + ";").getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] RUNTIME_VISIBLE_ANNOTATIONS =
+            "RuntimeVisibleAnnotations".getBytes(StandardCharsets.UTF_8);
+
+    private ClassFileReader() {
+    }
+
+    /**
+     * Checks whether a class file describes a concrete class annotated with {@link Injectable}
+     * @param classFile The bytes of the class file, read from the current position
+     * @return <code>true</code> if the class is annotated with {@link Injectable} and is neither abstract
+     * nor an interface
+     * @throws IOException If the bytes are not a valid class file
+     */
+    public static boolean isInjectable(ByteBuffer classFile) throws IOException {
+        try {
+            return readInjectable(classFile);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Truncated class file", e);
+        }
+    }
+
+    private static boolean readInjectable(ByteBuffer classFile) throws IOException {
+        if (classFile.getInt() != MAGIC) {
+            throw new IOException("Not a class file");
+        }
+        // Minor and major versions
+        skip(classFile, 4);
+
+        int injectableIndex = 0;
+        int annotationsIndex = 0;
+        int constantPoolCount = unsignedShort(classFile);
+        for (int i = 1; i < constantPoolCount; i++) {
+            int tag = Byte.toUnsignedInt(classFile.get());
+            switch (tag) {
+                case CONSTANT_UTF8 -> {
+                    int length = unsignedShort(classFile);
+                    if (equals(classFile, length, INJECTABLE_DESCRIPTOR)) {
+                        injectableIndex = i;
+                    } else if (equals(classFile, length, RUNTIME_VISIBLE_ANNOTATIONS)) {
+                        annotationsIndex = i;
+                    }
+                    skip(classFile, length);
+                }
+                case CONSTANT_CLASS, CONSTANT_STRING, CONSTANT_METHOD_TYPE, CONSTANT_MODULE, CONSTANT_PACKAGE ->
+                        skip(classFile, 2);
+                case CONSTANT_METHOD_HANDLE -> skip(classFile, 3);
+                case CONSTANT_INTEGER, CONSTANT_FLOAT, CONSTANT_FIELD_REF, CONSTANT_METHOD_REF,
+                        CONSTANT_INTERFACE_METHOD_REF, CONSTANT_NAME_AND_TYPE, CONSTANT_DYNAMIC,
+                        CONSTANT_INVOKE_DYNAMIC -> skip(classFile, 4);
+                case CONSTANT_LONG, CONSTANT_DOUBLE -> {
+                    skip(classFile, 8);
+                    // These constants take two entries of the pool
+                    i++;
+                }
+                default -> throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+        // The annotation is not referenced at all, which is the case of most classes
+        if (injectableIndex == 0 || annotationsIndex == 0) {
+            return false;
+        }
+
+        int accessFlags = unsignedShort(classFile);
+        if ((accessFlags & (ACC_INTERFACE | ACC_ABSTRACT)) != 0) {
+            return false;
+        }
+        // This class and super class
+        skip(classFile, 4);
+        skip(classFile, 2 * unsignedShort(classFile));
+        skipMembers(classFile);
+        skipMembers(classFile);
+
+        int attributesCount = unsignedShort(classFile);
+        for (int i = 0; i < attributesCount; i++) {
+            int nameIndex = unsignedShort(classFile);
+            int length = classFile.getInt();
+            if (nameIndex != annotationsIndex) {
+                skip(classFile, length);
+                continue;
+            }
+            int annotationsCount = unsignedShort(classFile);
+            for (int j = 0; j < annotationsCount; j++) {
+                if (unsignedShort(classFile) == injectableIndex) {
+                    return true;
+                }
+                skipElementValuePairs(classFile);
+            }
+            return false;
+        }
+        return false;
+    }
+
+    /**
+     * Skips the fields or the methods of a class
+     * @param classFile The class file, positioned on the number of members
+     */
+    private static void skipMembers(ByteBuffer classFile) {
+        int count = unsignedShort(classFile);
+        for (int i = 0; i < count; i++) {
+            // Access flags, name and descriptor
+            skip(classFile, 6);
+            int attributesCount = unsignedShort(classFile);
+            for (int j = 0; j < attributesCount; j++) {
+                skip(classFile, 2);
+                skip(classFile, classFile.getInt());
+            }
+        }
+    }
+
+    /**
+     * Skips the values of an annotation
+     * @param classFile The class file, positioned after the type of the annotation
+     * @throws IOException If an element value is invalid
+     */
+    private static void skipElementValuePairs(ByteBuffer classFile) throws IOException {
+        int count = unsignedShort(classFile);
+        for (int i = 0; i < count; i++) {
+            skip(classFile, 2);
+            skipElementValue(classFile);
+        }
+    }
+
+    /**
+     * Skips an element value of an annotation
+     * @param classFile The class file, positioned on the tag of the value
+     * @throws IOException If the element value is invalid
+     */
+    private static void skipElementValue(ByteBuffer classFile) throws IOException {
+        char tag = (char) classFile.get();
+        switch (tag) {
+            case 'B', 'C', 'D', 'F', 'I', 'J', 'S', 'Z', 's', 'c' -> skip(classFile, 2);
+            case 'e' -> skip(classFile, 4);
+            case '@' -> {
+                skip(classFile, 2);
+                skipElementValuePairs(classFile);
+            }
+            case '[' -> {
+                int count = unsignedShort(classFile);
+                for (int i = 0; i < count; i++) {
+                    skipElementValue(classFile);
+                }
+            }
+            default -> throw new IOException("Unknown element value tag " + tag);
+        }
+    }
+
+    /**
+     * Compares the next bytes of a class file with an expected value, without moving the position
+     * @param classFile The class file
+     * @param length The number of bytes to compare
+     * @param expected The expected bytes
+     * @return <code>true</code> if the bytes are equal
+     */
+    private static boolean equals(ByteBuffer classFile, int length, byte[] expected) {
+        if (length != expected.length) {
+            return false;
+        }
+        int position = classFile.position();
+        for (int i = 0; i < length; i++) {
+            if (classFile.get(position + i) != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int unsignedShort(ByteBuffer classFile) {
+        return Short.toUnsignedInt(classFile.getShort());
+    }
+
+    private static void skip(ByteBuffer classFile, int length) {
+        classFile.position(classFile.position() + length);
+    }
+}
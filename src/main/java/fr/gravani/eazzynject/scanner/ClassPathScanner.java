@@ -0,0 +1,560 @@
+package fr.gravani.eazzynject.scanner;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Finds the classes of a package in all the roots of the class path: directories, JAR files,
+ * and directories or JAR files nested in a JAR file (such as the ones of an executable fat JAR).
+ * JAR files are read in place, their entries are never extracted.
+ * <p>
+ * A scan is a fork/join pipeline: each class path root, each sub-directory and each batch of JAR entries
+ * is a task, and the classes are handed to the caller as soon as they are found, from the threads of the pool.
+ */
+public class ClassPathScanner {
+    private static final String CLASS_EXTENSION = ".class";
+
+    /**
+     * Separator between a JAR file and an entry in a <code>jar:</code> URL
+     */
+    private static final String JAR_SEPARATOR = "!/";
+
+    /**
+     * Maximum number of JAR entries handled by a single task
+     */
+    private static final int ENTRIES_PER_TASK = 128;
+
+    /**
+     * Selects the class files to keep, from their bytes
+     */
+    @FunctionalInterface
+    interface ClassFileFilter {
+        /**
+         * Checks whether a class file is kept
+         * @param classFile The bytes of the class file
+         * @return <code>true</code> to keep the class
+         * @throws IOException If the class file is invalid
+         */
+        boolean accept(ByteBuffer classFile) throws IOException;
+    }
+
+    /**
+     * Receives the classes found by a scan. It can be called concurrently from several threads.
+     */
+    @FunctionalInterface
+    public interface ClassNameConsumer {
+        /**
+         * Receives a class found by a scan
+         * @param className The binary name of the class
+         * @throws Exception If the class cannot be handled, which stops the scan
+         */
+        void accept(String className) throws Exception;
+    }
+
+    /**
+     * Reads the bytes of a class file, only when they are needed
+     */
+    @FunctionalInterface
+    private interface ClassFileSource {
+        ByteBuffer read() throws IOException;
+    }
+
+    /**
+     * The class loader used to find the package
+     */
+    private final ClassLoader classLoader;
+
+    /**
+     * The pool running the scan tasks
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * The class path roots with an index, which don't need to be scanned
+     */
+    private final Set<String> indexedRoots = new HashSet<>();
+
+    /**
+     * Creates a scanner running on the common pool
+     * @param classLoader The class loader used to find the packages
+     */
+    public ClassPathScanner(ClassLoader classLoader) {
+        this(classLoader, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a scanner
+     * @param classLoader The class loader used to find the packages
+     * @param pool The pool running the scan tasks
+     */
+    public ClassPathScanner(ClassLoader classLoader, ForkJoinPool pool) {
+        this.classLoader = classLoader;
+        this.pool = pool;
+    }
+
+    /**
+     * Reads the indexes generated at compile time in the class path roots.
+     * The roots with an index are then skipped by the scans.
+     * @param packageName The name of the package
+     * @return The injectable types of the package found in the indexes
+     * @throws IOException If an index cannot be read
+     */
+    public List<InjectableIndex.Entry> readIndexes(String packageName) throws IOException {
+        var entries = new ArrayList<InjectableIndex.Entry>();
+        for (URL indexResource : Collections.list(classLoader.getResources(InjectableIndex.LOCATION))) {
+            if (!indexedRoots.add(getRoot(indexResource, InjectableIndex.LOCATION))) {
+                continue;
+            }
+            try (var reader = new InputStreamReader(indexResource.openStream(), StandardCharsets.UTF_8)) {
+                for (var entry : InjectableIndex.read(reader).getEntries()) {
+                    if (entry.isInPackage(packageName)) {
+                        entries.add(entry);
+                    }
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Finds the binary names of all the classes of a package and its sub-packages
+     * @param packageName The name of the package
+     * @return The binary names of the classes, in no particular order
+     * @throws IOException If a directory or a JAR file cannot be read
+     */
+    public List<String> findClassNames(String packageName) throws IOException {
+        return collect(packageName, null);
+    }
+
+    /**
+     * Finds the binary names of the concrete classes annotated with {@link fr.gravani.eazzynject.annotations.Injectable}
+     * in a package and its sub-packages. The class files are read with {@link ClassFileReader}: the classes are not
+     * loaded, so the class loader only has to load the injectable ones.
+     * @param packageName The name of the package
+     * @return The binary names of the injectable classes, in no particular order
+     * @throws IOException If a directory, a JAR file or a class file cannot be read
+     */
+    public List<String> findInjectableClassNames(String packageName) throws IOException {
+        return collect(packageName, ClassFileReader::isInjectable);
+    }
+
+    /**
+     * Finds the concrete classes annotated with {@link fr.gravani.eazzynject.annotations.Injectable} in a package
+     * and its sub-packages, and hands each of them to a consumer as soon as it is found.
+     * The consumer is called concurrently from the threads of the pool, while the scan goes on.
+     * @param packageName The name of the package
+     * @param consumer The consumer of the binary names of the injectable classes
+     * @throws IOException If a directory, a JAR file or a class file cannot be read
+     * @throws ExecutionException If the consumer throws an exception, which is the cause
+     */
+    public void forEachInjectableClassName(String packageName, ClassNameConsumer consumer)
+            throws IOException, ExecutionException {
+        scan(packageName, ClassFileReader::isInjectable, consumer);
+    }
+
+    /**
+     * Collects the binary names of the classes of a package and its sub-packages
+     * @param packageName The name of the package
+     * @param filter The filter of the class files, <code>null</code> to keep all the classes without reading them
+     * @return The binary names of the classes
+     * @throws IOException If a directory, a JAR file or a class file cannot be read
+     */
+    private List<String> collect(String packageName, ClassFileFilter filter) throws IOException {
+        var classNames = new ConcurrentLinkedQueue<String>();
+        try {
+            scan(packageName, filter, classNames::add);
+        } catch (ExecutionException e) {
+            // Adding to the queue cannot fail
+            throw new IllegalStateException(e.getCause());
+        }
+        return new ArrayList<>(classNames);
+    }
+
+    /**
+     * Scans all the class path roots of a package, except the indexed ones
+     * @param packageName The name of the package
+     * @param filter The filter of the class files, <code>null</code> to keep all the classes without reading them
+     * @param consumer The consumer of the binary names of the classes
+     * @throws IOException If a directory, a JAR file or a class file cannot be read
+     * @throws ExecutionException If the consumer throws an exception
+     */
+    private void scan(String packageName, ClassFileFilter filter, ClassNameConsumer consumer)
+            throws IOException, ExecutionException {
+        String path = packageName.replace('.', '/');
+        var scan = new Scan(path, filter, consumer);
+        var tasks = new ArrayList<RootTask>();
+        Set<String> scannedRoots = new HashSet<>();
+        for (URL resource : Collections.list(classLoader.getResources(path))) {
+            var root = getRoot(resource, path);
+            // A root is scanned once, even if it appears several times in the class path
+            if (!indexedRoots.contains(root) && scannedRoots.add(root)) {
+                tasks.add(new RootTask(resource, scan));
+            }
+        }
+        run(scan, tasks);
+    }
+
+    /**
+     * Finds the classes of a package located at a given URL
+     * @param resource The location of the package, a <code>file:</code> or a <code>jar:</code> URL
+     * @param path The path of the package, with slashes
+     * @param filter The filter of the class files, <code>null</code> to keep all the classes without reading them
+     * @param consumer The consumer of the binary names of the classes
+     * @throws IOException If a directory, a JAR file or a class file cannot be read
+     * @throws ExecutionException If the consumer throws an exception
+     */
+    void scan(URL resource, String path, ClassFileFilter filter, ClassNameConsumer consumer)
+            throws IOException, ExecutionException {
+        var scan = new Scan(path, filter, consumer);
+        run(scan, List.of(new RootTask(resource, scan)));
+    }
+
+    /**
+     * Runs the tasks of a scan in the pool and waits for them
+     * @param scan The scan
+     * @param tasks The tasks of the class path roots
+     * @throws IOException If a directory, a JAR file or a class file cannot be read
+     * @throws ExecutionException If the consumer throws an exception
+     */
+    private void run(Scan scan, List<RootTask> tasks) throws IOException, ExecutionException {
+        if (!tasks.isEmpty()) {
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(tasks);
+                }
+            });
+        }
+        var failure = scan.failure.get();
+        if (failure instanceof IOException e) {
+            throw e;
+        }
+        if (failure instanceof ExecutionException e) {
+            throw e;
+        }
+        if (failure instanceof RuntimeException e) {
+            throw e;
+        }
+    }
+
+    /**
+     * The state shared by the tasks of a scan
+     */
+    private static final class Scan {
+        /**
+         * The path of the package, with slashes
+         */
+        private final String path;
+
+        private final ClassFileFilter filter;
+
+        private final ClassNameConsumer consumer;
+
+        /**
+         * The first failure of a task, which stops the other tasks
+         */
+        private final AtomicReference<Exception> failure = new AtomicReference<>();
+
+        private Scan(String path, ClassFileFilter filter, ClassNameConsumer consumer) {
+            this.path = path;
+            this.filter = filter;
+            this.consumer = consumer;
+        }
+
+        private boolean isFailed() {
+            return failure.get() != null;
+        }
+
+        private void fail(Exception e) {
+            failure.compareAndSet(null, e);
+        }
+
+        /**
+         * Filters a file of the package and hands it to the consumer if it is kept
+         * @param relativeName The name of the file relative to the package directory
+         * @param source The bytes of the file, only read if there is a filter
+         * @throws IOException If the class file cannot be read
+         * @throws ExecutionException If the consumer throws an exception
+         */
+        private void accept(String relativeName, ClassFileSource source) throws IOException, ExecutionException {
+            var className = toClassName(path, relativeName);
+            if (className == null || (filter != null && !filter.accept(source.read()))) {
+                return;
+            }
+            try {
+                consumer.accept(className);
+            } catch (Exception e) {
+                throw new ExecutionException(e);
+            }
+        }
+    }
+
+    /**
+     * Scans a class path root
+     */
+    private static final class RootTask extends RecursiveAction {
+        private final URL resource;
+
+        private final Scan scan;
+
+        private RootTask(URL resource, Scan scan) {
+            this.resource = resource;
+            this.scan = scan;
+        }
+
+        @Override
+        protected void compute() {
+            var event = new ScanRootEvent();
+            event.begin();
+            try {
+                switch (resource.getProtocol()) {
+                    case "file" -> scanDirectory(Paths.get(resource.toURI()), scan);
+                    case "jar" -> scanJar(resource, scan);
+                    default -> {
+                        // Other class path roots (such as remote ones) cannot be listed
+                    }
+                }
+            } catch (URISyntaxException e) {
+                scan.fail(new IOException("Invalid class path location: " + resource, e));
+            } catch (Exception e) {
+                scan.fail(e);
+            }
+            // The tasks forked for the directories and the JAR entries of the root are joined at this point
+            if (event.shouldCommit()) {
+                event.location = resource.toString();
+                event.protocol = resource.getProtocol();
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Scans a directory of a package, and forks a task for each of its sub-directories
+     */
+    private static final class DirectoryTask extends RecursiveAction {
+        /**
+         * The directory of the package
+         */
+        private final Path packageDirectory;
+
+        private final Path directory;
+
+        private final Scan scan;
+
+        private DirectoryTask(Path packageDirectory, Path directory, Scan scan) {
+            this.packageDirectory = packageDirectory;
+            this.directory = directory;
+            this.scan = scan;
+        }
+
+        @Override
+        protected void compute() {
+            var subtasks = new ArrayList<DirectoryTask>();
+            try (var files = Files.newDirectoryStream(directory)) {
+                for (var file : files) {
+                    if (scan.isFailed()) {
+                        break;
+                    }
+                    if (Files.isDirectory(file)) {
+                        var subtask = new DirectoryTask(packageDirectory, file, scan);
+                        subtask.fork();
+                        subtasks.add(subtask);
+                    } else {
+                        scan.accept(packageDirectory.relativize(file).toString(), () -> readClassFile(file));
+                    }
+                }
+            } catch (Exception e) {
+                scan.fail(e);
+            }
+            for (var subtask : subtasks) {
+                subtask.join();
+            }
+        }
+    }
+
+    /**
+     * Scans a range of entries of a JAR file, split into several tasks when the range is large
+     */
+    private static final class JarEntriesTask extends RecursiveAction {
+        private final JarFile jarFile;
+
+        /**
+         * The entries of the JAR file located in the package
+         */
+        private final List<JarEntry> entries;
+
+        private final int from;
+
+        private final int to;
+
+        /**
+         * The length of the path of the package in the names of the entries
+         */
+        private final int prefixLength;
+
+        private final Scan scan;
+
+        private JarEntriesTask(JarFile jarFile, List<JarEntry> entries, int from, int to, int prefixLength,
+                               Scan scan) {
+            this.jarFile = jarFile;
+            this.entries = entries;
+            this.from = from;
+            this.to = to;
+            this.prefixLength = prefixLength;
+            this.scan = scan;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > ENTRIES_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new JarEntriesTask(jarFile, entries, from, middle, prefixLength, scan),
+                        new JarEntriesTask(jarFile, entries, middle, to, prefixLength, scan));
+                return;
+            }
+            try {
+                for (int i = from; i < to && !scan.isFailed(); i++) {
+                    var entry = entries.get(i);
+                    scan.accept(entry.getName().substring(prefixLength), () -> readClassFile(jarFile, entry));
+                }
+            } catch (Exception e) {
+                scan.fail(e);
+            }
+        }
+    }
+
+    /**
+     * Finds the classes of a package in a directory
+     * @param directory The directory of the package
+     * @param scan The scan
+     */
+    private static void scanDirectory(Path directory, Scan scan) {
+        if (Files.isDirectory(directory)) {
+            new DirectoryTask(directory, directory, scan).compute();
+        }
+    }
+
+    /**
+     * Finds the classes of a package in a JAR file, possibly nested into other JAR files
+     * @param resource The <code>jar:</code> URL of the package
+     * @param scan The scan
+     * @throws IOException If a JAR file cannot be read
+     * @throws URISyntaxException If the URL of the JAR file is invalid
+     */
+    private static void scanJar(URL resource, Scan scan) throws IOException, URISyntaxException {
+        var location = resource.toString().substring("jar:".length());
+        var segments = location.split(JAR_SEPARATOR);
+        var jarPath = Paths.get(new URI(segments[0]));
+
+        if (segments.length <= 2) {
+            // The package is directly in the JAR file: the entries are listed from the central directory
+            var prefix = scan.path.isEmpty() ? "" : scan.path + "/";
+            try (var jarFile = new JarFile(jarPath.toFile())) {
+                var entries = jarFile.stream()
+                        .filter(entry -> !entry.isDirectory() && entry.getName().startsWith(prefix))
+                        .toList();
+                new JarEntriesTask(jarFile, entries, 0, entries.size(), prefix.length(), scan).compute();
+            }
+            return;
+        }
+
+        // The package is in a directory or a JAR file nested into the JAR file
+        var fileSystems = new ArrayDeque<FileSystem>();
+        try {
+            var fileSystem = FileSystems.newFileSystem(jarPath);
+            fileSystems.push(fileSystem);
+            var base = fileSystem.getPath("/");
+            for (int i = 1; i < segments.length - 1; i++) {
+                var nested = base.resolve(segments[i]);
+                if (Files.isDirectory(nested)) {
+                    base = nested;
+                } else {
+                    fileSystem = FileSystems.newFileSystem(nested);
+                    fileSystems.push(fileSystem);
+                    base = fileSystem.getPath("/");
+                }
+            }
+            scanDirectory(base.resolve(scan.path), scan);
+        } finally {
+            while (!fileSystems.isEmpty()) {
+                fileSystems.pop().close();
+            }
+        }
+    }
+
+    /**
+     * Reads a class file with a single channel read
+     * @param file The class file, on the default file system or in a zip file system
+     * @return The bytes of the class file
+     * @throws IOException If the file cannot be read
+     */
+    private static ByteBuffer readClassFile(Path file) throws IOException {
+        try (var channel = Files.newByteChannel(file)) {
+            var classFile = ByteBuffer.allocate((int) channel.size());
+            while (classFile.hasRemaining() && channel.read(classFile) >= 0) {
+                // Reads until the buffer is full
+            }
+            return classFile.flip();
+        }
+    }
+
+    /**
+     * Reads a class file of a JAR file, inflated from its entry
+     * @param jarFile The JAR file
+     * @param entry The entry of the class file
+     * @return The bytes of the class file
+     * @throws IOException If the entry cannot be read
+     */
+    private static ByteBuffer readClassFile(JarFile jarFile, JarEntry entry) throws IOException {
+        try (var input = jarFile.getInputStream(entry)) {
+            return ByteBuffer.wrap(input.readAllBytes());
+        }
+    }
+
+    /**
+     * Gets the binary name of a class file
+     * @param path The path of the package, with slashes
+     * @param relativeName The name of the file relative to the package directory
+     * @return The binary name of the class, <code>null</code> if the file is not a class
+     */
+    private static String toClassName(String path, String relativeName) {
+        if (!relativeName.endsWith(CLASS_EXTENSION)
+                || relativeName.endsWith("module-info.class") || relativeName.endsWith("package-info.class")) {
+            return null;
+        }
+        var name = relativeName.substring(0, relativeName.length() - CLASS_EXTENSION.length())
+                .replace('\\', '/');
+        var fullName = path.isEmpty() ? name : path + "/" + name;
+        return fullName.replace('/', '.');
+    }
+
+    /**
+     * Gets the class path root of a resource
+     * @param resource The location of the resource
+     * @param resourceName The name of the resource
+     * @return The location of the class path root containing the resource
+     */
+    static String getRoot(URL resource, String resourceName) {
+        var location = resource.toString();
+        if (location.endsWith("/")) {
+            location = location.substring(0, location.length() - 1);
+        }
+        return location.endsWith(resourceName)
+                ? location.substring(0, location.length() - resourceName.length())
+                : location;
+    }
+}
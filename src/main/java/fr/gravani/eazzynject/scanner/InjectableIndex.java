@@ -0,0 +1,145 @@
+package fr.gravani.eazzynject.scanner;
+
+import lombok.Getter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Index of the injectable types of a class path root, generated at compile time by the
+ * <code>eazzynject-processor</code> module. When a root contains an index, the package scanner reads it
+ * instead of listing and loading every class of the root.
+ * <p>
+ * Each line describes an injectable type: its binary name, the binary names of its super classes and
+ * interfaces separated by commas, and its tag if it has one, separated by tabulations.
+ */
+public final class InjectableIndex {
+    /**
+     * Location of the index in a class path root
+     */
+    public static final String LOCATION = "META-INF/eazzynject/injectables";
+
+    /**
+     * The injectable types of the index
+     */
+    @Getter
+    private final List<Entry> entries;
+
+    /**
+     * Creates an index
+     * @param entries The injectable types
+     */
+    public InjectableIndex(List<Entry> entries) {
+        this.entries = List.copyOf(entries);
+    }
+
+    /**
+     * Reads an index
+     * @param reader The reader of the index resource
+     * @return The index
+     * @throws IOException If an I/O error occurs
+     */
+    public static InjectableIndex read(Reader reader) throws IOException {
+        var entries = new ArrayList<Entry>();
+        var bufferedReader = new BufferedReader(reader);
+        String line;
+        while ((line = bufferedReader.readLine()) != null) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            var columns = line.split("\t", -1);
+            var superTypes = columns.length > 1 && !columns[1].isEmpty()
+                    ? Arrays.asList(columns[1].split(",")) : List.<String>of();
+            var tag = columns.length > 2 ? unescape(columns[2]) : null;
+            entries.add(new Entry(columns[0], tag, superTypes));
+        }
+        return new InjectableIndex(entries);
+    }
+
+    /**
+     * Writes the index
+     * @param writer The writer of the index resource
+     * @throws IOException If an I/O error occurs
+     */
+    public void write(Writer writer) throws IOException {
+        writer.write("# Injectable types, generated by eazzynject-processor\n");
+        for (var entry : entries) {
+            writer.write(entry.getClassName());
+            writer.write('\t');
+            writer.write(String.join(",", entry.getSuperTypes()));
+            if (entry.getTag() != null) {
+                writer.write('\t');
+                writer.write(escape(entry.getTag()));
+            }
+            writer.write('\n');
+        }
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    private static String unescape(String value) {
+        var unescaped = new StringBuilder();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                c = switch (value.charAt(++i)) {
+                    case 't' -> '\t';
+                    case 'n' -> '\n';
+                    case 'r' -> '\r';
+                    default -> value.charAt(i);
+                };
+            }
+            unescaped.append(c);
+        }
+        return unescaped.toString();
+    }
+
+    /**
+     * An injectable type of the index
+     */
+    @Getter
+    public static final class Entry {
+        /**
+         * The binary name of the injectable type
+         */
+        private final String className;
+
+        /**
+         * The tag of the injectable type, <code>null</code> if it has none
+         */
+        private final String tag;
+
+        /**
+         * The binary names of the super classes and interfaces the type is registered with
+         */
+        private final List<String> superTypes;
+
+        /**
+         * Creates an entry of the index
+         * @param className The binary name of the injectable type
+         * @param tag The tag of the injectable type, can be <code>null</code>
+         * @param superTypes The binary names of the super classes and interfaces of the type
+         */
+        public Entry(String className, String tag, List<String> superTypes) {
+            this.className = className;
+            this.tag = tag;
+            this.superTypes = List.copyOf(superTypes);
+        }
+
+        /**
+         * Checks whether the type belongs to a package or one of its sub-packages
+         * @param packageName The name of the package
+         * @return <code>true</code> if the type is in the package
+         */
+        public boolean isInPackage(String packageName) {
+            return packageName.isEmpty() || className.startsWith(packageName + ".");
+        }
+    }
+}
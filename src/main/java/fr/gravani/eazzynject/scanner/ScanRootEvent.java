@@ -0,0 +1,23 @@
+package fr.gravani.eazzynject.scanner;
+
+import jdk.jfr.*;
+
+/**
+ * Java Flight Recorder event of the scan of a package in one class path root, a directory or a JAR file.
+ * Disabled by default.
+ */
+@Name("fr.gravani.eazzynject.ScanRoot")
+@Label("Class Path Root Scan")
+@Category({ "Eazzynject", "Scan" })
+@Description("Scan of a package in a directory or a JAR file of the class path")
+@Enabled(false)
+@StackTrace(false)
+final class ScanRootEvent extends Event {
+    @Label("Location")
+    @Description("The URL of the package in the class path root")
+    String location;
+
+    @Label("Protocol")
+    @Description("The protocol of the location, file for a directory and jar for a JAR file")
+    String protocol;
+}
@@ -0,0 +1,192 @@
+package fr.gravani.eazzynject;
+
+import fr.gravani.eazzynject.annotations.Inject;
+import fr.gravani.eazzynject.annotations.PerGraph;
+import fr.gravani.eazzynject.annotations.Singleton;
+import fr.gravani.eazzynject.exceptions.CyclicDependenciesException;
+import fr.gravani.eazzynject.exceptions.ImplementationNotFoundException;
+import lombok.Getter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncInstantiationTest {
+    Container container;
+    ExecutorService executor;
+
+    /**
+     * Only passed when both connections are being created at the same time
+     */
+    static CyclicBarrier barrier;
+
+    static CountDownLatch release;
+
+    static final AtomicInteger CREATED_CACHES = new AtomicInteger();
+
+    @Singleton
+    static class Database {
+        Database() throws Exception {
+            barrier.await(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Singleton
+    static class MessageBroker {
+        MessageBroker() throws Exception {
+            barrier.await(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @PerGraph
+    static class RequestContext {
+    }
+
+    static class Application {
+        @Getter
+        private final Database database;
+
+        @Getter
+        private final MessageBroker broker;
+
+        @Inject
+        @Getter
+        private RequestContext context;
+
+        @Inject
+        @Getter
+        private Handler handler;
+
+        @Inject
+        Application(Database database, MessageBroker broker) {
+            this.database = database;
+            this.broker = broker;
+        }
+    }
+
+    static class Handler {
+        @Inject
+        @Getter
+        private RequestContext context;
+    }
+
+    @Singleton
+    static class Cache {
+        Cache() throws Exception {
+            CREATED_CACHES.incrementAndGet();
+            release.await(5, TimeUnit.SECONDS);
+        }
+    }
+
+    static class Service {
+        @Inject
+        @Getter
+        private CompletionStage<Cache> cache;
+    }
+
+    static class CycleA {
+        @Inject
+        private CycleB b;
+    }
+
+    static class CycleB {
+        @Inject
+        private CycleA a;
+    }
+
+    static class StageCycleA {
+        @Inject
+        private CompletionStage<StageCycleB> b;
+    }
+
+    static class StageCycleB {
+        @Inject
+        private StageCycleA a;
+    }
+
+    @BeforeEach
+    void setUpContainer() throws Exception {
+        container = new Container();
+        executor = Executors.newFixedThreadPool(4);
+        barrier = new CyclicBarrier(2);
+        release = new CountDownLatch(1);
+        CREATED_CACHES.set(0);
+        for (var type : new Class<?>[] { Database.class, MessageBroker.class, RequestContext.class,
+                Application.class, Handler.class, Cache.class, Service.class, CycleA.class, CycleB.class,
+                StageCycleA.class, StageCycleB.class }) {
+            container.registerMapping(type, type);
+        }
+    }
+
+    @AfterEach
+    void shutDownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testSiblingsCreatedInParallel() throws Exception {
+        var application = container.instantiateAsync(Application.class, executor).get(10, TimeUnit.SECONDS);
+        assertNotNull(application.getDatabase());
+        assertNotNull(application.getBroker());
+        assertSame(application.getDatabase(), container.instantiate(Database.class));
+        // Shared inside the graph built by the call
+        assertNotNull(application.getContext());
+        assertSame(application.getContext(), application.getHandler().getContext());
+    }
+
+    @Test
+    void testSingletonCreatedOnce() throws Exception {
+        var first = container.instantiateAsync(Cache.class, executor);
+        var second = container.instantiateAsync(Cache.class, executor);
+        assertFalse(first.isDone());
+        release.countDown();
+        assertSame(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS));
+        assertSame(first.get(), container.instantiate(Cache.class));
+        assertEquals(1, CREATED_CACHES.get());
+    }
+
+    @Test
+    void testCompletionStageInjection() throws Exception {
+        container.setAsyncExecutor(executor);
+        // Does not wait for the singleton
+        var service = container.instantiate(Service.class);
+        var cache = service.getCache().toCompletableFuture();
+        assertFalse(cache.isDone());
+        // Another type waiting for the same singleton
+        var other = container.instantiate(Service.class).getCache().toCompletableFuture();
+        release.countDown();
+        assertSame(cache.get(10, TimeUnit.SECONDS), other.get(10, TimeUnit.SECONDS));
+        assertSame(cache.get(), container.instantiate(Cache.class));
+        assertEquals(1, CREATED_CACHES.get());
+        // The injected stage cannot be completed by the type
+        assertThrows(UnsupportedOperationException.class,
+                () -> ((CompletableFuture<?>) service.getCache()).complete(null));
+    }
+
+    @Test
+    void testFailures() {
+        var missing = container.instantiateAsync(Runnable.class, executor);
+        var exception = assertThrows(ExecutionException.class, () -> missing.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(ImplementationNotFoundException.class, exception.getCause());
+
+        var cycle = container.instantiateAsync(CycleA.class, executor);
+        exception = assertThrows(ExecutionException.class, () -> cycle.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(CyclicDependenciesException.class, exception.getCause());
+    }
+
+    @Test
+    void testCycleThroughCompletionStage() {
+        container.setAsyncExecutor(executor);
+        // Each instance would start the creation of another one in the background
+        assertThrows(CyclicDependenciesException.class, () -> container.instantiate(StageCycleA.class));
+        assertThrows(CyclicDependenciesException.class, () -> container.instantiate(StageCycleB.class));
+
+        var cycle = container.instantiateAsync(StageCycleA.class, executor);
+        var exception = assertThrows(ExecutionException.class, () -> cycle.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(CyclicDependenciesException.class, exception.getCause());
+    }
+}
@@ -0,0 +1,198 @@
+package fr.gravani.eazzynject;
+
+import fr.gravani.eazzynject.annotations.Inject;
+import fr.gravani.eazzynject.annotations.Tag;
+import fr.gravani.eazzynject.exceptions.CyclicDependenciesException;
+import fr.gravani.eazzynject.exceptions.ImplementationAmbiguityException;
+import fr.gravani.eazzynject.exceptions.ImplementationNotFoundException;
+import lombok.Getter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BindingTest {
+    Container container;
+
+    interface Operator {
+        int act(int a, int b);
+    }
+
+    static class AddOperator implements Operator {
+        @Override
+        public int act(int a, int b) {
+            return a + b;
+        }
+    }
+
+    @Tag("multiply")
+    static class MultiplyOperator implements Operator {
+        @Override
+        public int act(int a, int b) {
+            return a * b;
+        }
+    }
+
+    static class Offset {
+        @Getter
+        private final int value;
+
+        Offset(int value) {
+            this.value = value;
+        }
+    }
+
+    static class Calculator {
+        @Inject
+        @Tag("add")
+        @Getter
+        private Operator add;
+
+        @Inject
+        @Getter
+        private Offset offset;
+
+        @Inject
+        @Getter
+        private Map<String, Operator> operators;
+
+        @Inject
+        @Getter
+        private List<Operator> operatorList;
+    }
+
+    interface Clock {
+    }
+
+    /**
+     * Needs the clock, whose factory creates a scheduler
+     */
+    static class Scheduler {
+        @Inject
+        private Clock clock;
+    }
+
+    @BeforeEach
+    void setUpContainer() {
+        container = new Container();
+    }
+
+    @Test
+    void testFactory() throws Exception {
+        container.bind(Operator.class).tagged("add").toFactory(c -> new AddOperator());
+        var first = container.instantiate(Operator.class, "add");
+        assertEquals(3, first.act(1, 2));
+        assertNotSame(first, container.instantiate(Operator.class, "add"));
+        // A single binding is used without a tag
+        assertInstanceOf(AddOperator.class, container.instantiate(Operator.class));
+    }
+
+    @Test
+    void testInstanceAndSupplier() throws Exception {
+        var offset = new Offset(42);
+        container.bind(Offset.class).toInstance(offset);
+        container.bind(Operator.class).tagged("add").toSupplier(AddOperator::new);
+        container.bind(Operator.class).to(MultiplyOperator.class);
+        container.bind(Calculator.class).to(Calculator.class);
+
+        for (var mode : ResolverMode.values()) {
+            container.setResolverMode(mode);
+            var calculator = container.instantiate(Calculator.class);
+            assertSame(offset, calculator.getOffset());
+            assertEquals(3, calculator.getAdd().act(1, 2));
+            assertEquals(List.of("add", "multiply"), List.copyOf(calculator.getOperators().keySet()));
+            assertEquals(6, calculator.getOperators().get("multiply").act(2, 3));
+            assertEquals(2, calculator.getOperatorList().size());
+        }
+    }
+
+    @Test
+    void testFactoryResolvesDependencies() throws Exception {
+        container.bind(Offset.class).tagged("base").toInstance(new Offset(10));
+        container.bind(Operator.class).toFactory(c -> {
+            try {
+                int offset = c.instantiate(Offset.class, "base").getValue();
+                return (a, b) -> a + b + offset;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertEquals(13, container.instantiate(Operator.class).act(1, 2));
+    }
+
+    @Test
+    void testConflictingTags() throws Exception {
+        container.bind(Operator.class).to(MultiplyOperator.class);
+        assertThrows(ImplementationAmbiguityException.class,
+                () -> container.bind(Operator.class).tagged("multiply").toFactory(c -> new AddOperator()));
+        container.bind(Operator.class).toFactory(c -> new AddOperator());
+        assertThrows(ImplementationAmbiguityException.class,
+                () -> container.bind(Operator.class).toInstance(new AddOperator()));
+        // Like two classes, a class and a binding cannot be distinguished without a tag
+        assertThrows(ImplementationAmbiguityException.class, () -> container.instantiate(Operator.class));
+        assertInstanceOf(MultiplyOperator.class, container.instantiate(Operator.class, "multiply"));
+    }
+
+    @Test
+    void testMissingTag() throws Exception {
+        container.bind(Operator.class).tagged("add").toFactory(c -> new AddOperator());
+        assertThrows(ImplementationNotFoundException.class, () -> container.instantiate(Operator.class, "missing"));
+        assertThrows(ImplementationNotFoundException.class, () -> container.instantiate(Offset.class));
+    }
+
+    /**
+     * Gets an instance from the container inside a factory, which cannot throw the checked exceptions
+     * @param container The container given to the factory
+     * @param type The base type
+     * @return The instance
+     */
+    private static <T> T instantiate(Container container, Class<T> type) {
+        try {
+            return container.instantiate(type);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    void testSelfReferencingFactory() throws Exception {
+        container.bind(Operator.class).toFactory(c -> instantiate(c, Operator.class));
+        var exception = assertThrows(CyclicDependenciesException.class, () -> container.instantiate(Operator.class));
+        assertTrue(exception.getMessage().contains(Operator.class.getName()));
+        // The failed call does not leave the binding marked as being created
+        assertThrows(CyclicDependenciesException.class, () -> container.instantiate(Operator.class));
+    }
+
+    @Test
+    void testCycleThroughBinding() throws Exception {
+        container.bind(Clock.class).toFactory(c -> {
+            instantiate(c, Scheduler.class);
+            return new Clock() {
+            };
+        });
+        container.bind(Scheduler.class).to(Scheduler.class);
+        for (var mode : ResolverMode.values()) {
+            container.setResolverMode(mode);
+            assertThrows(CyclicDependenciesException.class, () -> container.instantiate(Scheduler.class));
+            assertThrows(CyclicDependenciesException.class, () -> container.instantiate(Clock.class));
+        }
+
+        var executor = Executors.newFixedThreadPool(2);
+        try {
+            var future = container.instantiateAsync(Scheduler.class, executor);
+            var exception = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(CyclicDependenciesException.class, exception.getCause());
+        } finally {
+            executor.shutdown();
+        }
+
+        container.seal();
+        assertThrows(CyclicDependenciesException.class, () -> container.instantiate(Scheduler.class));
+    }
+}
@@ -0,0 +1,118 @@
+package fr.gravani.eazzynject;
+
+import fr.gravani.eazzynject.annotations.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConstructionWatchdogTest {
+    private static final Logger LOGGER = Logger.getLogger(ConstructionWatchdog.class.getName());
+
+    Container container;
+
+    final List<String> reports = new CopyOnWriteArrayList<>();
+
+    final Handler handler = new Handler() {
+        @Override
+        public void publish(LogRecord record) {
+            reports.add(record.getMessage());
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    static class SlowClient {
+        SlowClient() throws InterruptedException {
+            Thread.sleep(300);
+        }
+    }
+
+    static class Repository {
+        @Inject
+        private SlowClient client;
+    }
+
+    static class Service {
+        @Inject
+        private Repository repository;
+    }
+
+    static class FastService {
+    }
+
+    @BeforeEach
+    void setUpContainer() throws Exception {
+        container = new Container();
+        for (var type : new Class<?>[] { SlowClient.class, Repository.class, Service.class, FastService.class }) {
+            container.registerMapping(type, type);
+        }
+        LOGGER.addHandler(handler);
+    }
+
+    @AfterEach
+    void stopWatchdog() {
+        container.stopWatchdog();
+        LOGGER.removeHandler(handler);
+    }
+
+    private void assertSlowClientReported() {
+        var report = reports.stream()
+                .filter(message -> message.startsWith("The creation of " + SlowClient.class.getName()))
+                .findFirst().orElseThrow();
+        assertTrue(report.contains("Resolution path: " + Service.class.getName() + " -> "
+                + Repository.class.getName() + " -> " + SlowClient.class.getName() + "\n"));
+        assertTrue(report.contains("java.lang.Thread.sleep("));
+        assertTrue(report.contains(SlowClient.class.getName() + ".<init>"));
+    }
+
+    @Test
+    void testRecursiveResolver() throws Exception {
+        container.startWatchdog(Duration.ofMillis(50));
+        assertNotNull(container.instantiate(Service.class));
+        assertSlowClientReported();
+        // The slow creation is reported once, not again for the types waiting for it
+        assertEquals(1, reports.stream().filter(message -> message.contains("Repository has been")).count()
+                + reports.stream().filter(message -> message.contains("SlowClient has been")).count());
+    }
+
+    @Test
+    void testIterativeResolver() throws Exception {
+        container.setResolverMode(ResolverMode.ITERATIVE);
+        container.startWatchdog(Duration.ofMillis(50));
+        container.instantiate(Service.class);
+        assertSlowClientReported();
+    }
+
+    @Test
+    void testSealedResolver() throws Exception {
+        container.seal();
+        container.startWatchdog(Duration.ofMillis(50));
+        container.instantiate(Service.class);
+        assertSlowClientReported();
+    }
+
+    @Test
+    void testFastAndStopped() throws Exception {
+        container.startWatchdog(Duration.ofMillis(50));
+        container.instantiate(FastService.class);
+        container.stopWatchdog();
+        container.instantiate(Service.class);
+        assertTrue(reports.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> container.startWatchdog(Duration.ZERO));
+    }
+}
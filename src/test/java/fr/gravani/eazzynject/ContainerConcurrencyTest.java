@@ -0,0 +1,122 @@
+package fr.gravani.eazzynject;
+
+import fr.gravani.eazzynject.annotations.Inject;
+import fr.gravani.eazzynject.annotations.Singleton;
+import fr.gravani.eazzynject.exceptions.CyclicDependenciesException;
+import lombok.Getter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ContainerConcurrencyTest {
+    private static final int THREADS = 8;
+
+    private static final int ITERATIONS = 200;
+
+    Container container;
+
+    static final AtomicInteger CREATED_CONFIGURATIONS = new AtomicInteger();
+
+    @Singleton
+    static class SlowConfiguration {
+        public SlowConfiguration() throws InterruptedException {
+            CREATED_CONFIGURATIONS.incrementAndGet();
+            Thread.sleep(50);
+        }
+    }
+
+    static class Repository {
+        @Inject
+        @Getter
+        private SlowConfiguration configuration;
+    }
+
+    static class Service {
+        @Getter
+        private final Repository repository;
+
+        @Inject
+        public Service(Repository repository) {
+            this.repository = repository;
+        }
+    }
+
+    static class CycleA {
+        @Inject
+        private CycleB cycleB;
+    }
+
+    static class CycleB {
+        @Inject
+        private CycleA cycleA;
+    }
+
+    @BeforeEach
+    void setUpContainer() {
+        container = new Container();
+        CREATED_CONFIGURATIONS.set(0);
+    }
+
+    @Test
+    void testSingletonCreatedOnce() throws Exception {
+        container.registerMapping(SlowConfiguration.class, SlowConfiguration.class);
+        container.registerMapping(Repository.class, Repository.class);
+        container.registerMapping(Service.class, Service.class);
+
+        var services = runConcurrently(() -> container.instantiate(Service.class));
+
+        assertEquals(1, CREATED_CONFIGURATIONS.get());
+        var configuration = services.get(0).getRepository().getConfiguration();
+        for (var service : services) {
+            assertNotNull(service);
+            assertSame(configuration, service.getRepository().getConfiguration());
+        }
+    }
+
+    @Test
+    void testConcurrentCycleDetection() throws Exception {
+        container.registerMapping(CycleA.class, CycleA.class);
+        container.registerMapping(CycleB.class, CycleB.class);
+        container.registerMapping(Repository.class, Repository.class);
+        container.registerMapping(SlowConfiguration.class, SlowConfiguration.class);
+
+        var results = runConcurrently(() -> {
+            assertNotNull(container.instantiate(Repository.class));
+            return assertThrows(CyclicDependenciesException.class, () -> container.instantiate(CycleA.class));
+        });
+
+        for (var exception : results) {
+            assertTrue(exception.getMessage().contains("CycleA"));
+            assertTrue(exception.getMessage().contains("CycleB"));
+            assertFalse(exception.getMessage().contains("Repository"));
+        }
+    }
+
+    private <T> List<T> runConcurrently(Callable<T> task) throws Exception {
+        var executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            var start = new CountDownLatch(1);
+            var futures = new ArrayList<Future<T>>();
+            for (int i = 0; i < ITERATIONS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            var results = new ArrayList<T>();
+            for (var future : futures) {
+                results.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
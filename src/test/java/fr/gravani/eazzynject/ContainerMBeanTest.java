@@ -0,0 +1,178 @@
+package fr.gravani.eazzynject;
+
+import fr.gravani.eazzynject.annotations.Inject;
+import fr.gravani.eazzynject.annotations.Singleton;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.JMX;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ContainerMBeanTest {
+    Container container;
+
+    @Singleton
+    static class Configuration {
+        private long timeout;
+    }
+
+    static class SlowRepository {
+        @Inject
+        private Configuration configuration;
+
+        SlowRepository() throws InterruptedException {
+            Thread.sleep(2);
+        }
+    }
+
+    static class Service {
+        @Inject
+        private SlowRepository repository;
+
+        @Inject
+        private Provider<Configuration> configuration;
+
+        @Inject
+        private Runnable missing;
+    }
+
+    @Singleton
+    static class NoConstructor {
+        NoConstructor(int value) {
+        }
+    }
+
+    @BeforeEach
+    void setUpContainer() throws Exception {
+        container = new Container();
+        for (var type : new Class<?>[] { Configuration.class, SlowRepository.class, Service.class }) {
+            container.registerMapping(type, type);
+        }
+    }
+
+    @AfterEach
+    void unregister() throws Exception {
+        container.unregisterMBean();
+    }
+
+    @Test
+    void testAttributes() throws Exception {
+        var name = container.registerMBean();
+        assertEquals(name, container.registerMBean());
+        container.instantiate(SlowRepository.class);
+        container.instantiate(SlowRepository.class);
+
+        var server = ManagementFactory.getPlatformMBeanServer();
+        assertEquals(3, server.getAttribute(name, "BindingCount"));
+        assertEquals(1, server.getAttribute(name, "SingletonCount"));
+        // The header and the long field
+        assertEquals(24L, server.getAttribute(name, "SingletonSizeEstimate"));
+        var statistics = (CompositeData[]) server.getAttribute(name, "TypeStatistics");
+        assertEquals(2, statistics.length);
+        assertEquals(Configuration.class.getName(), statistics[0].get("type"));
+        assertEquals(1L, statistics[0].get("singletonHits"));
+
+        var slowest = (CompositeData[]) server.invoke(name, "slowestTypes", new Object[] { 1 },
+                new String[] { int.class.getName() });
+        assertEquals(1, slowest.length);
+        assertEquals(SlowRepository.class.getName(), slowest[0].get("type"));
+        assertTrue((long) slowest[0].get("meanInstantiationNanos") >= TimeUnit.MILLISECONDS.toNanos(2));
+
+        container.unregisterMBean();
+        assertFalse(server.isRegistered(name));
+    }
+
+    @Test
+    void testOperations() throws Exception {
+        var name = container.registerMBean();
+        var proxy = JMX.newMXBeanProxy(ManagementFactory.getPlatformMBeanServer(), name, ContainerMXBean.class);
+
+        var graph = proxy.dumpGraph();
+        assertTrue(graph.contains(Configuration.class.getName() + " (singleton)"));
+        assertTrue(graph.contains("    " + SlowRepository.class.getName() + " -> " + SlowRepository.class.getName()));
+        assertTrue(graph.contains("Provider<" + Configuration.class.getName() + "> -> "));
+        assertTrue(graph.contains("java.lang.Runnable -> ImplementationNotFoundException"));
+
+        proxy.warmUpSingletons();
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            while (proxy.getSingletonCount() == 0) {
+                Thread.sleep(1);
+            }
+        });
+    }
+
+    @Test
+    void testReadUnderLoad() throws Exception {
+        var name = container.registerMBean();
+        var proxy = JMX.newMXBeanProxy(ManagementFactory.getPlatformMBeanServer(), name, ContainerMXBean.class);
+        var executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int i = 0; i < 4; i++) {
+                executor.execute(() -> {
+                    for (int j = 0; j < 50; j++) {
+                        try {
+                            container.instantiate(SlowRepository.class);
+                        } catch (Exception e) {
+                            throw new IllegalStateException(e);
+                        }
+                    }
+                });
+            }
+            while (proxy.getTypeStatistics().size() < 2) {
+                Thread.sleep(1);
+            }
+            assertFalse(proxy.slowestTypes(10).isEmpty());
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+        var repository = proxy.getTypeStatistics().stream()
+                .filter(statistics -> statistics.getType().equals(SlowRepository.class.getName()))
+                .findFirst().orElseThrow();
+        assertEquals(200, repository.getInstantiations());
+        assertEquals(200, repository.getResolutions());
+    }
+
+    @Test
+    void testWarmUpFailureLogged() throws Exception {
+        container.registerMapping(NoConstructor.class, NoConstructor.class);
+        var proxy = JMX.newMXBeanProxy(ManagementFactory.getPlatformMBeanServer(), container.registerMBean(),
+                ContainerMXBean.class);
+        var logged = new CountDownLatch(1);
+        var handler = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                if (record.getThrown() != null) {
+                    logged.countDown();
+                }
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        var logger = Logger.getLogger(ContainerManagement.class.getName());
+        logger.addHandler(handler);
+        try {
+            proxy.warmUpSingletons();
+            assertTrue(logged.await(10, TimeUnit.SECONDS));
+        } finally {
+            logger.removeHandler(handler);
+        }
+    }
+}
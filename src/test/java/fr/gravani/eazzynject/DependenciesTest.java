@@ -0,0 +1,69 @@
+package fr.gravani.eazzynject;
+
+import fr.gravani.eazzynject.exceptions.ImplementationAmbiguityException;
+import fr.gravani.eazzynject.exceptions.ImplementationNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DependenciesTest {
+    Dependencies dependencies;
+
+    interface Operator {
+    }
+
+    static class AddOperator implements Operator {
+    }
+
+    static class SubtractOperator implements Operator {
+    }
+
+    interface Bank {
+    }
+
+    static class CreditAgricool implements Bank {
+    }
+
+    @BeforeEach
+    void setUpDependencies() {
+        dependencies = new Dependencies();
+    }
+
+    @Test
+    void testFindWithoutTag() throws Exception {
+        dependencies.put(Bank.class, CreditAgricool.class, null);
+        dependencies.put(Operator.class, AddOperator.class, "add");
+
+        assertEquals(CreditAgricool.class, dependencies.findImplementationFromBaseClass(Bank.class, null));
+        assertEquals(AddOperator.class, dependencies.findImplementationFromBaseClass(Operator.class, null));
+    }
+
+    @Test
+    void testFindWithTag() throws Exception {
+        dependencies.put(Operator.class, AddOperator.class, "add");
+        dependencies.put(Operator.class, SubtractOperator.class, "subtract");
+
+        assertEquals(AddOperator.class, dependencies.findImplementationFromBaseClass(Operator.class, "add"));
+        assertEquals(SubtractOperator.class,
+                dependencies.findImplementationFromBaseClass(Operator.class, "subtract"));
+        assertThrows(ImplementationNotFoundException.class,
+                () -> dependencies.findImplementationFromBaseClass(Operator.class, "multiply"));
+        assertThrows(ImplementationAmbiguityException.class,
+                () -> dependencies.findImplementationFromBaseClass(Operator.class, null));
+    }
+
+    @Test
+    void testUnknownBaseType() {
+        assertThrows(ImplementationNotFoundException.class,
+                () -> dependencies.findImplementationFromBaseClass(Bank.class, null));
+    }
+
+    @Test
+    void testDuplicatedTag() throws Exception {
+        dependencies.put(Operator.class, AddOperator.class, "add");
+        assertThrows(ImplementationAmbiguityException.class,
+                () -> dependencies.put(Operator.class, SubtractOperator.class, "add"));
+        assertEquals(AddOperator.class, dependencies.findImplementationFromBaseClass(Operator.class, null));
+    }
+}
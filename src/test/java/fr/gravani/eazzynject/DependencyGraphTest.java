@@ -0,0 +1,135 @@
+package fr.gravani.eazzynject;
+
+import fr.gravani.eazzynject.annotations.Inject;
+import fr.gravani.eazzynject.annotations.Tag;
+import fr.gravani.eazzynject.exceptions.CyclicDependenciesException;
+import fr.gravani.eazzynject.exceptions.ImplementationNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DependencyGraphTest {
+    Container container;
+
+    static final AtomicInteger CREATED_INSTANCES = new AtomicInteger();
+
+    static class Entry {
+        @Inject
+        Entry(First first) {
+            CREATED_INSTANCES.incrementAndGet();
+        }
+    }
+
+    static class First {
+        @Inject
+        First(Second second) {
+            CREATED_INSTANCES.incrementAndGet();
+        }
+    }
+
+    static class Second {
+        @Inject
+        private Third third;
+
+        @Inject
+        private Leaf leaf;
+
+        Second() {
+            CREATED_INSTANCES.incrementAndGet();
+        }
+    }
+
+    static class Third {
+        @Inject
+        void setFirst(First first) {
+        }
+    }
+
+    static class Leaf {
+        Leaf() {
+            CREATED_INSTANCES.incrementAndGet();
+        }
+    }
+
+    static class SelfDependent {
+        @Inject
+        private SelfDependent self;
+    }
+
+    interface Plugin {
+    }
+
+    static class Host {
+        @Inject
+        @Tag("late")
+        private Plugin plugin;
+    }
+
+    @Tag("late")
+    static class LatePlugin implements Plugin {
+        @Inject
+        private Host host;
+    }
+
+    @BeforeEach
+    void setUpContainer() {
+        container = new Container();
+        CREATED_INSTANCES.set(0);
+    }
+
+    private void registerAll(Class<?>... types) throws Exception {
+        for (var type : types) {
+            container.registerMapping(type, type);
+        }
+    }
+
+    @Test
+    void testCyclePath() throws Exception {
+        registerAll(Entry.class, First.class, Second.class, Third.class, Leaf.class);
+
+        var graph = new DependencyGraph(container);
+        assertEquals(List.of(First.class, Second.class, Third.class, First.class), graph.findCycle(First.class));
+        // The types of a cycle share the cycle found first
+        assertEquals(List.of(First.class, Second.class, Third.class, First.class), graph.findCycle(Second.class));
+        // Entry is not in the cycle but depends on it
+        assertEquals(List.of(First.class, Second.class, Third.class, First.class), graph.findCycle(Entry.class));
+        assertEquals(List.of(), graph.findCycle(Leaf.class));
+    }
+
+    @Test
+    void testCycleDetectedBeforeCreation() throws Exception {
+        registerAll(Entry.class, First.class, Second.class, Third.class, Leaf.class);
+
+        var exception = assertThrows(CyclicDependenciesException.class, () -> container.instantiate(Entry.class));
+        assertEquals("Found circular dependencies with classes: " + First.class.getName() + " -> "
+                + Second.class.getName() + " -> " + Third.class.getName() + " -> " + First.class.getName(),
+                exception.getMessage());
+        assertEquals(0, CREATED_INSTANCES.get());
+
+        assertNotNull(container.instantiate(Leaf.class));
+        assertEquals(1, CREATED_INSTANCES.get());
+    }
+
+    @Test
+    void testSelfDependency() throws Exception {
+        registerAll(SelfDependent.class);
+
+        assertEquals(List.of(SelfDependent.class, SelfDependent.class),
+                new DependencyGraph(container).findCycle(SelfDependent.class));
+        assertThrows(CyclicDependenciesException.class, () -> container.instantiate(SelfDependent.class));
+    }
+
+    @Test
+    void testCycleCreatedByRegistration() throws Exception {
+        registerAll(Host.class);
+        assertThrows(ImplementationNotFoundException.class, () -> container.instantiate(Host.class));
+
+        container.registerMapping(LatePlugin.class, Plugin.class);
+        var exception = assertThrows(CyclicDependenciesException.class, () -> container.instantiate(Host.class));
+        assertTrue(exception.getMessage().contains(LatePlugin.class.getName()));
+    }
+}
@@ -1,5 +1,6 @@
 package fr.gravani.eazzynject;
 
+import fr.gravani.eazzynject.exceptions.ImplementationAmbiguityException;
 import fr.gravani.eazzynject.exceptions.ImplementationNotFoundException;
 import fr.gravani.eazzynject.testpkg.Furniture;
 import fr.gravani.eazzynject.testpkg.Style;
@@ -8,6 +9,8 @@ import fr.gravani.eazzynject.testpkg.WoodenStyle;
 import fr.gravani.eazzynject.testpkgbank.*;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.ExecutionException;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class EazzynjectTest {
@@ -50,4 +53,26 @@ public class EazzynjectTest {
         assertThrows(ImplementationNotFoundException.class,
                 () -> Eazzynject.getInstance(Bank.class, "FakeBank"));
     }
+
+    @Test
+    void testInitContainerAsync() throws Exception {
+        var container = new Container();
+        var future = Eazzynject.initContainerAsync(container, "fr.gravani.eazzynject.testpkgbank");
+        future.get();
+
+        assertTrue(container.instantiate(Bank.class, "Fortunement") instanceof Fortunement);
+        assertNotNull(((CreditAgricool) container.instantiate(Bank.class, "CreditAgricool")).getDabService());
+    }
+
+    @Test
+    void testInitContainerAsyncFailure() throws Exception {
+        var container = new Container();
+        container.registerMapping(Fortunement.class, Bank.class);
+        var future = Eazzynject.initContainerAsync(container, "fr.gravani.eazzynject.testpkgbank");
+
+        var exception = assertThrows(ExecutionException.class, future::get);
+        assertTrue(exception.getCause() instanceof ImplementationAmbiguityException);
+        assertThrows(ImplementationAmbiguityException.class,
+                () -> Eazzynject.initContainer(container, "fr.gravani.eazzynject.testpkgbank"));
+    }
 }
@@ -0,0 +1,133 @@
+package fr.gravani.eazzynject;
+
+import fr.gravani.eazzynject.annotations.Inject;
+import fr.gravani.eazzynject.annotations.Singleton;
+import fr.gravani.eazzynject.exceptions.CyclicDependenciesException;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FlightRecorderEventsTest {
+    Container container;
+
+    @Singleton
+    static class Configuration {
+    }
+
+    static class Service {
+        @Inject
+        private Configuration configuration;
+    }
+
+    static class CycleA {
+        @Inject
+        private CycleB b;
+    }
+
+    static class CycleB {
+        @Inject
+        private CycleA a;
+    }
+
+    @BeforeEach
+    void setUpContainer() {
+        container = new Container();
+    }
+
+    private interface Work {
+        void run() throws Exception;
+    }
+
+    /**
+     * Records the events of the container while some work is done
+     * @param enabled Whether the events of the container are enabled in the recording
+     * @param work The work
+     * @return The recorded events of the container
+     */
+    private static List<RecordedEvent> record(boolean enabled, Work work) throws Exception {
+        var file = Files.createTempFile("eazzynject", ".jfr");
+        try (var recording = new Recording()) {
+            if (enabled) {
+                for (var name : new String[] { "Resolution", "ResolutionFailure", "Registration", "Scan",
+                        "ScanRoot" }) {
+                    recording.enable("fr.gravani.eazzynject." + name).withoutThreshold();
+                }
+            }
+            recording.start();
+            work.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().startsWith("fr.gravani.eazzynject."))
+                    .toList();
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+        return events.stream().filter(event -> event.getEventType().getName().equals("fr.gravani.eazzynject." + name))
+                .toList();
+    }
+
+    @Test
+    void testResolutionEvents() throws Exception {
+        var events = record(true, () -> {
+            container.registerMapping(Configuration.class, Configuration.class);
+            container.registerMapping(Service.class, Service.class);
+            container.instantiate(Service.class);
+            container.instantiate(Configuration.class);
+        });
+
+        var registrations = named(events, "Registration");
+        assertEquals(2, registrations.size());
+        assertEquals(Service.class.getName(), registrations.get(1).getClass("implementation").getName());
+
+        var resolutions = named(events, "Resolution");
+        assertEquals(2, resolutions.size());
+        assertEquals(Service.class.getName(), resolutions.get(0).getClass("type").getName());
+        assertEquals(2, resolutions.get(0).getInt("depth"));
+        assertFalse(resolutions.get(0).getBoolean("singletonHit"));
+        assertTrue(resolutions.get(1).getBoolean("singletonHit"));
+    }
+
+    @Test
+    void testFailureEvents() throws Exception {
+        var events = record(true, () -> {
+            container.registerMapping(CycleA.class, CycleA.class);
+            container.registerMapping(CycleB.class, CycleB.class);
+            assertThrows(CyclicDependenciesException.class, () -> container.instantiate(CycleA.class));
+        });
+        var failures = named(events, "ResolutionFailure");
+        assertEquals(1, failures.size());
+        assertEquals(CyclicDependenciesException.class.getName(), failures.get(0).getClass("failure").getName());
+        assertTrue(named(events, "Resolution").isEmpty());
+    }
+
+    @Test
+    void testScanEvents() throws Exception {
+        var events = record(true, () -> Eazzynject.initContainer(container, "fr.gravani.eazzynject.testpkg"));
+        var scans = named(events, "Scan");
+        assertEquals(1, scans.size());
+        assertEquals("fr.gravani.eazzynject.testpkg", scans.get(0).getString("packageName"));
+        assertTrue(scans.get(0).getInt("scannedTypes") > 0);
+        assertFalse(named(events, "ScanRoot").isEmpty());
+    }
+
+    @Test
+    void testDisabledByDefault() throws Exception {
+        var events = record(false, () -> {
+            container.registerMapping(Service.class, Service.class);
+            container.registerMapping(Configuration.class, Configuration.class);
+            container.instantiate(Service.class);
+        });
+        assertTrue(events.isEmpty());
+    }
+}
@@ -0,0 +1,121 @@
+package fr.gravani.eazzynject;
+
+import fr.gravani.eazzynject.annotations.Inject;
+import fr.gravani.eazzynject.annotations.Singleton;
+import fr.gravani.eazzynject.annotations.Tag;
+import lombok.Getter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HiddenFactoryTest {
+    Container container;
+
+    interface Greeter {
+        String greet();
+    }
+
+    @Tag("fr")
+    static class FrenchGreeter implements Greeter {
+        @Override
+        public String greet() {
+            return "Bonjour";
+        }
+    }
+
+    /**
+     * Only accessible from the nest of the test class
+     */
+    private static class Secret {
+    }
+
+    @Singleton
+    static class Clock {
+    }
+
+    static class Service {
+        @Getter
+        private final Secret secret;
+
+        @Inject
+        @Tag("fr")
+        @Getter
+        private Greeter greeter;
+
+        @Getter
+        private Clock clock;
+
+        @Getter
+        private int setterCalls;
+
+        @Inject
+        private Service(Secret secret) {
+            this.secret = secret;
+        }
+
+        @Inject
+        private long setClock(Clock clock) {
+            this.clock = clock;
+            return ++setterCalls;
+        }
+    }
+
+    static class FinalField {
+        @Inject
+        @Getter
+        private final Clock clock = null;
+    }
+
+    static class FailingConstructor {
+        FailingConstructor() {
+            throw new IllegalStateException("Failing constructor");
+        }
+    }
+
+    @BeforeEach
+    void setUpContainer() throws Exception {
+        container = new Container();
+        container.setInstantiationMode(InstantiationMode.HIDDEN_CLASS);
+        for (var type : new Class<?>[] { Secret.class, Clock.class, Service.class, FinalField.class,
+                FailingConstructor.class }) {
+            container.registerMapping(type, type);
+        }
+        container.registerMapping(FrenchGreeter.class, Greeter.class);
+    }
+
+    @Test
+    void testPrivateMembers() throws Exception {
+        var service = container.instantiate(Service.class);
+        assertTrue(container.getPlan(Service.class).hasHiddenFactory());
+
+        assertNotNull(service.getSecret());
+        assertEquals("Bonjour", service.getGreeter().greet());
+        assertSame(container.instantiate(Clock.class), service.getClock());
+        assertEquals(1, service.getSetterCalls());
+        assertNotSame(service, container.instantiate(Service.class));
+    }
+
+    @Test
+    void testFinalFieldUsesReflection() throws Exception {
+        var instance = container.instantiate(FinalField.class);
+        assertFalse(container.getPlan(FinalField.class).hasHiddenFactory());
+        assertNotNull(instance.getClock());
+    }
+
+    @Test
+    void testFailingConstructor() throws Exception {
+        assertTrue(container.getPlan(FailingConstructor.class).hasHiddenFactory());
+        // Same behavior as the reflective path
+        assertNull(container.instantiate(FailingConstructor.class));
+    }
+
+    @Test
+    void testReflectionByDefault() throws Exception {
+        var reflective = new Container();
+        reflective.registerMapping(Clock.class, Clock.class);
+        assertEquals(InstantiationMode.REFLECTION, reflective.getInstantiationMode());
+        assertNotNull(reflective.instantiate(Clock.class));
+        assertFalse(reflective.getPlan(Clock.class).hasHiddenFactory());
+    }
+}
@@ -0,0 +1,111 @@
+package fr.gravani.eazzynject;
+
+import fr.gravani.eazzynject.annotations.Inject;
+import fr.gravani.eazzynject.annotations.Singleton;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InjectionMetricsTest {
+    Container container;
+    InjectionMetrics metrics;
+
+    @Singleton
+    static class Configuration {
+    }
+
+    static class Repository {
+        @Inject
+        private Configuration configuration;
+    }
+
+    static class Service {
+        @Inject
+        private Repository repository;
+
+        @Inject
+        private Configuration configuration;
+    }
+
+    interface Greeter {
+        String greet();
+    }
+
+    @BeforeEach
+    void setUpContainer() throws Exception {
+        container = new Container();
+        for (var type : new Class<?>[] { Configuration.class, Repository.class, Service.class }) {
+            container.registerMapping(type, type);
+        }
+        metrics = new InjectionMetrics();
+        container.addInjectionListener(metrics);
+    }
+
+    private void assertCounted() throws Exception {
+        container.instantiate(Service.class);
+        container.instantiate(Service.class);
+
+        var service = metrics.getTypeMetrics(Service.class);
+        assertEquals(2, service.getResolutions());
+        assertEquals(2, service.getInstantiations());
+        assertEquals(3, service.getMaxResolutionDepth());
+        assertEquals(2, Arrays.stream(service.getResolutionHistogram()).sum());
+        assertEquals(2, Arrays.stream(service.getInstantiationHistogram()).sum());
+        assertTrue(service.getResolutionNanos() >= service.getInstantiationNanos());
+
+        var configuration = metrics.getTypeMetrics(Configuration.class);
+        assertEquals(1, configuration.getInstantiations());
+        assertEquals(1, configuration.getSingletonMisses());
+        assertEquals(3, configuration.getSingletonHits());
+        assertEquals(2, metrics.getTypeMetrics(Repository.class).getInstantiations());
+        assertEquals(0, metrics.getTypeMetrics(Repository.class).getResolutions());
+
+        // An already created singleton does not create any level
+        container.instantiate(Configuration.class);
+        assertEquals(4, configuration.getSingletonHits());
+        assertEquals(0, configuration.getMaxResolutionDepth());
+    }
+
+    @Test
+    void testRecursive() throws Exception {
+        assertCounted();
+    }
+
+    @Test
+    void testIterative() throws Exception {
+        container.setResolverMode(ResolverMode.ITERATIVE);
+        assertCounted();
+    }
+
+    @Test
+    void testSealed() throws Exception {
+        container.seal();
+        assertCounted();
+    }
+
+    @Test
+    void testBindingsAndRemoval() throws Exception {
+        container.bind(Greeter.class).toSupplier(() -> () -> "hello");
+        container.instantiate(Greeter.class);
+        var greeter = metrics.getTypeMetrics(Greeter.class);
+        assertEquals(1, greeter.getInstantiations());
+        assertEquals(1, greeter.getMaxResolutionDepth());
+        assertTrue(metrics.getAllTypeMetrics().containsKey(Greeter.class));
+
+        container.removeInjectionListener(metrics);
+        container.instantiate(Greeter.class);
+        assertEquals(1, greeter.getResolutions());
+    }
+
+    @Test
+    void testBuckets() {
+        assertEquals(0, InjectionMetrics.bucket(0));
+        assertEquals(0, InjectionMetrics.bucket(1));
+        assertEquals(10, InjectionMetrics.bucket(1024));
+        assertEquals(10, InjectionMetrics.bucket(2047));
+        assertEquals(InjectionMetrics.HISTOGRAM_BUCKETS - 1, InjectionMetrics.bucket(Long.MAX_VALUE));
+    }
+}
@@ -0,0 +1,87 @@
+package fr.gravani.eazzynject;
+
+import fr.gravani.eazzynject.annotations.Inject;
+import fr.gravani.eazzynject.annotations.Singleton;
+import fr.gravani.eazzynject.annotations.Tag;
+import lombok.Getter;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InjectionPlanTest {
+
+    interface Operator {
+        int act(int a, int b);
+    }
+
+    static class Engine {
+    }
+
+    static class Wheel {
+    }
+
+    @Singleton
+    static class Car {
+        @Getter
+        private final Engine engine;
+
+        @Inject
+        @Getter
+        @Tag("front")
+        private Wheel frontWheel;
+
+        @Getter
+        private Operator operator;
+
+        @Inject
+        public Car(Engine engine) {
+            this.engine = engine;
+        }
+
+        @Inject
+        public void setOperator(@Tag("add") Operator operator) {
+            this.operator = operator;
+        }
+    }
+
+    static class NoDefaultConstructor {
+        public NoDefaultConstructor(String name) {
+        }
+    }
+
+    @Test
+    void testPlanPoints() {
+        var plan = InjectionPlan.of(Car.class);
+        assertTrue(plan.isSingleton());
+        assertNotNull(plan.getConstructor());
+
+        var points = plan.getPoints();
+        assertEquals(3, points.length);
+        assertEquals(Engine.class, points[0].getType());
+        assertNull(points[0].getTag());
+        assertEquals(Wheel.class, points[1].getType());
+        assertEquals("front", points[1].getTag());
+        assertEquals(Operator.class, points[2].getType());
+        assertEquals("add", points[2].getTag());
+    }
+
+    @Test
+    void testPlanNewInstance() throws Exception {
+        var plan = InjectionPlan.of(Car.class);
+        var engine = new Engine();
+        var wheel = new Wheel();
+        Operator operator = Integer::sum;
+
+        var car = (Car) plan.newInstance(new Object[] { engine, wheel, operator });
+        assertSame(engine, car.getEngine());
+        assertSame(wheel, car.getFrontWheel());
+        assertSame(operator, car.getOperator());
+    }
+
+    @Test
+    void testPlanWithoutConstructor() {
+        var plan = InjectionPlan.of(NoDefaultConstructor.class);
+        assertNull(plan.getConstructor());
+        assertFalse(plan.isSingleton());
+    }
+}
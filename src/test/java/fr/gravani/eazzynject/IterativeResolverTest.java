@@ -0,0 +1,170 @@
+package fr.gravani.eazzynject;
+
+import fr.gravani.eazzynject.annotations.Inject;
+import fr.gravani.eazzynject.annotations.Singleton;
+import fr.gravani.eazzynject.annotations.Tag;
+import fr.gravani.eazzynject.exceptions.NoDefaultConstructorException;
+import fr.gravani.eazzynject.exceptions.ResolutionDepthExceededException;
+import lombok.Getter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IterativeResolverTest {
+    Container container;
+
+    static class Level4 {
+    }
+
+    static class Level3 {
+        @Getter
+        private final Level4 next;
+
+        @Inject
+        Level3(Level4 next) {
+            this.next = next;
+        }
+    }
+
+    static class Level2 {
+        @Inject
+        @Getter
+        private Level3 next;
+    }
+
+    static class Level1 {
+        @Getter
+        private Level2 next;
+
+        @Inject
+        void setNext(Level2 next) {
+            this.next = next;
+        }
+    }
+
+    static class Level0 {
+        @Getter
+        private final Level1 next;
+
+        @Inject
+        Level0(Level1 next) {
+            this.next = next;
+        }
+    }
+
+    interface Greeter {
+        String greet();
+    }
+
+    @Tag("fr")
+    static class FrenchGreeter implements Greeter {
+        @Override
+        public String greet() {
+            return "Bonjour";
+        }
+    }
+
+    @Tag("en")
+    static class EnglishGreeter implements Greeter {
+        @Override
+        public String greet() {
+            return "Hello";
+        }
+    }
+
+    @Singleton
+    static class Registry {
+    }
+
+    static class Application {
+        @Inject
+        @Tag("fr")
+        @Getter
+        private Greeter french;
+
+        @Inject
+        @Tag("en")
+        @Getter
+        private Greeter english;
+
+        @Inject
+        @Getter
+        private Registry registry;
+
+        @Getter
+        private final Registry constructorRegistry;
+
+        @Inject
+        Application(Registry registry) {
+            this.constructorRegistry = registry;
+        }
+    }
+
+    static class MissingConstructor {
+        MissingConstructor(int value) {
+        }
+    }
+
+    static class NeedsMissingConstructor {
+        @Inject
+        private MissingConstructor dependency;
+    }
+
+    @BeforeEach
+    void setUpContainer() throws Exception {
+        container = new Container();
+        container.setResolverMode(ResolverMode.ITERATIVE);
+        for (var type : new Class<?>[] { Level0.class, Level1.class, Level2.class, Level3.class, Level4.class,
+                Registry.class, Application.class, MissingConstructor.class, NeedsMissingConstructor.class }) {
+            container.registerMapping(type, type);
+        }
+        container.registerMapping(FrenchGreeter.class, Greeter.class);
+        container.registerMapping(EnglishGreeter.class, Greeter.class);
+    }
+
+    @Test
+    void testDeepChain() throws Exception {
+        var level0 = container.instantiate(Level0.class);
+        assertNotNull(level0.getNext().getNext().getNext().getNext());
+    }
+
+    @Test
+    void testTagsAndSingletons() throws Exception {
+        var application = container.instantiate(Application.class);
+        assertEquals("Bonjour", application.getFrench().greet());
+        assertEquals("Hello", application.getEnglish().greet());
+        assertSame(application.getRegistry(), application.getConstructorRegistry());
+        assertSame(application.getRegistry(), container.instantiate(Registry.class));
+        assertNotSame(application, container.instantiate(Application.class));
+    }
+
+    @Test
+    void testMaxResolutionDepth() throws Exception {
+        container.setMaxResolutionDepth(5);
+        assertNotNull(container.instantiate(Level0.class));
+
+        container.setMaxResolutionDepth(4);
+        var exception = assertThrows(ResolutionDepthExceededException.class,
+                () -> container.instantiate(Level0.class));
+        assertTrue(exception.getMessage().contains(Level0.class.getName()));
+        assertNotNull(container.instantiate(Level1.class));
+
+        assertThrows(IllegalArgumentException.class, () -> container.setMaxResolutionDepth(0));
+    }
+
+    @Test
+    void testNoDefaultConstructor() {
+        assertThrows(NoDefaultConstructorException.class,
+                () -> container.instantiate(NeedsMissingConstructor.class));
+    }
+
+    @Test
+    void testSameResultAsRecursiveMode() throws Exception {
+        var iterative = container.instantiate(Level0.class);
+        container.setResolverMode(ResolverMode.RECURSIVE);
+        var recursive = container.instantiate(Level0.class);
+        assertEquals(iterative.getNext().getNext().getNext().getNext().getClass(),
+                recursive.getNext().getNext().getNext().getNext().getClass());
+    }
+}
@@ -0,0 +1,143 @@
+package fr.gravani.eazzynject;
+
+import fr.gravani.eazzynject.annotations.Inject;
+import fr.gravani.eazzynject.annotations.LazyInit;
+import fr.gravani.eazzynject.annotations.Singleton;
+import lombok.Getter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LazyInitTest {
+    Container container;
+
+    static final AtomicInteger CREATED_POOLS = new AtomicInteger();
+
+    interface ConnectionPool {
+        int connect(int port) throws Exception;
+    }
+
+    @Singleton
+    @LazyInit
+    static class HeavyConnectionPool implements ConnectionPool {
+        HeavyConnectionPool() throws InterruptedException {
+            CREATED_POOLS.incrementAndGet();
+            Thread.sleep(10);
+        }
+
+        @Override
+        public int connect(int port) throws Exception {
+            if (port < 0) {
+                throw new Exception("Invalid port");
+            }
+            return port;
+        }
+    }
+
+    static class Client {
+        @Inject
+        @Getter
+        private ConnectionPool pool;
+
+        @Inject
+        @Getter
+        private HeavyConnectionPool concretePool;
+    }
+
+    static class PoolUser {
+        @Getter
+        private final ConnectionPool pool;
+
+        @Inject
+        PoolUser(ConnectionPool pool) {
+            this.pool = pool;
+        }
+    }
+
+    @BeforeEach
+    void setUpContainer() throws Exception {
+        container = new Container();
+        CREATED_POOLS.set(0);
+        container.registerMapping(HeavyConnectionPool.class, ConnectionPool.class);
+        container.registerMapping(HeavyConnectionPool.class, HeavyConnectionPool.class);
+        container.registerMapping(Client.class, Client.class);
+        container.registerMapping(PoolUser.class, PoolUser.class);
+    }
+
+    @Test
+    void testCreatedOnFirstCall() throws Exception {
+        for (var mode : ResolverMode.values()) {
+            container.setResolverMode(mode);
+            var user = container.instantiate(PoolUser.class);
+            assertTrue(Proxy.isProxyClass(user.getPool().getClass()));
+            assertEquals(0, CREATED_POOLS.get());
+        }
+
+        var pool = container.instantiate(PoolUser.class).getPool();
+        assertEquals(pool, pool);
+        assertEquals(0, CREATED_POOLS.get());
+        assertEquals(8080, pool.connect(8080));
+        assertEquals(1, CREATED_POOLS.get());
+        assertEquals(8081, pool.connect(8081));
+        assertEquals(1, CREATED_POOLS.get());
+
+        // Once created, the singleton itself is injected
+        assertFalse(Proxy.isProxyClass(container.instantiate(PoolUser.class).getPool().getClass()));
+    }
+
+    @Test
+    void testConcreteTypeNotProxied() throws Exception {
+        var client = container.instantiate(Client.class);
+        assertFalse(Proxy.isProxyClass(client.getConcretePool().getClass()));
+        assertEquals(1, CREATED_POOLS.get());
+        // The proxy injected before delegates to the same singleton
+        assertEquals(80, client.getPool().connect(80));
+        assertEquals(1, CREATED_POOLS.get());
+    }
+
+    @Test
+    void testExceptionFromTarget() throws Exception {
+        var pool = container.instantiate(PoolUser.class).getPool();
+        var exception = assertThrows(Exception.class, () -> pool.connect(-1));
+        assertEquals("Invalid port", exception.getMessage());
+    }
+
+    @Test
+    void testCreatedOnceFromSeveralThreads() throws Exception {
+        var pool = container.instantiate(PoolUser.class).getPool();
+        var executor = Executors.newFixedThreadPool(4);
+        var start = new CountDownLatch(1);
+        try {
+            var results = new ArrayList<Future<Integer>>();
+            for (int i = 0; i < 8; i++) {
+                int port = i;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return pool.connect(port);
+                }));
+            }
+            start.countDown();
+            for (int i = 0; i < 8; i++) {
+                assertEquals(i, results.get(i).get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, CREATED_POOLS.get());
+    }
+
+    @Test
+    void testSkippedByWarmUp() throws Exception {
+        container.warmUpSingletons(Runnable::run).get(10, TimeUnit.SECONDS);
+        assertEquals(0, CREATED_POOLS.get());
+    }
+}
@@ -0,0 +1,156 @@
+package fr.gravani.eazzynject;
+
+import fr.gravani.eazzynject.annotations.Inject;
+import fr.gravani.eazzynject.annotations.Singleton;
+import fr.gravani.eazzynject.annotations.Tag;
+import lombok.Getter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MultibindingTest {
+    Container container;
+
+    static final List<String> CREATED = new ArrayList<>();
+
+    interface Operator {
+        int act(int a, int b);
+    }
+
+    @Tag("add")
+    static class AddOperator implements Operator {
+        AddOperator() {
+            CREATED.add("add");
+        }
+
+        @Override
+        public int act(int a, int b) {
+            return a + b;
+        }
+    }
+
+    @Tag("multiply")
+    static class MultiplyOperator implements Operator {
+        MultiplyOperator() {
+            CREATED.add("multiply");
+        }
+
+        @Override
+        public int act(int a, int b) {
+            return a * b;
+        }
+    }
+
+    @Singleton
+    static class DefaultOperator implements Operator {
+        DefaultOperator() {
+            CREATED.add("default");
+        }
+
+        @Override
+        public int act(int a, int b) {
+            return a;
+        }
+    }
+
+    @Tag("subtract")
+    static class SubtractOperator implements Operator {
+        @Override
+        public int act(int a, int b) {
+            return a - b;
+        }
+    }
+
+    interface Plugin {
+    }
+
+    static class Calculator {
+        @Getter
+        private final List<Operator> operators;
+
+        @Inject
+        @Getter
+        private Map<String, Operator> operatorsByTag;
+
+        @Getter
+        private List<Plugin> plugins;
+
+        @Inject
+        Calculator(List<Operator> operators) {
+            this.operators = operators;
+        }
+
+        @Inject
+        void setPlugins(List<Plugin> plugins) {
+            this.plugins = plugins;
+        }
+    }
+
+    @BeforeEach
+    void setUpContainer() throws Exception {
+        container = new Container();
+        CREATED.clear();
+        container.registerMapping(AddOperator.class, Operator.class);
+        container.registerMapping(MultiplyOperator.class, Operator.class);
+        container.registerMapping(DefaultOperator.class, Operator.class, null);
+        container.registerMapping(Calculator.class, Calculator.class);
+    }
+
+    @Test
+    void testList() throws Exception {
+        var operators = container.instantiate(Calculator.class).getOperators();
+        assertEquals(3, operators.size());
+        // Untagged first, then sorted by tag
+        assertTrue(operators.get(0) instanceof DefaultOperator);
+        assertTrue(operators.get(1) instanceof AddOperator);
+        assertTrue(operators.get(2) instanceof MultiplyOperator);
+        assertSame(operators.get(1), operators.get(1));
+        assertThrows(UnsupportedOperationException.class, () -> operators.add(null));
+        assertThrows(IndexOutOfBoundsException.class, () -> operators.get(3));
+    }
+
+    @Test
+    void testMap() throws Exception {
+        var operators = container.instantiate(Calculator.class).getOperatorsByTag();
+        assertEquals(Arrays.asList(null, "add", "multiply"), new ArrayList<>(operators.keySet()));
+        assertTrue(CREATED.isEmpty());
+
+        assertEquals(12, operators.get("multiply").act(3, 4));
+        assertEquals(List.of("multiply"), CREATED);
+        assertNull(operators.get("subtract"));
+        assertTrue(operators.get(null) instanceof DefaultOperator);
+    }
+
+    @Test
+    void testCreatedWhenRead() throws Exception {
+        var calculator = container.instantiate(Calculator.class);
+        assertTrue(CREATED.isEmpty());
+        assertEquals(7, calculator.getOperators().get(1).act(3, 4));
+        assertEquals(List.of("add"), CREATED);
+
+        // The singleton is shared, the other implementations are created for each collection
+        var other = container.instantiate(Calculator.class).getOperators();
+        assertSame(calculator.getOperators().get(0), other.get(0));
+        assertNotSame(calculator.getOperators().get(1), other.get(1));
+    }
+
+    @Test
+    void testNoImplementation() throws Exception {
+        assertTrue(container.instantiate(Calculator.class).getPlugins().isEmpty());
+    }
+
+    @Test
+    void testLaterRegistration() throws Exception {
+        assertEquals(3, container.instantiate(Calculator.class).getOperators().size());
+        container.registerMapping(SubtractOperator.class, Operator.class);
+        var operators = container.instantiate(Calculator.class).getOperatorsByTag();
+        assertEquals(4, operators.size());
+        assertEquals(1, operators.get("subtract").act(4, 3));
+    }
+}
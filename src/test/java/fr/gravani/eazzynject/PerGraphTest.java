@@ -0,0 +1,117 @@
+package fr.gravani.eazzynject;
+
+import fr.gravani.eazzynject.annotations.Inject;
+import fr.gravani.eazzynject.annotations.PerGraph;
+import fr.gravani.eazzynject.annotations.Singleton;
+import lombok.Getter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PerGraphTest {
+    Container container;
+
+    @PerGraph
+    static class RequestContext {
+    }
+
+    static class Left {
+        @Inject
+        @Getter
+        private RequestContext context;
+    }
+
+    static class Right {
+        @Getter
+        private final RequestContext context;
+
+        @Getter
+        private final Left left;
+
+        @Inject
+        Right(RequestContext context, Left left) {
+            this.context = context;
+            this.left = left;
+        }
+    }
+
+    static class Top {
+        @Inject
+        @Getter
+        private Left left;
+
+        @Inject
+        @Getter
+        private Right right;
+
+        @Inject
+        @Getter
+        private Provider<RequestContext> contextProvider;
+    }
+
+    @Singleton
+    @PerGraph
+    static class Registry {
+    }
+
+    static class Registries {
+        @Inject
+        @Getter
+        private Registry first;
+
+        @Inject
+        @Getter
+        private Registry second;
+    }
+
+    @BeforeEach
+    void setUpContainer() throws Exception {
+        container = new Container();
+        for (var type : new Class<?>[] { RequestContext.class, Left.class, Right.class, Top.class, Registry.class,
+                Registries.class }) {
+            container.registerMapping(type, type);
+        }
+    }
+
+    private void assertSharedInsideGraph() throws Exception {
+        var top = container.instantiate(Top.class);
+        var context = top.getLeft().getContext();
+        assertNotNull(context);
+        assertSame(context, top.getRight().getContext());
+        assertSame(context, top.getRight().getLeft().getContext());
+        // Still a new object for each injection of a non annotated type
+        assertNotSame(top.getLeft(), top.getRight().getLeft());
+
+        // A new graph for each call
+        var other = container.instantiate(Top.class);
+        assertNotSame(context, other.getLeft().getContext());
+        assertNotSame(context, top.getContextProvider().get());
+        assertNotSame(container.instantiate(RequestContext.class), container.instantiate(RequestContext.class));
+    }
+
+    @Test
+    void testRecursive() throws Exception {
+        assertSharedInsideGraph();
+    }
+
+    @Test
+    void testIterative() throws Exception {
+        container.setResolverMode(ResolverMode.ITERATIVE);
+        assertSharedInsideGraph();
+    }
+
+    @Test
+    void testSealed() throws Exception {
+        container.seal();
+        assertSharedInsideGraph();
+    }
+
+    @Test
+    void testSingletonWins() throws Exception {
+        var registries = container.instantiate(Registries.class);
+        assertSame(registries.getFirst(), registries.getSecond());
+        assertSame(registries.getFirst(), container.instantiate(Registries.class).getFirst());
+        assertFalse(container.getPlan(Registry.class).isPerGraph());
+    }
+}
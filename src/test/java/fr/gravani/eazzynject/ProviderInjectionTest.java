@@ -0,0 +1,192 @@
+package fr.gravani.eazzynject;
+
+import fr.gravani.eazzynject.annotations.Inject;
+import fr.gravani.eazzynject.annotations.Singleton;
+import fr.gravani.eazzynject.annotations.Tag;
+import fr.gravani.eazzynject.exceptions.ImplementationNotFoundException;
+import fr.gravani.eazzynject.exceptions.ProvisionException;
+import lombok.Getter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProviderInjectionTest {
+    Container container;
+
+    static final AtomicInteger CREATED_REPORTS = new AtomicInteger();
+
+    interface Greeter {
+        String greet();
+    }
+
+    @Tag("fr")
+    static class FrenchGreeter implements Greeter {
+        @Override
+        public String greet() {
+            return "Bonjour";
+        }
+    }
+
+    @Tag("en")
+    static class EnglishGreeter implements Greeter {
+        @Override
+        public String greet() {
+            return "Hello";
+        }
+    }
+
+    static class Report {
+        Report() {
+            CREATED_REPORTS.incrementAndGet();
+        }
+    }
+
+    @Singleton
+    static class Clock {
+    }
+
+    interface Missing {
+    }
+
+    static class Service {
+        @Getter
+        private final Provider<Report> reports;
+
+        @Inject
+        @Getter
+        @Tag("fr")
+        private Lazy<Greeter> greeter;
+
+        @Getter
+        private Provider<Clock> clocks;
+
+        @Inject
+        @Getter
+        private Lazy<Missing> missing;
+
+        @Inject
+        Service(Provider<Report> reports) {
+            this.reports = reports;
+        }
+
+        @Inject
+        void setClocks(Provider<Clock> clocks) {
+            this.clocks = clocks;
+        }
+    }
+
+    static class Parent {
+        @Inject
+        @Getter
+        private Child child;
+    }
+
+    /**
+     * Depends back on its parent, without a cycle since the parent is created when it is used
+     */
+    static class Child {
+        @Inject
+        @Getter
+        private Provider<Parent> parent;
+    }
+
+    static class TaggedParameter {
+        @Getter
+        private final Provider<Greeter> greeter;
+
+        @Inject
+        TaggedParameter(@Tag("en") Provider<Greeter> greeter) {
+            this.greeter = greeter;
+        }
+    }
+
+    @BeforeEach
+    void setUpContainer() throws Exception {
+        container = new Container();
+        CREATED_REPORTS.set(0);
+        for (var type : new Class<?>[] { Report.class, Clock.class, Service.class, Parent.class, Child.class,
+                TaggedParameter.class }) {
+            container.registerMapping(type, type);
+        }
+        container.registerMapping(FrenchGreeter.class, Greeter.class);
+        container.registerMapping(EnglishGreeter.class, Greeter.class);
+    }
+
+    @Test
+    void testProvider() throws Exception {
+        var service = container.instantiate(Service.class);
+        assertEquals(0, CREATED_REPORTS.get());
+
+        assertNotSame(service.getReports().get(), service.getReports().get());
+        assertEquals(2, CREATED_REPORTS.get());
+        assertSame(service.getClocks().get(), service.getClocks().get());
+    }
+
+    @Test
+    void testLazy() throws Exception {
+        var service = container.instantiate(Service.class);
+        var greeter = service.getGreeter().get();
+        assertEquals("Bonjour", greeter.greet());
+        assertSame(greeter, service.getGreeter().get());
+        assertEquals("Hello", container.instantiate(TaggedParameter.class).getGreeter().get().greet());
+    }
+
+    @Test
+    void testLazyFromSeveralThreads() throws Exception {
+        var lazy = new MemoizingLazy<>(Report::new);
+        var executor = Executors.newFixedThreadPool(4);
+        var start = new CountDownLatch(1);
+        try {
+            var results = new ArrayList<Future<Report>>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return lazy.get();
+                }));
+            }
+            start.countDown();
+            for (var result : results) {
+                assertSame(lazy.get(), result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, CREATED_REPORTS.get());
+    }
+
+    @Test
+    void testLazyRetriedAfterFailure() {
+        var attempts = new AtomicInteger();
+        // The container returns null when the constructor fails
+        Lazy<Report> lazy = new MemoizingLazy<>(() -> attempts.incrementAndGet() == 1 ? null : new Report());
+        assertNull(lazy.get());
+        var report = lazy.get();
+        assertNotNull(report);
+        assertSame(report, lazy.get());
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void testMissingImplementation() throws Exception {
+        var service = container.instantiate(Service.class);
+        var exception = assertThrows(ProvisionException.class, () -> service.getMissing().get());
+        assertTrue(exception.getCause() instanceof ImplementationNotFoundException);
+    }
+
+    @Test
+    void testProviderBreaksCycle() throws Exception {
+        for (var mode : ResolverMode.values()) {
+            container.setResolverMode(mode);
+            var parent = container.instantiate(Parent.class);
+            assertNotNull(parent.getChild().getParent().get().getChild());
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package fr.gravani.eazzynject;
+
+import fr.gravani.eazzynject.annotations.Inject;
+import fr.gravani.eazzynject.annotations.LazyInit;
+import fr.gravani.eazzynject.annotations.Singleton;
+import fr.gravani.eazzynject.annotations.Tag;
+import fr.gravani.eazzynject.exceptions.*;
+import lombok.Getter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SealTest {
+    Container container;
+
+    interface Operator {
+        int act(int a, int b);
+    }
+
+    @Tag("add")
+    static class AddOperator implements Operator {
+        @Override
+        public int act(int a, int b) {
+            return a + b;
+        }
+    }
+
+    @Tag("multiply")
+    static class MultiplyOperator implements Operator {
+        @Override
+        public int act(int a, int b) {
+            return a * b;
+        }
+    }
+
+    interface Clock {
+        long now();
+    }
+
+    @Singleton
+    @LazyInit
+    static class SystemClock implements Clock {
+        @Override
+        public long now() {
+            return 42;
+        }
+    }
+
+    @Singleton
+    static class Configuration {
+    }
+
+    static class Repository {
+        @Inject
+        @Getter
+        private Configuration configuration;
+    }
+
+    static class Service {
+        @Getter
+        private final Repository repository;
+
+        @Inject
+        @Tag("add")
+        @Getter
+        private Operator add;
+
+        @Inject
+        @Getter
+        private Map<String, Operator> operators;
+
+        @Inject
+        @Getter
+        private Provider<Repository> repositoryProvider;
+
+        @Inject
+        @Getter
+        private Clock clock;
+
+        @Inject
+        Service(Repository repository) {
+            this.repository = repository;
+        }
+    }
+
+    static class Unresolvable {
+        @Inject
+        private Operator operator;
+    }
+
+    static class NoConstructor {
+        NoConstructor(int value) {
+        }
+    }
+
+    static class CycleA {
+        @Inject
+        private CycleB b;
+    }
+
+    static class CycleB {
+        @Inject
+        private CycleA a;
+    }
+
+    static class Chain {
+        @Inject
+        @Getter
+        private Chain next;
+    }
+
+    @BeforeEach
+    void setUpContainer() throws Exception {
+        container = new Container();
+        for (var type : new Class<?>[] { Configuration.class, Repository.class, Service.class }) {
+            container.registerMapping(type, type);
+        }
+        container.registerMapping(AddOperator.class, Operator.class);
+        container.registerMapping(MultiplyOperator.class, Operator.class);
+        container.registerMapping(SystemClock.class, Clock.class);
+    }
+
+    @Test
+    void testSealedResolution() throws Exception {
+        var configuration = container.instantiate(Configuration.class);
+        container.seal();
+        assertTrue(container.isSealed());
+
+        var service = container.instantiate(Service.class);
+        assertNotSame(service, container.instantiate(Service.class));
+        // Created before the container was sealed
+        assertSame(configuration, service.getRepository().getConfiguration());
+        assertSame(configuration, service.getRepositoryProvider().get().getConfiguration());
+        assertEquals(3, service.getAdd().act(1, 2));
+        assertEquals(List.of("add", "multiply"), List.copyOf(service.getOperators().keySet()));
+        assertEquals(6, service.getOperators().get("multiply").act(2, 3));
+        // The lazy singleton is still injected as a proxy
+        assertFalse(service.getClock() instanceof SystemClock);
+        assertEquals(42, service.getClock().now());
+        assertSame(container.instantiate(Clock.class), container.instantiate(Clock.class));
+    }
+
+    @Test
+    void testSealedErrors() throws Exception {
+        container.seal();
+        assertThrows(ImplementationAmbiguityException.class, () -> container.instantiate(Operator.class));
+        assertThrows(ImplementationNotFoundException.class, () -> container.instantiate(Operator.class, "missing"));
+        assertThrows(ImplementationNotFoundException.class, () -> container.instantiate(Unresolvable.class));
+        assertThrows(IllegalStateException.class, () -> container.registerMapping(Chain.class, Chain.class));
+        assertThrows(IllegalStateException.class, () -> container.bind(Chain.class).toSupplier(Chain::new));
+        // Sealing twice does nothing
+        container.seal();
+    }
+
+    @Test
+    void testValidation() throws Exception {
+        container.bind(Operator.class).toFactory(c -> new AddOperator());
+        for (var type : new Class<?>[] { Unresolvable.class, NoConstructor.class, CycleA.class, CycleB.class }) {
+            container.registerMapping(type, type);
+        }
+        var exception = assertThrows(ContainerValidationException.class, () -> container.seal());
+        assertFalse(container.isSealed());
+
+        var errors = exception.getErrors();
+        assertTrue(errors.stream().anyMatch(e -> e instanceof ImplementationAmbiguityException));
+        assertTrue(errors.stream().anyMatch(e -> e instanceof NoDefaultConstructorException));
+        assertTrue(errors.stream().anyMatch(e -> e instanceof CyclicDependenciesException));
+        assertTrue(exception.getMessage().startsWith("Found " + errors.size() + " problems"));
+        // The valid types can still be created
+        assertNotNull(container.instantiate(Service.class));
+    }
+
+    @Test
+    void testSelfDependency() throws Exception {
+        var sealed = new Container();
+        sealed.registerMapping(Chain.class, Chain.class);
+        assertThrows(ContainerValidationException.class, sealed::seal);
+    }
+
+    @Test
+    void testBindings() throws Exception {
+        var sealed = new Container();
+        sealed.bind(Operator.class).tagged("add").toFactory(c -> new AddOperator());
+        sealed.bind(Operator.class).to(MultiplyOperator.class);
+        sealed.bind(Configuration.class).toInstance(new Configuration());
+        sealed.seal();
+        assertEquals(3, sealed.instantiate(Operator.class, "add").act(1, 2));
+        assertEquals(6, sealed.instantiate(Operator.class, "multiply").act(2, 3));
+        assertSame(sealed.instantiate(Configuration.class), sealed.instantiate(Configuration.class));
+    }
+
+    @Test
+    void testRegistrationWhileSealing() throws Exception {
+        var executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int round = 0; round < 20; round++) {
+                var sealed = new Container();
+                var accepted = ConcurrentHashMap.<String>newKeySet();
+                var started = new CountDownLatch(4);
+                var registrations = new ArrayList<Future<?>>();
+                for (int thread = 0; thread < 4; thread++) {
+                    int id = thread;
+                    registrations.add(executor.submit(() -> register(sealed, id, started, accepted)));
+                }
+                started.await();
+                sealed.seal();
+                for (var registration : registrations) {
+                    registration.get(10, TimeUnit.SECONDS);
+                }
+                // Every accepted registration reached the dispatch table
+                var table = sealed.getDispatchTable();
+                for (var tag : accepted) {
+                    assertNotEquals(DispatchTable.NO_ID, table.find(Integer.class, tag), tag);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Registers bindings until the container is sealed
+     * @param sealed The container
+     * @param id The id of the registering thread
+     * @param started Counted down once the first binding is registered
+     * @param accepted The tags of the registered bindings
+     */
+    private static Void register(Container sealed, int id, CountDownLatch started, Set<String> accepted)
+            throws ImplementationAmbiguityException {
+        for (int i = 0; ; i++) {
+            var tag = id + "-" + i;
+            try {
+                sealed.bind(Integer.class).tagged(tag).toInstance(i);
+            } catch (IllegalStateException e) {
+                return null;
+            }
+            accepted.add(tag);
+            if (i == 0) {
+                started.countDown();
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package fr.gravani.eazzynject;
+
+import fr.gravani.eazzynject.annotations.Inject;
+import fr.gravani.eazzynject.annotations.Singleton;
+import fr.gravani.eazzynject.exceptions.CyclicDependenciesException;
+import fr.gravani.eazzynject.exceptions.NoDefaultConstructorException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingletonWarmUpTest {
+    Container container;
+
+    ExecutorService executor;
+
+    /**
+     * The names of the created types, in the order of their creation
+     */
+    static final List<String> CREATED = new CopyOnWriteArrayList<>();
+
+    @Singleton
+    static class Configuration {
+        Configuration() {
+            CREATED.add("Configuration");
+        }
+    }
+
+    @Singleton
+    static class ConnectionPool {
+        @Inject
+        ConnectionPool(Configuration configuration) {
+            CREATED.add("ConnectionPool");
+        }
+    }
+
+    /**
+     * Not a singleton, between two singletons
+     */
+    static class Repository {
+        @Inject
+        Repository(ConnectionPool connectionPool) {
+        }
+    }
+
+    @Singleton
+    static class Service {
+        @Inject
+        Service(Repository repository, Configuration configuration) {
+            CREATED.add("Service");
+        }
+    }
+
+    @Singleton
+    static class Clock {
+        Clock() {
+            CREATED.add("Clock");
+        }
+    }
+
+    @Singleton
+    static class NoConstructor {
+        NoConstructor(int value) {
+        }
+    }
+
+    @Singleton
+    static class CycleA {
+        @Inject
+        CycleA(CycleB cycleB) {
+        }
+    }
+
+    @Singleton
+    static class CycleB {
+        @Inject
+        CycleB(CycleA cycleA) {
+        }
+    }
+
+    @BeforeEach
+    void setUpContainer() {
+        container = new Container();
+        executor = Executors.newFixedThreadPool(4);
+        CREATED.clear();
+    }
+
+    @AfterEach
+    void shutDownExecutor() {
+        executor.shutdownNow();
+    }
+
+    private void registerAll(Class<?>... types) throws Exception {
+        for (var type : types) {
+            container.registerMapping(type, type);
+        }
+    }
+
+    @Test
+    void testWarmUp() throws Exception {
+        registerAll(Service.class, Repository.class, ConnectionPool.class, Configuration.class, Clock.class);
+        container.warmUpSingletons(executor).get(10, TimeUnit.SECONDS);
+
+        assertEquals(4, CREATED.size());
+        assertTrue(CREATED.indexOf("Configuration") < CREATED.indexOf("ConnectionPool"));
+        assertTrue(CREATED.indexOf("ConnectionPool") < CREATED.indexOf("Service"));
+
+        // The singletons are not created again
+        container.instantiate(Service.class);
+        container.instantiate(Clock.class);
+        assertEquals(4, CREATED.size());
+    }
+
+    @Test
+    void testLongestChainFirst() throws Exception {
+        registerAll(Clock.class, Service.class, Repository.class, ConnectionPool.class, Configuration.class);
+        var singleThread = Executors.newSingleThreadExecutor();
+        try {
+            container.warmUpSingletons(singleThread).get(10, TimeUnit.SECONDS);
+        } finally {
+            singleThread.shutdown();
+        }
+
+        // Configuration starts a chain of three singletons, Clock is alone. ConnectionPool is only ready once
+        // Configuration has been created, after Clock, but it is still created first since it continues the chain.
+        assertEquals(List.of("Configuration", "ConnectionPool"), CREATED.subList(0, 2));
+    }
+
+    @Test
+    void testWarmUpWithoutSingletons() throws Exception {
+        registerAll(Repository.class);
+        assertTrue(container.warmUpSingletons(executor).isDone());
+    }
+
+    @Test
+    void testWarmUpFailure() throws Exception {
+        registerAll(NoConstructor.class, Clock.class);
+        var exception = assertThrows(ExecutionException.class,
+                () -> container.warmUpSingletons(executor).get(10, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof NoDefaultConstructorException);
+    }
+
+    @Test
+    void testWarmUpCycle() throws Exception {
+        registerAll(CycleA.class, CycleB.class);
+        var exception = assertThrows(ExecutionException.class,
+                () -> container.warmUpSingletons(executor).get(10, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof CyclicDependenciesException);
+    }
+}
@@ -0,0 +1,122 @@
+package fr.gravani.eazzynject;
+
+import fr.gravani.eazzynject.annotations.Inject;
+import fr.gravani.eazzynject.annotations.Singleton;
+import fr.gravani.eazzynject.annotations.Tag;
+import lombok.Getter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TieredInstantiationTest {
+    Container container;
+
+    interface Greeter {
+        String greet();
+    }
+
+    @Tag("fr")
+    static class FrenchGreeter implements Greeter {
+        @Override
+        public String greet() {
+            return "Bonjour";
+        }
+    }
+
+    static class Repository {
+    }
+
+    @Singleton
+    static class Clock {
+    }
+
+    static class Service {
+        @Getter
+        private final Repository repository;
+
+        @Inject
+        @Tag("fr")
+        @Getter
+        private Greeter greeter;
+
+        @Inject
+        @Getter
+        private final Repository finalRepository = null;
+
+        @Getter
+        private Clock clock;
+
+        @Inject
+        private Service(Repository repository) {
+            this.repository = repository;
+        }
+
+        @Inject
+        private int setClock(Clock clock) {
+            this.clock = clock;
+            return 1;
+        }
+    }
+
+    static class FailingConstructor {
+        FailingConstructor() {
+            throw new IllegalStateException("Failing constructor");
+        }
+    }
+
+    @BeforeEach
+    void setUpContainer() throws Exception {
+        container = new Container();
+        container.setInstantiationMode(InstantiationMode.TIERED);
+        container.setPromotionThreshold(3);
+        for (var type : new Class<?>[] { Repository.class, Clock.class, Service.class, FailingConstructor.class }) {
+            container.registerMapping(type, type);
+        }
+        container.registerMapping(FrenchGreeter.class, Greeter.class);
+    }
+
+    private void assertInjected(Service service) throws Exception {
+        assertNotNull(service.getRepository());
+        assertNotNull(service.getFinalRepository());
+        assertNotSame(service.getRepository(), service.getFinalRepository());
+        assertEquals("Bonjour", service.getGreeter().greet());
+        assertSame(container.instantiate(Clock.class), service.getClock());
+    }
+
+    @Test
+    void testPromotion() throws Exception {
+        var plan = container.getPlan(Service.class);
+        for (int i = 0; i < 3; i++) {
+            assertFalse(plan.isPromoted());
+            assertInjected(container.instantiate(Service.class));
+        }
+        assertTrue(plan.isPromoted());
+        for (int i = 0; i < 3; i++) {
+            assertInjected(container.instantiate(Service.class));
+        }
+    }
+
+    @Test
+    void testSingletonNotPromoted() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            container.instantiate(Clock.class);
+        }
+        assertFalse(container.getPlan(Clock.class).isPromoted());
+    }
+
+    @Test
+    void testFailingConstructorAfterPromotion() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            // Same behavior before and after the promotion
+            assertNull(container.instantiate(FailingConstructor.class));
+        }
+        assertTrue(container.getPlan(FailingConstructor.class).isPromoted());
+    }
+
+    @Test
+    void testPromotionThreshold() {
+        assertThrows(IllegalArgumentException.class, () -> container.setPromotionThreshold(0));
+        assertEquals(3, container.getPromotionThreshold());
+    }
+}
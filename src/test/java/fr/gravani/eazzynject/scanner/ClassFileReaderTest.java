@@ -0,0 +1,88 @@
+package fr.gravani.eazzynject.scanner;
+
+import fr.gravani.eazzynject.Container;
+import fr.gravani.eazzynject.Eazzynject;
+import fr.gravani.eazzynject.annotations.Injectable;
+import fr.gravani.eazzynject.annotations.Tag;
+import fr.gravani.eazzynject.testpkg.Furniture;
+import fr.gravani.eazzynject.testpkg.Table;
+import fr.gravani.eazzynject.testpkginit.ElectricEngine;
+import fr.gravani.eazzynject.testpkginit.Engine;
+import fr.gravani.eazzynject.testpkginit.EngineRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ClassFileReaderTest {
+    @Deprecated(since = "1.0")
+    @Tag("tagged")
+    @Injectable
+    static class AnnotatedWithValues {
+        long number = 42L;
+        double ratio = 0.5;
+    }
+
+    @Injectable
+    static abstract class AbstractInjectable {
+    }
+
+    /**
+     * References the descriptor of the annotation without being annotated with it
+     */
+    @Deprecated
+    static class InjectableField {
+        Injectable annotation;
+    }
+
+    private static ByteBuffer read(Class<?> type) throws IOException {
+        try (var input = type.getResourceAsStream(type.getName().substring(type.getPackageName().length() + 1)
+                + ".class")) {
+            return ByteBuffer.wrap(input.readAllBytes());
+        }
+    }
+
+    @Test
+    void testIsInjectable() throws Exception {
+        assertTrue(ClassFileReader.isInjectable(read(Table.class)));
+        assertTrue(ClassFileReader.isInjectable(read(AnnotatedWithValues.class)));
+
+        assertFalse(ClassFileReader.isInjectable(read(Furniture.class)));
+        assertFalse(ClassFileReader.isInjectable(read(AbstractInjectable.class)));
+        assertFalse(ClassFileReader.isInjectable(read(InjectableField.class)));
+        assertFalse(ClassFileReader.isInjectable(read(ClassFileReaderTest.class)));
+    }
+
+    @Test
+    void testInvalidClassFile() throws Exception {
+        var classFile = read(Table.class).array();
+        assertThrows(IOException.class,
+                () -> ClassFileReader.isInjectable(ByteBuffer.wrap(Arrays.copyOf(classFile, classFile.length / 2))));
+        assertThrows(IOException.class,
+                () -> ClassFileReader.isInjectable(ByteBuffer.wrap(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 })));
+    }
+
+    @Test
+    void testFindInjectableClassNames() throws Exception {
+        var scanner = new ClassPathScanner(getClass().getClassLoader());
+        assertEquals(List.of("fr.gravani.eazzynject.testpkg.Table", "fr.gravani.eazzynject.testpkg.WoodenStyle"),
+                scanner.findInjectableClassNames("fr.gravani.eazzynject.testpkg").stream().sorted().toList());
+    }
+
+    @Test
+    void testScanDoesNotInitializeClasses() throws Exception {
+        var container = new Container();
+        Eazzynject.initContainer(container, "fr.gravani.eazzynject.testpkginit");
+
+        assertNull(System.getProperty(EngineRegistry.INITIALIZED_PROPERTY));
+        assertNull(System.getProperty(ElectricEngine.INITIALIZED_PROPERTY));
+
+        assertEquals("Electric", container.instantiate(Engine.class).getName());
+        assertEquals("true", System.getProperty(ElectricEngine.INITIALIZED_PROPERTY));
+        assertNull(System.getProperty(EngineRegistry.INITIALIZED_PROPERTY));
+    }
+}
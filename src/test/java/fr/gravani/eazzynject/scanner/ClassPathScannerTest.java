@@ -0,0 +1,180 @@
+package fr.gravani.eazzynject.scanner;
+
+import fr.gravani.eazzynject.Container;
+import fr.gravani.eazzynject.Eazzynject;
+import fr.gravani.eazzynject.testpkg.Furniture;
+import fr.gravani.eazzynject.testpkg.Table;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ClassPathScannerTest {
+    private static final String PACKAGE = "fr.gravani.eazzynject.testpkg";
+
+    private static final String PATH = PACKAGE.replace('.', '/');
+
+    private static final List<String> CLASS_NAMES = List.of(
+            "fr.gravani.eazzynject.testpkg.Furniture",
+            "fr.gravani.eazzynject.testpkg.Style",
+            "fr.gravani.eazzynject.testpkg.Table",
+            "fr.gravani.eazzynject.testpkg.WoodenStyle");
+
+    @TempDir
+    static Path temporaryDirectory;
+
+    static Path jar;
+
+    static Path nestedJar;
+
+    static Path nestedDirectoryJar;
+
+    /**
+     * A class loader which only looks for the resources in its own JAR files
+     */
+    static class IsolatedClassLoader extends URLClassLoader {
+        IsolatedClassLoader(URL url) {
+            super(new URL[] { url }, ClassPathScannerTest.class.getClassLoader());
+        }
+
+        @Override
+        public Enumeration<URL> getResources(String name) throws IOException {
+            return findResources(name);
+        }
+    }
+
+    @BeforeAll
+    static void createJars() throws Exception {
+        var classes = new TreeMap<String, byte[]>();
+        var packageDirectory = Path.of(Table.class.getResource("Table.class").toURI()).getParent();
+        try (var files = Files.list(packageDirectory)) {
+            for (var file : files.toList()) {
+                classes.put(PATH + "/" + file.getFileName(), Files.readAllBytes(file));
+            }
+        }
+
+        jar = temporaryDirectory.resolve("app.jar");
+        try (var out = Files.newOutputStream(jar)) {
+            writeJar(out, "", classes);
+        }
+
+        var innerJar = new ByteArrayOutputStream();
+        writeJar(innerJar, "", classes);
+        nestedJar = temporaryDirectory.resolve("fat.jar");
+        try (var out = new JarOutputStream(Files.newOutputStream(nestedJar))) {
+            out.putNextEntry(new JarEntry("lib/"));
+            out.putNextEntry(new JarEntry("lib/inner.jar"));
+            out.write(innerJar.toByteArray());
+        }
+
+        nestedDirectoryJar = temporaryDirectory.resolve("boot.jar");
+        try (var out = Files.newOutputStream(nestedDirectoryJar)) {
+            writeJar(out, "BOOT-INF/classes/", classes);
+        }
+    }
+
+    private static void writeJar(OutputStream output, String prefix, Map<String, byte[]> classes) throws IOException {
+        try (var out = new JarOutputStream(output)) {
+            var directories = new TreeSet<String>();
+            for (var name : classes.keySet()) {
+                var path = prefix + name;
+                for (int i = path.indexOf('/'); i >= 0; i = path.indexOf('/', i + 1)) {
+                    directories.add(path.substring(0, i + 1));
+                }
+            }
+            for (var directory : directories) {
+                out.putNextEntry(new JarEntry(directory));
+            }
+            for (var entry : classes.entrySet()) {
+                out.putNextEntry(new JarEntry(prefix + entry.getKey()));
+                out.write(entry.getValue());
+            }
+        }
+    }
+
+    private static List<String> sorted(List<String> classNames) {
+        var sortedNames = new ArrayList<>(classNames);
+        Collections.sort(sortedNames);
+        return sortedNames;
+    }
+
+    @Test
+    void testDirectory() throws Exception {
+        var scanner = new ClassPathScanner(getClass().getClassLoader());
+        assertEquals(CLASS_NAMES, sorted(scanner.findClassNames(PACKAGE)));
+    }
+
+    @Test
+    void testJar() throws Exception {
+        try (var classLoader = new IsolatedClassLoader(jar.toUri().toURL())) {
+            var scanner = new ClassPathScanner(classLoader);
+            assertEquals(CLASS_NAMES, sorted(scanner.findClassNames(PACKAGE)));
+            assertEquals(CLASS_NAMES, sorted(scanner.findClassNames("fr.gravani")));
+        }
+    }
+
+    @Test
+    void testNestedJar() throws Exception {
+        var classNames = Collections.synchronizedList(new ArrayList<String>());
+        var url = new URL("jar:" + nestedJar.toUri() + "!/lib/inner.jar!/" + PATH);
+        new ClassPathScanner(getClass().getClassLoader()).scan(url, PATH, null, classNames::add);
+        assertEquals(CLASS_NAMES, sorted(classNames));
+    }
+
+    @Test
+    void testNestedDirectory() throws Exception {
+        var classNames = Collections.synchronizedList(new ArrayList<String>());
+        var url = new URL("jar:" + nestedDirectoryJar.toUri() + "!/BOOT-INF/classes!/" + PATH);
+        new ClassPathScanner(getClass().getClassLoader()).scan(url, PATH, null, classNames::add);
+        assertEquals(CLASS_NAMES, sorted(classNames));
+    }
+
+    @Test
+    void testInitContainerFromJar() throws Exception {
+        var contextClassLoader = Thread.currentThread().getContextClassLoader();
+        try (var classLoader = new IsolatedClassLoader(jar.toUri().toURL())) {
+            Thread.currentThread().setContextClassLoader(classLoader);
+            var container = new Container();
+            Eazzynject.initContainer(container, PACKAGE);
+
+            assertEquals("Table with Wooden style", container.instantiate(Furniture.class).getName());
+        } finally {
+            Thread.currentThread().setContextClassLoader(contextClassLoader);
+        }
+    }
+
+    @Test
+    void testForEachInjectableClassName() throws Exception {
+        var pool = new ForkJoinPool(4);
+        try (var classLoader = new IsolatedClassLoader(jar.toUri().toURL())) {
+            var scanner = new ClassPathScanner(classLoader, pool);
+            var classNames = Collections.synchronizedList(new ArrayList<String>());
+            scanner.forEachInjectableClassName(PACKAGE, classNames::add);
+            assertEquals(List.of("fr.gravani.eazzynject.testpkg.Table", "fr.gravani.eazzynject.testpkg.WoodenStyle"),
+                    sorted(classNames));
+
+            var failure = new ClassNotFoundException();
+            var exception = assertThrows(ExecutionException.class,
+                    () -> scanner.forEachInjectableClassName(PACKAGE, className -> {
+                        throw failure;
+                    }));
+            assertSame(failure, exception.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package fr.gravani.eazzynject.scanner;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InjectableIndexTest {
+
+    @Test
+    void testWriteAndRead() throws Exception {
+        var index = new InjectableIndex(List.of(
+                new InjectableIndex.Entry("a.b.Table", null, List.of("a.b.Furniture")),
+                new InjectableIndex.Entry("a.b.Bank", "Fortune\tBank\\", List.of("a.b.AbstractBank", "a.Bank")),
+                new InjectableIndex.Entry("a.Service", "", List.of())));
+
+        var writer = new StringWriter();
+        index.write(writer);
+        var entries = InjectableIndex.read(new StringReader(writer.toString())).getEntries();
+
+        assertEquals(3, entries.size());
+        assertEquals("a.b.Table", entries.get(0).getClassName());
+        assertNull(entries.get(0).getTag());
+        assertEquals(List.of("a.b.Furniture"), entries.get(0).getSuperTypes());
+        assertEquals("Fortune\tBank\\", entries.get(1).getTag());
+        assertEquals(List.of("a.b.AbstractBank", "a.Bank"), entries.get(1).getSuperTypes());
+        assertEquals("", entries.get(2).getTag());
+        assertTrue(entries.get(2).getSuperTypes().isEmpty());
+    }
+
+    @Test
+    void testIsInPackage() {
+        var entry = new InjectableIndex.Entry("a.b.c.Table", null, List.of());
+        assertTrue(entry.isInPackage("a.b"));
+        assertTrue(entry.isInPackage("a.b.c"));
+        assertTrue(entry.isInPackage(""));
+        assertFalse(entry.isInPackage("a.bc"));
+        assertFalse(entry.isInPackage("a.b.c.Table"));
+    }
+}
@@ -0,0 +1,17 @@
+package fr.gravani.eazzynject.testpkginit;
+
+import fr.gravani.eazzynject.annotations.Injectable;
+
+@Injectable
+public class ElectricEngine implements Engine {
+    public static final String INITIALIZED_PROPERTY = "eazzynject.test.ElectricEngine.initialized";
+
+    static {
+        System.setProperty(INITIALIZED_PROPERTY, "true");
+    }
+
+    @Override
+    public String getName() {
+        return "Electric";
+    }
+}
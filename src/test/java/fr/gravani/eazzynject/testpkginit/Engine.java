@@ -0,0 +1,5 @@
+package fr.gravani.eazzynject.testpkginit;
+
+public interface Engine {
+    String getName();
+}
@@ -0,0 +1,12 @@
+package fr.gravani.eazzynject.testpkginit;
+
+/**
+ * Not injectable: the package scanner must neither load nor initialize this class
+ */
+public class EngineRegistry {
+    public static final String INITIALIZED_PROPERTY = "eazzynject.test.EngineRegistry.initialized";
+
+    static {
+        System.setProperty(INITIALIZED_PROPERTY, "true");
+    }
+}